@@ -191,4 +191,93 @@ public interface Log {
      */
     LogEntryTemplate fatal(final String template);
 
+
+    /**
+     * Compiles the template once to log it many times with less overhead than the template string.
+     *
+     * @param template to compile.
+     * @return the compiled template.
+     */
+    default LogTemplate compile(final String template) {
+        return new LogTemplate(template);
+    }
+
+    /**
+     * Returns a log entry template with the specific log level for the compiled template.
+     * The template is committed automatically as soon as filled.
+     *
+     * @param level    to log with.
+     * @param template to log with.
+     * @return a log entry template with the specified level and template.
+     */
+    default LogEntryTemplate log(final LogLevel level, final LogTemplate template) {
+        return log(level, template.getTemplate());
+    }
+
+    /**
+     * Returns a log entry template with trace log level for the compiled template.
+     * The template is committed automatically as soon as filled.
+     *
+     * @param template to log with.
+     * @return a log entry template with trace level and the specified template.
+     */
+    default LogEntryTemplate trace(final LogTemplate template) {
+        return trace(template.getTemplate());
+    }
+
+    /**
+     * Returns a log entry template with debug log level for the compiled template.
+     * The template is committed automatically as soon as filled.
+     *
+     * @param template to log with.
+     * @return a log entry template with debug level and the specified template.
+     */
+    default LogEntryTemplate debug(final LogTemplate template) {
+        return debug(template.getTemplate());
+    }
+
+    /**
+     * Returns a log entry template with info log level for the compiled template.
+     * The template is committed automatically as soon as filled.
+     *
+     * @param template to log with.
+     * @return a log entry template with info level and the specified template.
+     */
+    default LogEntryTemplate info(final LogTemplate template) {
+        return info(template.getTemplate());
+    }
+
+    /**
+     * Returns a log entry template with warn log level for the compiled template.
+     * The template is committed automatically as soon as filled.
+     *
+     * @param template to log with.
+     * @return a log entry template with warn level and the specified template.
+     */
+    default LogEntryTemplate warn(final LogTemplate template) {
+        return warn(template.getTemplate());
+    }
+
+    /**
+     * Returns a log entry template with error log level for the compiled template.
+     * The template is committed automatically as soon as filled.
+     *
+     * @param template to log with.
+     * @return a log entry template with error level and the specified template.
+     */
+    default LogEntryTemplate error(final LogTemplate template) {
+        return error(template.getTemplate());
+    }
+
+    /**
+     * Returns a log entry template with fatal log level for the compiled template.
+     * The template is committed automatically as soon as filled.
+     *
+     * @param template to log with.
+     * @return a log entry template with fatal level and the specified template.
+     */
+    default LogEntryTemplate fatal(final LogTemplate template) {
+        return fatal(template.getTemplate());
+    }
+
 }
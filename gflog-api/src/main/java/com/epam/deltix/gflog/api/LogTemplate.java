@@ -0,0 +1,32 @@
+package com.epam.deltix.gflog.api;
+
+import java.util.Objects;
+
+
+/**
+ * A template compiled once with {@link Log#compile(String)} to be logged many times.
+ * Uses the same "%s" placeholders as string templates.
+ */
+public class LogTemplate {
+
+    private final String template;
+
+    public LogTemplate(final String template) {
+        this.template = Objects.requireNonNull(template);
+    }
+
+    /**
+     * Returns the template string.
+     *
+     * @return the template string.
+     */
+    public final String getTemplate() {
+        return template;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+}
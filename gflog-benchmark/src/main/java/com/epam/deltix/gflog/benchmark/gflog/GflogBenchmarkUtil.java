@@ -2,6 +2,7 @@ package com.epam.deltix.gflog.benchmark.gflog;
 
 import com.epam.deltix.gflog.api.Log;
 import com.epam.deltix.gflog.api.LogFactory;
+import com.epam.deltix.gflog.api.LogTemplate;
 import com.epam.deltix.gflog.benchmark.util.BenchmarkState;
 import com.epam.deltix.gflog.core.LogConfigurator;
 
@@ -103,6 +104,38 @@ final class GflogBenchmarkUtil {
                 .with(state.arg9);
     }
 
+    public static void compiledTemplate0Arg(final BenchmarkState state) {
+        Holder.LOG.info(Holder.TEMPLATE_0_ARG);
+    }
+
+    public static void compiledTemplate1Arg(final BenchmarkState state) {
+        Holder.LOG.info(Holder.TEMPLATE_1_ARG)
+                .with(state.arg0);
+    }
+
+    public static void compiledTemplate5Args(final BenchmarkState state) {
+        Holder.LOG.info(Holder.TEMPLATE_5_ARGS)
+                .with(state.arg0)
+                .with(state.arg1)
+                .with(state.arg2)
+                .with(state.arg3)
+                .with(state.arg4);
+    }
+
+    public static void compiledTemplate10Args(final BenchmarkState state) {
+        Holder.LOG.info(Holder.TEMPLATE_10_ARGS)
+                .with(state.arg0)
+                .with(state.arg1)
+                .with(state.arg2)
+                .with(state.arg3)
+                .with(state.arg4)
+                .with(state.arg5)
+                .with(state.arg6)
+                .with(state.arg7)
+                .with(state.arg8)
+                .with(state.arg9);
+    }
+
     public static void entryException(final BenchmarkState state) {
         final Throwable exception = state.newException();
         Holder.LOG.info().append("Some exception: ").append(exception).commit();
@@ -131,6 +164,11 @@ final class GflogBenchmarkUtil {
 
         private static final Log LOG = LogFactory.getLog(LOGGER);
 
+        private static final LogTemplate TEMPLATE_0_ARG = LOG.compile("Some array: []");
+        private static final LogTemplate TEMPLATE_1_ARG = LOG.compile("Some array: [%s]");
+        private static final LogTemplate TEMPLATE_5_ARGS = LOG.compile("Some array: [%s,%s,%s,%s,%s]");
+        private static final LogTemplate TEMPLATE_10_ARGS = LOG.compile("Some array: [%s,%s,%s,%s,%s,%s,%s,%s,%s,%s]");
+
     }
 
 }
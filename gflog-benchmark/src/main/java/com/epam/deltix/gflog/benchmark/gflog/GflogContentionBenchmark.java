@@ -0,0 +1,88 @@
+package com.epam.deltix.gflog.benchmark.gflog;
+
+import com.epam.deltix.gflog.benchmark.util.BenchmarkState;
+import net.openhft.affinity.Affinity;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.epam.deltix.gflog.benchmark.util.BenchmarkUtil.*;
+
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 3, time = 15)
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+public class GflogContentionBenchmark {
+
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32};
+
+    @Param({
+            "noop",
+            "noop-sharded",
+            "noop-zero-copy"
+    })
+    public String config;
+
+    @Param({"ASCII"})
+    public String encoding;
+
+    @Setup
+    public void prepare() {
+        GflogBenchmarkUtil.prepare(config, encoding);
+    }
+
+    @TearDown
+    public void cleanup() {
+        GflogBenchmarkUtil.cleanup();
+    }
+
+    @Benchmark
+    public void template1Arg(final ThreadState state) {
+        GflogBenchmarkUtil.template1Arg(state);
+    }
+
+    @Benchmark
+    public void entry5Args(final ThreadState state) {
+        GflogBenchmarkUtil.entry5Args(state);
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final CommandLineOptions defaults = new CommandLineOptions(args);
+
+        for (final int threads : THREADS) {
+            final Options options = new OptionsBuilder()
+                    .parent(defaults)
+                    .include(GflogContentionBenchmark.class.getName())
+                    .threads(threads)
+                    .build();
+
+            new Runner(options).run();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState extends BenchmarkState {
+
+        @Setup
+        public void setup(final ThreadParams params) {
+            Thread.currentThread().setName(THREAD + "-" + params.getThreadIndex());
+
+            if (AFFINITY_BASE >= 0 && AFFINITY_STEP >= 0) {
+                final int index = params.getThreadIndex();
+                final int affinity = AFFINITY_BASE + index * AFFINITY_STEP;
+
+                Affinity.setAffinity(affinity);
+            }
+        }
+
+    }
+
+}
@@ -7,6 +7,7 @@ import com.epam.deltix.gflog.api.LogFactory;
  * A simple benchmark to validate the code below is inlined on stack (OSR) using JIT Watch.
  * Required JVM opts: -XX:+UnlockDiagnosticVMOptions -XX:+TraceClassLoading -XX:+LogCompilation
  * Optional JVM opts: -Dgflog.entry.encoding=UTF-8
+ * Level switch variant: -Dgflog.level.switch=true folds the disabled calls in disabled().
  */
 public class GflogInliningBenchmark {
 
@@ -15,6 +16,7 @@ public class GflogInliningBenchmark {
     public static void main(final String[] args) {
         entry();
         template();
+        disabled();
     }
 
     private static void entry() {
@@ -42,4 +44,19 @@ public class GflogInliningBenchmark {
         }
     }
 
+    private static void disabled() { // the level check is a constant with the level switch
+        for (int i = 0; i < 1000000; i++) {
+            LOG.debug()
+                    .append("String")
+                    .append(1234)
+                    .append(12345L)
+                    .commit();
+
+            LOG.debug("%s, %s, %s")
+                    .with("String")
+                    .with(1234)
+                    .with(12345L);
+        }
+    }
+
 }
@@ -20,6 +20,9 @@ public class GflogLatencyBenchmark {
 
     private static final String[] CONFIGS = {
             "noop",
+            "noop-wakeup",
+            "noop-high-clock",
+            "noop-cached-clock",
             /*"console-direct",
             "console-wrapper",*/
             "file",
@@ -0,0 +1,23 @@
+package com.epam.deltix.gflog.benchmark.gflog;
+
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the stub benchmarks with the level switch, so the disabled calls are folded by JIT.
+ */
+@Fork(value = 1, jvmArgsAppend = "-Dgflog.level.switch=true")
+public class GflogStubLevelSwitchBenchmark extends GflogStubBenchmark {
+
+    public static void main(final String[] args) throws Exception {
+        final Options opt = new OptionsBuilder()
+                .include(GflogStubBenchmark.class.getName())
+                .include(GflogStubLevelSwitchBenchmark.class.getName())
+                .build();
+
+        new Runner(opt).run();
+    }
+
+}
@@ -24,6 +24,8 @@ public class GflogThroughputBenchmark {
 
     @Param({
             "noop",
+            "noop-wakeup",
+            "noop-zero-copy",
             /*"console-direct",
             "console-wrapper",*/
             "file",
@@ -63,6 +65,11 @@ public class GflogThroughputBenchmark {
         GflogBenchmarkUtil.template0Arg(state);
     }
 
+    @Benchmark
+    public void compiledTemplate0Arg(final ThreadState state) {
+        GflogBenchmarkUtil.compiledTemplate0Arg(state);
+    }
+
     @Benchmark
     public void entry1Arg(final ThreadState state) {
         GflogBenchmarkUtil.entry1Arg(state);
@@ -73,6 +80,11 @@ public class GflogThroughputBenchmark {
         GflogBenchmarkUtil.template1Arg(state);
     }
 
+    @Benchmark
+    public void compiledTemplate1Arg(final ThreadState state) {
+        GflogBenchmarkUtil.compiledTemplate1Arg(state);
+    }
+
     @Benchmark
     public void entry5Args(final ThreadState state) {
         GflogBenchmarkUtil.entry5Args(state);
@@ -83,6 +95,11 @@ public class GflogThroughputBenchmark {
         GflogBenchmarkUtil.template5Args(state);
     }
 
+    @Benchmark
+    public void compiledTemplate5Args(final ThreadState state) {
+        GflogBenchmarkUtil.compiledTemplate5Args(state);
+    }
+
     @Benchmark
     public void entry10Args(final ThreadState state) {
         GflogBenchmarkUtil.entry10Args(state);
@@ -93,6 +110,11 @@ public class GflogThroughputBenchmark {
         GflogBenchmarkUtil.template10Args(state);
     }
 
+    @Benchmark
+    public void compiledTemplate10Args(final ThreadState state) {
+        GflogBenchmarkUtil.compiledTemplate10Args(state);
+    }
+
     @Benchmark
     public void entryException(final ThreadState state) {
         GflogBenchmarkUtil.entryException(state);
@@ -0,0 +1,74 @@
+package com.epam.deltix.gflog.benchmark.misc;
+
+import com.epam.deltix.gflog.core.clock.CalibratedClock;
+import com.epam.deltix.gflog.core.clock.Clock;
+import com.epam.deltix.gflog.core.clock.ClockFactory;
+import com.epam.deltix.gflog.core.clock.EpochClock;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ClockBenchmark {
+
+    private final Clock epochClock = EpochClock.INSTANCE;
+    private final Clock calibratedClock = new CalibratedClock(TimeUnit.SECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(1));
+    private final Clock highClock = createClock(ClockFactory.Resolution.HIGH);
+    private final Clock lowClock = createClock(ClockFactory.Resolution.LOW);
+
+    @Benchmark
+    public long epochClock() {
+        return epochClock.nanoTime();
+    }
+
+    @Benchmark
+    public long calibratedClock() {
+        return calibratedClock.nanoTime();
+    }
+
+    /**
+     * Native realtime clock if available, calibrated clock otherwise.
+     */
+    @Benchmark
+    public long highClock() {
+        return highClock.nanoTime();
+    }
+
+    /**
+     * Native realtime coarse clock if available, epoch clock otherwise.
+     */
+    @Benchmark
+    public long lowClock() {
+        return lowClock.nanoTime();
+    }
+
+    @Benchmark
+    public long systemNanoTime() {
+        return System.nanoTime();
+    }
+
+    private static Clock createClock(final ClockFactory.Resolution resolution) {
+        final ClockFactory factory = new ClockFactory();
+        factory.setResolution(resolution);
+        return factory.create();
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(ClockBenchmark.class.getName())
+                .build();
+
+        new Runner(opt).run();
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.core.util.Buffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.epam.deltix.gflog.core.util.Util.UNSAFE;
+
+
+/**
+ * Compares the cleared ring with the stamped one on a batch of records written and read by one thread.
+ */
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LogBufferBenchmark {
+
+    private static final int BATCH = 64;
+
+    @Param({"false", "true"})
+    private boolean stamped;
+
+    @Param({"64", "256", "1024"})
+    private int length;
+
+    @Param({"1048576", "67108864"})
+    private int capacity;
+
+    private LogBuffer buffer;
+    private Blackhole blackhole;
+    private LogBuffer.RecordHandler handler;
+
+    @Setup
+    public void setup(final Blackhole blackhole) {
+        this.buffer = new LogBuffer(capacity, false, false, stamped);
+        this.blackhole = blackhole;
+        this.handler = this::onRecord;
+    }
+
+    @Benchmark
+    public int batch() {
+        final LogBuffer buffer = this.buffer;
+        final long address = buffer.dataAddress();
+
+        for (int i = 0; i < BATCH; i++) {
+            final int offset = buffer.tryClaim(length);
+
+            for (int index = 0; index < length; index += 8) {
+                UNSAFE.putLong(address + offset + index, index);
+            }
+
+            buffer.commit(offset, length);
+        }
+
+        int read = 0;
+        int bytes;
+
+        while ((bytes = buffer.read(handler)) > 0) {
+            read += bytes;
+        }
+
+        return read;
+    }
+
+    private void onRecord(final Buffer buffer, final int offset, final int length) {
+        blackhole.consume(buffer.getLong(offset + length - 8));
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options opt = new OptionsBuilder()
+                .include(LogBufferBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(opt).run();
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.GflogThread;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collections;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Runs twice: on the default threads, which look the entry up in the thread local,
+ * and on GflogThread via the custom executor, which keeps the entry in a field.
+ */
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LogEntryLookupBenchmark {
+
+    private final LogService service = new SyncLogServiceFactory().create(Collections.emptyList(), Collections.emptyList());
+
+    @Benchmark
+    public LogLocalEntry claim() {
+        final LogLocalEntry entry = service.claim(0, LogLevel.INFO.ordinal(), 1);
+        entry.abort();
+        return entry;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        final Options threadLocal = new OptionsBuilder()
+                .include(LogEntryLookupBenchmark.class.getSimpleName())
+                .build();
+
+        final Options holder = new OptionsBuilder()
+                .include(LogEntryLookupBenchmark.class.getSimpleName())
+                .jvmArgsAppend("-Djmh.executor=CUSTOM", "-Djmh.executor.class=" + GflogThreadExecutor.class.getName())
+                .build();
+
+        new Runner(threadLocal).run();
+        new Runner(holder).run();
+    }
+
+    public static final class GflogThreadExecutor extends ThreadPoolExecutor {
+
+        public GflogThreadExecutor(final int maxThreads, final String prefix) {
+            super(maxThreads, maxThreads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), new Factory(prefix));
+        }
+
+        private static final class Factory implements ThreadFactory {
+
+            private final AtomicInteger counter = new AtomicInteger();
+            private final String prefix;
+
+            Factory(final String prefix) {
+                this.prefix = prefix;
+            }
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new GflogThread(runnable, prefix + "-gflog-thread-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+
+        }
+
+    }
+
+}
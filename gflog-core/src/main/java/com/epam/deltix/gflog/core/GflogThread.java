@@ -0,0 +1,43 @@
+package com.epam.deltix.gflog.core;
+
+/**
+ * Keeps the log entry of the thread in a field. Use it in your thread factories to skip the thread local lookup on each log call.
+ */
+public class GflogThread extends Thread implements LogEntryHolder {
+
+    private Object logEntry;
+
+    public GflogThread() {
+    }
+
+    public GflogThread(final Runnable target) {
+        super(target);
+    }
+
+    public GflogThread(final String name) {
+        super(name);
+    }
+
+    public GflogThread(final Runnable target, final String name) {
+        super(target, name);
+    }
+
+    public GflogThread(final ThreadGroup group, final Runnable target, final String name) {
+        super(group, target, name);
+    }
+
+    public GflogThread(final ThreadGroup group, final Runnable target, final String name, final long stackSize) {
+        super(group, target, name, stackSize);
+    }
+
+    @Override
+    public final Object getLogEntry() {
+        return logEntry;
+    }
+
+    @Override
+    public final void setLogEntry(final Object entry) {
+        this.logEntry = entry;
+    }
+
+}
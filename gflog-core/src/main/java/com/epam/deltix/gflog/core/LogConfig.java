@@ -8,6 +8,10 @@ import com.epam.deltix.gflog.core.util.PropertyUtil;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
 
 
 public final class LogConfig {
@@ -17,6 +21,8 @@ public final class LogConfig {
     private final ArrayList<Appender> appenders = new ArrayList<>();
     private final ArrayList<Logger> loggers = new ArrayList<>();
 
+    private final LinkedHashMap<String, LogServiceFactory> domains = new LinkedHashMap<>();
+
     private LogServiceFactory service;
 
     public void setService(final LogServiceFactory service) {
@@ -27,6 +33,30 @@ public final class LogConfig {
         return service;
     }
 
+    /**
+     * Adds the domain with its own service. The loggers are assigned to the domain with the longest matching name prefix
+     * and to the default service if none matches. The appenders are not shared between the domains.
+     */
+    public void addDomain(final String prefix, final LogServiceFactory service) {
+        if (prefix.isEmpty()) {
+            throw new IllegalArgumentException("domain prefix is empty, use service instead");
+        }
+
+        domains.put(prefix, requireNonNull(service));
+    }
+
+    public void removeDomain(final String prefix) {
+        domains.remove(prefix);
+    }
+
+    public LogServiceFactory getDomain(final String prefix) {
+        return domains.get(prefix);
+    }
+
+    public Map<String, LogServiceFactory> getDomains() {
+        return domains;
+    }
+
     public void addAppender(final Appender appender) {
         appenders.add(appender);
     }
@@ -75,6 +105,19 @@ public final class LogConfig {
         if (service == null) {
             service = SYNC ? new SyncLogServiceFactory() : new AsyncLogServiceFactory();
         }
+
+        for (final Map.Entry<String, LogServiceFactory> entry : domains.entrySet()) {
+            final LogServiceFactory domain = entry.getValue();
+
+            if (domain instanceof AsyncLogServiceFactory) {
+                final AsyncLogServiceFactory async = (AsyncLogServiceFactory) domain;
+                final String name = "gflog-" + entry.getKey();
+
+                if (async.getThreadFactory() == null) {
+                    async.setThreadFactory(r -> new Thread(r, name));
+                }
+            }
+        }
     }
 
 }
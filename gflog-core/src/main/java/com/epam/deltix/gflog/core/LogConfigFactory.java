@@ -6,11 +6,15 @@ import com.epam.deltix.gflog.core.appender.Appender;
 import com.epam.deltix.gflog.core.appender.AppenderFactory;
 import com.epam.deltix.gflog.core.appender.CompositeAppenderFactory;
 import com.epam.deltix.gflog.core.appender.ConsoleAppenderFactory;
+import com.epam.deltix.gflog.core.service.AppenderGroup;
+import com.epam.deltix.gflog.core.service.AsyncLogServiceFactory;
 import com.epam.deltix.gflog.core.service.LogServiceFactory;
+import com.epam.deltix.gflog.core.service.OverflowStrategy;
 import com.epam.deltix.gflog.core.util.Factory;
 import com.epam.deltix.gflog.core.util.PropertyUtil;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
+import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 import org.xml.sax.ErrorHandler;
 import org.xml.sax.SAXException;
@@ -53,6 +57,7 @@ public final class LogConfigFactory {
     private static final String APPENDER_REF = "appender-ref";
     private static final String LOGGER = "logger";
     private static final String SERVICE = "service";
+    private static final String APPENDER_GROUP = "appender-group";
     private static final String ENTRY = "entry";
 
     private LogConfigFactory() {
@@ -307,6 +312,12 @@ public final class LogConfigFactory {
             final Appender[] appenders = getAppenderReferences(element, config);
 
             final Logger logger = new Logger(name, level, appenders);
+            final String overflowStrategy = element.getAttribute("overflowStrategy");
+
+            if (!overflowStrategy.isEmpty()) {
+                logger.setOverflowStrategy(convertToEnum(OverflowStrategy.class, overflowStrategy));
+            }
+
             config.addLogger(logger);
         }
     }
@@ -331,10 +342,37 @@ public final class LogConfigFactory {
     private static void setService(final Element root, final LogConfig config) throws Exception {
         final NodeList serviceElements = root.getElementsByTagName(SERVICE);
 
-        if (serviceElements.getLength() > 0) {
-            final Element element = (Element) serviceElements.item(0);
+        for (int i = 0; i < serviceElements.getLength(); i++) {
+            final Element element = (Element) serviceElements.item(i);
             final LogServiceFactory factory = (LogServiceFactory) instantiateFactory(element);
-            config.setService(factory);
+            final String domain = element.getAttribute("domain");
+
+            addAppenderGroups(element, factory);
+
+            if (domain.isEmpty()) {
+                config.setService(factory);
+            } else {
+                config.addDomain(domain, factory);
+            }
+        }
+    }
+
+    private static void addAppenderGroups(final Element element, final LogServiceFactory factory) throws Exception {
+        final NodeList elements = element.getElementsByTagName(APPENDER_GROUP);
+
+        if (elements.getLength() > 0 && !(factory instanceof AsyncLogServiceFactory)) {
+            throw new IllegalArgumentException("appender groups are not supported by service: " + factory.getClass().getName());
+        }
+
+        for (int i = 0; i < elements.getLength(); i++) {
+            final Element item = (Element) elements.item(i);
+            final AppenderGroup group = new AppenderGroup();
+            final PropertyDescriptor[] properties = Introspector.getBeanInfo(AppenderGroup.class).getPropertyDescriptors();
+
+            invokeSettersByAttributes(properties, item, group);
+            invokeSettersByElements(properties, item, group);
+
+            ((AsyncLogServiceFactory) factory).addAppenderGroup(group);
         }
     }
 
@@ -373,9 +411,8 @@ public final class LogConfigFactory {
                 final String propName = property.getName();
                 final String elementName = elementName(propName);
 
-                final NodeList elements = element.getElementsByTagName(elementName);
-                if (elements.getLength() > 0) {
-                    final Element child = (Element) elements.item(0);
+                final Element child = getChildElement(element, elementName);
+                if (child != null) {
                     final Object value = convertElement(propName, property.getPropertyType(), child);
                     setter.invoke(bean, value);
                 }
@@ -383,6 +420,16 @@ public final class LogConfigFactory {
         }
     }
 
+    private static Element getChildElement(final Element element, final String name) {
+        for (Node node = element.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node.getNodeType() == Node.ELEMENT_NODE && node.getNodeName().equals(name)) {
+                return (Element) node;
+            }
+        }
+
+        return null;
+    }
+
     private static Object convertElement(final String propName, final Class<?> type, final Element element) throws Exception {
         if (Map.class.isAssignableFrom(type)) {
             return covertMap(element);
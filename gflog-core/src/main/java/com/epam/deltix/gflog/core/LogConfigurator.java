@@ -1,10 +1,5 @@
 package com.epam.deltix.gflog.core;
 
-import com.epam.deltix.gflog.core.appender.Appender;
-import com.epam.deltix.gflog.core.service.LogService;
-import com.epam.deltix.gflog.core.service.LogServiceFactory;
-
-import java.util.Collection;
 import java.util.Properties;
 
 
@@ -54,12 +49,8 @@ public final class LogConfigurator {
         configured = true;
 
         try {
-            final LogServiceFactory logServiceFactory = config.getService();
-            final Collection<Logger> loggers = config.getLoggers();
-            final Collection<Appender> appenders = config.getAppenders();
-
-            final LogService service = logServiceFactory.create(loggers, appenders);
-            LogFactoryImpl.INSTANCE.initialize(service);
+            final LogDomains domains = LogDomains.create(config);
+            LogFactoryImpl.INSTANCE.initialize(domains);
         } catch (final Throwable e) {
             configured = false;
             throw e;
@@ -0,0 +1,174 @@
+package com.epam.deltix.gflog.core;
+
+import com.epam.deltix.gflog.api.LogDebug;
+import com.epam.deltix.gflog.core.appender.Appender;
+import com.epam.deltix.gflog.core.appender.CompositeAppender;
+import com.epam.deltix.gflog.core.service.LogService;
+import com.epam.deltix.gflog.core.service.LogServiceFactory;
+import com.epam.deltix.gflog.core.util.Util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+
+/**
+ * Isolated log services, one per domain. The default domain has the empty prefix.
+ * Each other domain must have a logger named by its prefix, because it does not inherit the enclosing loggers.
+ */
+final class LogDomains {
+
+    private final String[] prefixes;
+    private final LogService[] services;
+
+    private LogDomains(final String[] prefixes, final LogService[] services) {
+        this.prefixes = prefixes;
+        this.services = services;
+    }
+
+    LogService service(final String logName) {
+        return services[find(prefixes, logName)];
+    }
+
+    void open() {
+        int index = 0;
+
+        try {
+            for (; index < services.length; index++) {
+                services[index].open();
+            }
+        } catch (final Throwable e) {
+            for (int i = index - 1; i >= 0; i--) {
+                try {
+                    services[i].close();
+                } catch (final Throwable ex) {
+                    LogDebug.warn("log service of domain: " + prefixes[i] + " threw exception during closing", ex);
+                }
+            }
+
+            throw e;
+        }
+    }
+
+    void close() {
+        Throwable error = null;
+
+        for (int i = services.length - 1; i >= 0; i--) {
+            try {
+                services[i].close();
+            } catch (final Throwable e) {
+                if (error == null) {
+                    error = e;
+                } else {
+                    error.addSuppressed(e);
+                }
+            }
+        }
+
+        if (error != null) {
+            Util.rethrow(error);
+        }
+    }
+
+    static LogDomains create(final LogConfig config) {
+        final String[] prefixes = new String[config.getDomains().size() + 1];
+        prefixes[0] = "";
+
+        int count = 1;
+        for (final String prefix : config.getDomains().keySet()) {
+            prefixes[count++] = prefix;
+        }
+
+        Arrays.sort(prefixes);
+
+        final List<List<Logger>> loggers = new ArrayList<>(prefixes.length);
+        final List<List<Appender>> appenders = new ArrayList<>(prefixes.length);
+
+        for (int i = 0; i < prefixes.length; i++) {
+            loggers.add(new ArrayList<>());
+            appenders.add(new ArrayList<>());
+        }
+
+        final IdentityHashMap<Appender, Integer> owners = new IdentityHashMap<>();
+
+        for (final Logger logger : config.getLoggers()) {
+            final int domain = find(prefixes, logger.getName());
+            loggers.get(domain).add(logger);
+
+            for (final Appender appender : logger.getAppenders()) {
+                assign(appender, domain, owners, prefixes);
+            }
+        }
+
+        for (int i = 1; i < prefixes.length; i++) {
+            verifyCovered(prefixes[i], loggers.get(i));
+        }
+
+        for (final Appender appender : config.getAppenders()) {
+            if (!owners.containsKey(appender)) {
+                assign(appender, 0, owners, prefixes);
+            }
+
+            appenders.get(owners.get(appender)).add(appender);
+        }
+
+        final LogService[] services = new LogService[prefixes.length];
+
+        for (int i = 0; i < prefixes.length; i++) {
+            final String prefix = prefixes[i];
+            final LogServiceFactory factory = prefix.isEmpty() ? config.getService() : config.getDomain(prefix);
+            services[i] = factory.create(loggers.get(i), appenders.get(i));
+        }
+
+        return new LogDomains(prefixes, services);
+    }
+
+    /**
+     * The domain service knows only the loggers of its domain, so the loggers of the other domains can't be
+     * inherited and the appenders can't be shared. Without a logger named by the prefix, the records of
+     * the uncovered log names would be dropped silently.
+     */
+    private static void verifyCovered(final String prefix, final List<Logger> loggers) {
+        for (final Logger logger : loggers) {
+            if (logger.getName().equals(prefix)) {
+                return;
+            }
+        }
+
+        throw new IllegalArgumentException("domain: '" + prefix + "' has no logger named by its prefix. " +
+                "Configure logger: '" + prefix + "' with the level and appenders of the domain");
+    }
+
+    private static void assign(final Appender appender,
+                               final int domain,
+                               final IdentityHashMap<Appender, Integer> owners,
+                               final String[] prefixes) {
+
+        final Integer owner = owners.get(appender);
+
+        if (owner == null) {
+            owners.put(appender, domain);
+
+            if (appender instanceof CompositeAppender) {
+                for (final Appender child : ((CompositeAppender) appender).getAppenders()) {
+                    assign(child, domain, owners, prefixes);
+                }
+            }
+        } else if (owner != domain) {
+            throw new IllegalArgumentException("appender: " + appender.getName() + " is shared by domains: '" +
+                    prefixes[owner] + "' and '" + prefixes[domain] + "'");
+        }
+    }
+
+    private static int find(final String[] prefixes, final String logName) {
+        for (int i = prefixes.length - 1; i > 0; i--) {
+            if (logName.startsWith(prefixes[i])) {
+                return i;
+            }
+        }
+
+        return 0;
+    }
+
+}
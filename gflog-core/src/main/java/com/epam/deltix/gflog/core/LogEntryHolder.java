@@ -0,0 +1,12 @@
+package com.epam.deltix.gflog.core;
+
+/**
+ * Implemented by threads which keep their log entry in a field, so logging skips the thread local lookup.
+ */
+public interface LogEntryHolder {
+
+    Object getLogEntry();
+
+    void setLogEntry(Object entry);
+
+}
@@ -2,7 +2,6 @@ package com.epam.deltix.gflog.core;
 
 import com.epam.deltix.gflog.api.Log;
 import com.epam.deltix.gflog.api.LogFactory;
-import com.epam.deltix.gflog.core.service.LogService;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -17,7 +16,7 @@ final class LogFactoryImpl extends LogFactory {
     private final ConcurrentMap<String, LogView> loggerMap = new ConcurrentHashMap<>();
     private final Collection<Log> loggerSet = Collections.unmodifiableCollection(loggerMap.values());
 
-    private LogService service;
+    private LogDomains domains;
     private int index;
 
     private LogFactoryImpl() {
@@ -33,10 +32,14 @@ final class LogFactoryImpl extends LogFactory {
 
                 if (logger == null) {
                     logger = new LogView(name, index++);
-                    final LogService service = this.service;
+                    final LogDomains domains = this.domains;
 
-                    if (service != null) {
-                        logger.initialize(service);
+                    if (domains != null) {
+                        logger.initialize(domains.service(name));
+
+                        if (LogLevelSwitch.ENABLED) {
+                            LogLevelSwitch.enable(logger.levelMask());
+                        }
                     }
 
                     loggerMap.put(name, logger);
@@ -52,31 +55,49 @@ final class LogFactoryImpl extends LogFactory {
         return loggerSet;
     }
 
-    void initialize(final LogService service) {
-        service.open();
+    void initialize(final LogDomains domains) {
+        domains.open();
 
         synchronized (this) {
-            this.service = service;
+            this.domains = domains;
 
             for (final LogView logger : loggerMap.values()) {
-                logger.initialize(service);
+                logger.initialize(domains.service(logger.getName()));
+            }
+
+            if (LogLevelSwitch.ENABLED) {
+                updateLevelSwitch();
             }
         }
     }
 
     void invalidate() {
-        final LogService service;
+        final LogDomains domains;
 
         synchronized (this) {
-            service = this.service;
-            this.service = null;
+            domains = this.domains;
+            this.domains = null;
 
             for (final LogView logger : loggerMap.values()) {
                 logger.invalidate();
             }
+
+            if (LogLevelSwitch.ENABLED) {
+                updateLevelSwitch();
+            }
+        }
+
+        domains.close();
+    }
+
+    synchronized void updateLevelSwitch() {
+        int mask = 0;
+
+        for (final LogView logger : loggerMap.values()) {
+            mask |= logger.levelMask();
         }
 
-        service.close();
+        LogLevelSwitch.set(mask);
     }
 
 }
@@ -2,17 +2,28 @@ package com.epam.deltix.gflog.core;
 
 
 import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.service.OverflowStrategy;
 
 public final class LogInfo {
 
     private final String name;
     private final LogLevel level;
     private final long[] appenderMask;
+    private final OverflowStrategy overflowStrategy;
 
     public LogInfo(final String name, final LogLevel level, final long[] appenderMask) {
+        this(name, level, appenderMask, null);
+    }
+
+    public LogInfo(final String name,
+                   final LogLevel level,
+                   final long[] appenderMask,
+                   final OverflowStrategy overflowStrategy) {
+
         this.name = name;
         this.level = level;
         this.appenderMask = appenderMask;
+        this.overflowStrategy = overflowStrategy;
     }
 
     public String getName() {
@@ -27,4 +38,11 @@ public final class LogInfo {
         return appenderMask;
     }
 
+    /**
+     * @return the overflow strategy of the logger or null if the service one is used.
+     */
+    public OverflowStrategy getOverflowStrategy() {
+        return overflowStrategy;
+    }
+
 }
@@ -0,0 +1,106 @@
+package com.epam.deltix.gflog.core;
+
+import com.epam.deltix.gflog.core.util.PropertyUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MutableCallSite;
+import java.util.Arrays;
+
+
+/**
+ * Tells whether any logger is enabled for a level. The answer is a constant call site target,
+ * so JIT folds the check and eliminates the disabled calls until the call site is retargeted on reconfiguration.
+ */
+final class LogLevelSwitch {
+
+    /**
+     * Enables the switch with -Dgflog.level.switch=true. The switch is global per level, not per logger:
+     * one logger enabled for DEBUG anywhere turns the check back on for every logger disabled for DEBUG,
+     * so they pay the usual per-logger level check again for as long as that logger stays enabled.
+     */
+    static final boolean ENABLED = PropertyUtil.getBoolean("gflog.level.switch", false);
+
+    private static final MethodHandle TRUE = MethodHandles.constant(boolean.class, true);
+    private static final MethodHandle FALSE = MethodHandles.constant(boolean.class, false);
+
+    private static final MutableCallSite[] SITES = {
+            new MutableCallSite(TRUE),
+            new MutableCallSite(TRUE),
+            new MutableCallSite(TRUE),
+            new MutableCallSite(TRUE),
+            new MutableCallSite(TRUE),
+            new MutableCallSite(TRUE)
+    };
+
+    private static final MethodHandle TRACE = SITES[0].dynamicInvoker();
+    private static final MethodHandle DEBUG = SITES[1].dynamicInvoker();
+    private static final MethodHandle INFO = SITES[2].dynamicInvoker();
+    private static final MethodHandle WARN = SITES[3].dynamicInvoker();
+    private static final MethodHandle ERROR = SITES[4].dynamicInvoker();
+    private static final MethodHandle FATAL = SITES[5].dynamicInvoker();
+
+    private static int mask = (1 << SITES.length) - 1;
+
+    private LogLevelSwitch() {
+    }
+
+    static boolean isEnabled(final int level) {
+        return !ENABLED || get(level);
+    }
+
+    static boolean get(final int level) {
+        switch (level) {
+            case 0:
+                return invoke(TRACE);
+            case 1:
+                return invoke(DEBUG);
+            case 2:
+                return invoke(INFO);
+            case 3:
+                return invoke(WARN);
+            case 4:
+                return invoke(ERROR);
+            default:
+                return invoke(FATAL);
+        }
+    }
+
+    /**
+     * @param mask the levels enabled by any logger, a bit per level.
+     */
+    static synchronized void set(final int mask) {
+        final int changed = LogLevelSwitch.mask ^ mask;
+
+        if (changed == 0) {
+            return;
+        }
+
+        int count = 0;
+        final MutableCallSite[] sites = new MutableCallSite[SITES.length];
+
+        for (int level = 0; level < SITES.length; level++) {
+            if ((changed & (1 << level)) != 0) {
+                final MutableCallSite site = SITES[level];
+                site.setTarget(((mask & (1 << level)) == 0) ? FALSE : TRUE);
+                sites[count++] = site;
+            }
+        }
+
+        LogLevelSwitch.mask = mask;
+        MutableCallSite.syncAll(Arrays.copyOf(sites, count));
+    }
+
+    static synchronized void enable(final int mask) {
+        set(LogLevelSwitch.mask | mask);
+    }
+
+    private static boolean invoke(final MethodHandle handle) {
+        try {
+            return (boolean) handle.invokeExact();
+        } catch (final Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
@@ -2,6 +2,7 @@ package com.epam.deltix.gflog.core;
 
 import com.epam.deltix.gflog.api.*;
 import com.epam.deltix.gflog.core.service.LogService;
+import com.epam.deltix.gflog.core.service.LogTemplateImpl;
 
 import java.util.Objects;
 
@@ -34,47 +35,51 @@ final class LogView implements Log {
     @Override
     public void setLevel(final LogLevel level) {
         this.level = Objects.requireNonNull(level).ordinal();
+
+        if (LogLevelSwitch.ENABLED) {
+            LogFactoryImpl.INSTANCE.updateLevelSwitch();
+        }
     }
 
     @Override
     public boolean isTraceEnabled() {
-        return (this.level <= 0) && (this.service != null) && (this.appenderMask[0] != 0);
+        return LogLevelSwitch.isEnabled(0) && (this.level <= 0) && (this.service != null) && (this.appenderMask[0] != 0);
     }
 
     @Override
     public boolean isDebugEnabled() {
-        return (this.level <= 1) && (this.service != null) && (this.appenderMask[1] != 0);
+        return LogLevelSwitch.isEnabled(1) && (this.level <= 1) && (this.service != null) && (this.appenderMask[1] != 0);
     }
 
     @Override
     public boolean isInfoEnabled() {
-        return (this.level <= 2) && (this.service != null) && (this.appenderMask[2] != 0);
+        return LogLevelSwitch.isEnabled(2) && (this.level <= 2) && (this.service != null) && (this.appenderMask[2] != 0);
     }
 
     @Override
     public boolean isWarnEnabled() {
-        return (this.level <= 3) && (this.service != null) && (this.appenderMask[3] != 0);
+        return LogLevelSwitch.isEnabled(3) && (this.level <= 3) && (this.service != null) && (this.appenderMask[3] != 0);
     }
 
     @Override
     public boolean isErrorEnabled() {
-        return (this.level <= 4) && (this.service != null) && (this.appenderMask[4] != 0);
+        return LogLevelSwitch.isEnabled(4) && (this.level <= 4) && (this.service != null) && (this.appenderMask[4] != 0);
     }
 
     @Override
     public boolean isFatalEnabled() {
-        return (this.level <= 5) && (this.service != null) && (this.appenderMask[5] != 0);
+        return LogLevelSwitch.isEnabled(5) && (this.level <= 5) && (this.service != null) && (this.appenderMask[5] != 0);
     }
 
     @Override
     public boolean isEnabled(final LogLevel logLevel) {
         final int level = logLevel.ordinal();
-        return (this.level <= level) && (this.service != null) && (this.appenderMask[level] != 0);
+        return LogLevelSwitch.isEnabled(level) && (this.level <= level) && (this.service != null) && (this.appenderMask[level] != 0);
     }
 
     @Override
     public LogEntry trace() {
-        if (this.level <= 0) {
+        if (LogLevelSwitch.isEnabled(0) && this.level <= 0) {
             final LogService service = this.service;
             final long appenderMask = this.appenderMask[0];
 
@@ -88,7 +93,7 @@ final class LogView implements Log {
 
     @Override
     public LogEntryTemplate trace(final String template) {
-        if (this.level <= 0) {
+        if (LogLevelSwitch.isEnabled(0) && this.level <= 0) {
             final LogService service = this.service;
             final long appenderMask = this.appenderMask[0];
 
@@ -102,7 +107,7 @@ final class LogView implements Log {
 
     @Override
     public LogEntry debug() {
-        if (this.level <= 1) {
+        if (LogLevelSwitch.isEnabled(1) && this.level <= 1) {
             final LogService service = this.service;
             final long appenderMask = this.appenderMask[1];
 
@@ -116,7 +121,7 @@ final class LogView implements Log {
 
     @Override
     public LogEntryTemplate debug(final String template) {
-        if (this.level <= 1) {
+        if (LogLevelSwitch.isEnabled(1) && this.level <= 1) {
             final LogService service = this.service;
             final long appenderMask = this.appenderMask[1];
 
@@ -130,7 +135,7 @@ final class LogView implements Log {
 
     @Override
     public LogEntry info() {
-        if (this.level <= 2) {
+        if (LogLevelSwitch.isEnabled(2) && this.level <= 2) {
             final LogService service = this.service;
             final long appenderMask = this.appenderMask[2];
 
@@ -144,7 +149,7 @@ final class LogView implements Log {
 
     @Override
     public LogEntryTemplate info(final String template) {
-        if (this.level <= 2) {
+        if (LogLevelSwitch.isEnabled(2) && this.level <= 2) {
             final LogService service = this.service;
             final long appenderMask = this.appenderMask[2];
 
@@ -158,7 +163,7 @@ final class LogView implements Log {
 
     @Override
     public LogEntry warn() {
-        if (this.level <= 3) {
+        if (LogLevelSwitch.isEnabled(3) && this.level <= 3) {
             final LogService service = this.service;
             final long appenderMask = this.appenderMask[3];
 
@@ -172,7 +177,7 @@ final class LogView implements Log {
 
     @Override
     public LogEntryTemplate warn(final String template) {
-        if (this.level <= 3) {
+        if (LogLevelSwitch.isEnabled(3) && this.level <= 3) {
             final LogService service = this.service;
             final long appenderMask = this.appenderMask[3];
 
@@ -186,7 +191,7 @@ final class LogView implements Log {
 
     @Override
     public LogEntry error() {
-        if (this.level <= 4) {
+        if (LogLevelSwitch.isEnabled(4) && this.level <= 4) {
             final LogService service = this.service;
             final long appenderMask = this.appenderMask[4];
 
@@ -200,7 +205,7 @@ final class LogView implements Log {
 
     @Override
     public LogEntryTemplate error(final String template) {
-        if (this.level <= 4) {
+        if (LogLevelSwitch.isEnabled(4) && this.level <= 4) {
             final LogService service = this.service;
             final long appenderMask = this.appenderMask[4];
 
@@ -214,7 +219,7 @@ final class LogView implements Log {
 
     @Override
     public LogEntry fatal() {
-        if (this.level <= 5) {
+        if (LogLevelSwitch.isEnabled(5) && this.level <= 5) {
             final LogService service = this.service;
             final long appenderMask = this.appenderMask[5];
 
@@ -228,7 +233,7 @@ final class LogView implements Log {
 
     @Override
     public LogEntryTemplate fatal(final String template) {
-        if (this.level <= 5) {
+        if (LogLevelSwitch.isEnabled(5) && this.level <= 5) {
             final LogService service = this.service;
             final long appenderMask = this.appenderMask[5];
 
@@ -244,7 +249,7 @@ final class LogView implements Log {
     public LogEntry log(final LogLevel logLevel) {
         final int level = logLevel.ordinal();
 
-        if (this.level <= level) {
+        if (LogLevelSwitch.isEnabled(level) && this.level <= level) {
             final LogService service = this.service;
             final long appenderMask = this.appenderMask[level];
 
@@ -260,7 +265,112 @@ final class LogView implements Log {
     public LogEntryTemplate log(final LogLevel logLevel, final String template) {
         final int level = logLevel.ordinal();
 
-        if (this.level <= level) {
+        if (LogLevelSwitch.isEnabled(level) && this.level <= level) {
+            final LogService service = this.service;
+            final long appenderMask = this.appenderMask[level];
+
+            if (service != null && appenderMask != 0) {
+                return service.claim(index, level, appenderMask, template);
+            }
+        }
+
+        return NoOpLogEntry.INSTANCE;
+    }
+
+    @Override
+    public LogTemplate compile(final String template) {
+        return new LogTemplateImpl(template);
+    }
+
+    @Override
+    public LogEntryTemplate trace(final LogTemplate template) {
+        if (LogLevelSwitch.isEnabled(0) && this.level <= 0) {
+            final LogService service = this.service;
+            final long appenderMask = this.appenderMask[0];
+
+            if (service != null && appenderMask != 0) {
+                return service.claim(index, 0, appenderMask, template);
+            }
+        }
+
+        return NoOpLogEntry.INSTANCE;
+    }
+
+    @Override
+    public LogEntryTemplate debug(final LogTemplate template) {
+        if (LogLevelSwitch.isEnabled(1) && this.level <= 1) {
+            final LogService service = this.service;
+            final long appenderMask = this.appenderMask[1];
+
+            if (service != null && appenderMask != 0) {
+                return service.claim(index, 1, appenderMask, template);
+            }
+        }
+
+        return NoOpLogEntry.INSTANCE;
+    }
+
+    @Override
+    public LogEntryTemplate info(final LogTemplate template) {
+        if (LogLevelSwitch.isEnabled(2) && this.level <= 2) {
+            final LogService service = this.service;
+            final long appenderMask = this.appenderMask[2];
+
+            if (service != null && appenderMask != 0) {
+                return service.claim(index, 2, appenderMask, template);
+            }
+        }
+
+        return NoOpLogEntry.INSTANCE;
+    }
+
+    @Override
+    public LogEntryTemplate warn(final LogTemplate template) {
+        if (LogLevelSwitch.isEnabled(3) && this.level <= 3) {
+            final LogService service = this.service;
+            final long appenderMask = this.appenderMask[3];
+
+            if (service != null && appenderMask != 0) {
+                return service.claim(index, 3, appenderMask, template);
+            }
+        }
+
+        return NoOpLogEntry.INSTANCE;
+    }
+
+    @Override
+    public LogEntryTemplate error(final LogTemplate template) {
+        if (LogLevelSwitch.isEnabled(4) && this.level <= 4) {
+            final LogService service = this.service;
+            final long appenderMask = this.appenderMask[4];
+
+            if (service != null && appenderMask != 0) {
+                return service.claim(index, 4, appenderMask, template);
+            }
+        }
+
+        return NoOpLogEntry.INSTANCE;
+    }
+
+    @Override
+    public LogEntryTemplate fatal(final LogTemplate template) {
+        if (LogLevelSwitch.isEnabled(5) && this.level <= 5) {
+            final LogService service = this.service;
+            final long appenderMask = this.appenderMask[5];
+
+            if (service != null && appenderMask != 0) {
+                return service.claim(index, 5, appenderMask, template);
+            }
+        }
+
+        return NoOpLogEntry.INSTANCE;
+    }
+
+    @Override
+    public LogEntryTemplate log(final LogLevel logLevel, final LogTemplate template) {
+        final int level = logLevel.ordinal();
+
+        if (LogLevelSwitch.isEnabled(level) && this.level <= level) {
             final LogService service = this.service;
             final long appenderMask = this.appenderMask[level];
 
@@ -280,6 +390,27 @@ final class LogView implements Log {
         this.service = service;
     }
 
+    /**
+     * @return the enabled levels, a bit per level.
+     */
+    int levelMask() {
+        final LogService service = this.service;
+        final long[] appenderMask = this.appenderMask;
+        final int level = this.level;
+
+        int mask = 0;
+
+        if (service != null) {
+            for (int i = level; i < appenderMask.length; i++) {
+                if (appenderMask[i] != 0) {
+                    mask |= 1 << i;
+                }
+            }
+        }
+
+        return mask;
+    }
+
     void invalidate() {
         this.level = LogLevel.FATAL.ordinal();
         this.service = null;
@@ -2,6 +2,7 @@ package com.epam.deltix.gflog.core;
 
 import com.epam.deltix.gflog.api.LogLevel;
 import com.epam.deltix.gflog.core.appender.Appender;
+import com.epam.deltix.gflog.core.service.OverflowStrategy;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -14,6 +15,7 @@ public final class Logger {
 
     private String name;
     private LogLevel level;
+    private OverflowStrategy overflowStrategy;
 
     private final List<Appender> appenders = new ArrayList<>(4);
 
@@ -44,6 +46,14 @@ public final class Logger {
         this.level = requireNonNull(level);
     }
 
+    public OverflowStrategy getOverflowStrategy() {
+        return overflowStrategy;
+    }
+
+    public void setOverflowStrategy(final OverflowStrategy overflowStrategy) {
+        this.overflowStrategy = overflowStrategy;
+    }
+
     public void addAppender(final Appender appender) {
         appenders.add(requireNonNull(appender));
     }
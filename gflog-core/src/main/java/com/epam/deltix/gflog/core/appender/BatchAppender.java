@@ -0,0 +1,17 @@
+package com.epam.deltix.gflog.core.appender;
+
+
+/**
+ * Optional callbacks for an appender that coalesces the records of a read pass.
+ * The pass starts before the first record appended to the appender and ends after the last one.
+ */
+public interface BatchAppender {
+
+    void onBatchStart() throws Exception;
+
+    /**
+     * @param count the number of the records appended in the pass.
+     */
+    int onBatchEnd(int count) throws Exception;
+
+}
@@ -14,6 +14,10 @@ public class CompositeAppender extends Appender {
         this.appenders = appenders;
     }
 
+    public final Appender[] getAppenders() {
+        return appenders.clone();
+    }
+
     @Override
     public void open() throws Exception {
         // skip
@@ -27,7 +27,18 @@ public class ConsoleAppender extends NioAppender<WritableByteChannel> {
                               final Layout layout,
                               final boolean wrap,
                               final boolean stderr) {
-        super(name, level, bufferCapacity, flushCapacity, layout);
+        this(name, level, bufferCapacity, flushCapacity, layout, wrap, stderr, 0);
+    }
+
+    protected ConsoleAppender(final String name,
+                              final LogLevel level,
+                              final int bufferCapacity,
+                              final int flushCapacity,
+                              final Layout layout,
+                              final boolean wrap,
+                              final boolean stderr,
+                              final int formatThreads) {
+        super(name, level, bufferCapacity, flushCapacity, layout, formatThreads);
 
         this.wrap = wrap;
         this.stderr = stderr;
@@ -42,7 +42,7 @@ public class ConsoleAppenderFactory extends NioAppenderFactory {
 
     @Override
     protected ConsoleAppender createAppender() {
-        return new ConsoleAppender(name, level, bufferCapacity, flushCapacity, layout, wrap, stderr);
+        return new ConsoleAppender(name, level, bufferCapacity, flushCapacity, layout, wrap, stderr, formatThreads);
     }
 
     protected static boolean isWindows() {
@@ -52,9 +52,10 @@ class DailyRollingFileAppender extends FileAppender {
                                        final String fileMiddleTemplate,
                                        final ZoneId zoneId,
                                        final int maxFiles,
-                                       final long maxFileSize) {
+                                       final long maxFileSize,
+                                       final int mapCapacity) {
 
-        super(name, level, bufferCapacity, flushCapacity, layout, append, file);
+        super(name, level, bufferCapacity, flushCapacity, layout, append, file, 0, mapCapacity);
 
         final Path filePath = Paths.get(file).toAbsolutePath();
 
@@ -45,6 +45,10 @@ public class DailyRollingFileAppenderFactory extends FileAppenderFactory {
     protected void conclude() {
         super.conclude();
 
+        if (formatThreads > 0) {
+            throw new IllegalArgumentException("format threads are not supported by appender: " + name);
+        }
+
         if (fileSuffixTemplate == null) {
             fileSuffixTemplate = FILE_SUFFIX_TEMPLATE;
         }
@@ -67,7 +71,8 @@ public class DailyRollingFileAppenderFactory extends FileAppenderFactory {
                 fileSuffixTemplate,
                 zoneId,
                 maxFiles,
-                maxFileSize
+                maxFileSize,
+                mapCapacity
         );
     }
 
@@ -1,8 +1,14 @@
 package com.epam.deltix.gflog.core.appender;
 
+import com.epam.deltix.gflog.api.LogDebug;
 import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.LogRecord;
 import com.epam.deltix.gflog.core.layout.Layout;
+import com.epam.deltix.gflog.core.util.UnsafeBuffer;
+import com.epam.deltix.gflog.core.util.Util;
 
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -15,6 +21,14 @@ public class FileAppender extends NioAppender<FileChannel> {
     protected final boolean append;
     protected final Path file;
 
+    protected final int mapCapacity;
+    protected final UnsafeBuffer map = new UnsafeBuffer();
+
+    protected MappedByteBuffer mapping;
+    protected boolean mapped;
+    protected long mapPosition;
+    protected int mapOffset;
+
     protected FileAppender(final String name,
                            final LogLevel level,
                            final int bufferCapacity,
@@ -23,10 +37,47 @@ public class FileAppender extends NioAppender<FileChannel> {
                            final boolean append,
                            final String file) {
 
-        super(name, level, bufferCapacity, flushCapacity, layout);
+        this(name, level, bufferCapacity, flushCapacity, layout, append, file, 0);
+    }
+
+    protected FileAppender(final String name,
+                           final LogLevel level,
+                           final int bufferCapacity,
+                           final int flushCapacity,
+                           final Layout layout,
+                           final boolean append,
+                           final String file,
+                           final int formatThreads) {
+
+        this(name, level, bufferCapacity, flushCapacity, layout, append, file, formatThreads, 0);
+    }
+
+    /**
+     * @param mapCapacity the size of the file window the layout formats into directly, 0 - writes through the buffer.
+     */
+    protected FileAppender(final String name,
+                           final LogLevel level,
+                           final int bufferCapacity,
+                           final int flushCapacity,
+                           final Layout layout,
+                           final boolean append,
+                           final String file,
+                           final int formatThreads,
+                           final int mapCapacity) {
+
+        super(name, level, bufferCapacity, flushCapacity, layout, formatThreads);
+
+        if (mapCapacity < 0) {
+            throw new IllegalArgumentException("map capacity: " + mapCapacity + " is negative");
+        }
+
+        if (mapCapacity > 0 && formatThreads > 0) {
+            throw new IllegalArgumentException("format threads are not supported with map capacity by appender: " + name);
+        }
 
         this.file = Paths.get(file);
         this.append = append;
+        this.mapCapacity = mapCapacity;
     }
 
     @Override
@@ -41,6 +92,13 @@ public class FileAppender extends NioAppender<FileChannel> {
             Files.createDirectories(directory);
         }
 
+        if (mapCapacity > 0) { // the window is mapped at the end of the file so no append mode
+            return append ?
+                    FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE) :
+                    FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                            StandardOpenOption.TRUNCATE_EXISTING);
+        }
+
         return FileChannel.open(
                 file,
                 StandardOpenOption.CREATE,
@@ -49,4 +107,80 @@ public class FileAppender extends NioAppender<FileChannel> {
         );
     }
 
+    @Override
+    protected void closeChannel(final FileChannel channel) {
+        if (mapped) {
+            unmap();
+
+            if (channel != null) {
+                try {
+                    channel.truncate(mapPosition + mapOffset); // cuts the unused tail of the window
+                } catch (final Throwable e) {
+                    LogDebug.warn("can't truncate file. Error: " + e.getMessage());
+                }
+            }
+        }
+
+        super.closeChannel(channel);
+    }
+
+    @Override
+    protected int doLog(final LogRecord record) throws Exception {
+        if (mapCapacity == 0) {
+            return super.doLog(record);
+        }
+
+        final int size = layout.size(record);
+
+        if (!mapped || mapCapacity - mapOffset < size) {
+            verifyMapSize(size);
+            remap();
+        }
+
+        final int before = mapOffset;
+        mapOffset = layout.format(record, map, mapOffset);
+
+        return mapOffset - before;
+    }
+
+    @Override
+    protected int flush(final boolean force) throws IOException {
+        return (mapCapacity == 0) ? super.flush(force) : 0;
+    }
+
+    /**
+     * Maps the next window right after the written bytes. The previous window is unmapped first,
+     * since GC can be too rare to release the mappings in time.
+     */
+    protected void remap() throws IOException {
+        final long position = mapped ? mapPosition + mapOffset : channel.size();
+
+        if (mapped) {
+            unmap();
+        }
+
+        mapping = channel.map(FileChannel.MapMode.READ_WRITE, position, mapCapacity);
+        map.wrap(mapping);
+
+        mapPosition = position;
+        mapOffset = 0;
+        mapped = true;
+    }
+
+    protected void unmap() {
+        final MappedByteBuffer mapping = this.mapping;
+
+        this.mapping = null;
+        this.mapped = false;
+        this.map.wrap(0, 0);
+
+        Util.unmap(mapping);
+    }
+
+    protected void verifyMapSize(final int size) {
+        if (size > mapCapacity) {
+            throw new IllegalArgumentException(("record size " + size + " more map capacity " + mapCapacity));
+        }
+    }
+
 }
@@ -9,6 +9,7 @@ public class FileAppenderFactory extends NioAppenderFactory {
 
     protected String file;
     protected boolean append = PropertyUtil.getBoolean("gflog.file.appender.append", true);
+    protected int mapCapacity = PropertyUtil.getMemory("gflog.file.appender.map.capacity", 0);
 
     public FileAppenderFactory() {
         super("file");
@@ -18,6 +19,17 @@ public class FileAppenderFactory extends NioAppenderFactory {
         this.append = append;
     }
 
+    public int getMapCapacity() {
+        return mapCapacity;
+    }
+
+    /**
+     * @param mapCapacity the size of the file window to format records into, 0 - writes through the buffer.
+     */
+    public void setMapCapacity(final int mapCapacity) {
+        this.mapCapacity = mapCapacity;
+    }
+
     public String getFile() {
         return file;
     }
@@ -30,11 +42,19 @@ public class FileAppenderFactory extends NioAppenderFactory {
     protected void conclude() {
         super.conclude();
         requireNonNull(file, "file is null");
+
+        if (mapCapacity < 0) {
+            throw new IllegalArgumentException("map capacity: " + mapCapacity + " is negative");
+        }
+
+        if (mapCapacity > 0 && formatThreads > 0) {
+            throw new IllegalArgumentException("format threads are not supported with map capacity by appender: " + name);
+        }
     }
 
     @Override
     protected Appender createAppender() {
-        return new FileAppender(name, level, bufferCapacity, flushCapacity, layout, append, file);
+        return new FileAppender(name, level, bufferCapacity, flushCapacity, layout, append, file, formatThreads, mapCapacity);
     }
 
 }
@@ -0,0 +1,337 @@
+package com.epam.deltix.gflog.core.appender;
+
+import com.epam.deltix.gflog.api.LogDebug;
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.LogRecord;
+import com.epam.deltix.gflog.core.LogRecordBean;
+import com.epam.deltix.gflog.core.layout.Layout;
+import com.epam.deltix.gflog.core.util.Buffer;
+import com.epam.deltix.gflog.core.util.UnsafeBuffer;
+import com.epam.deltix.gflog.core.util.Util;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Formats the records in batches on the worker threads. The appender thread copies the records into the batches
+ * and writes the formatted batches in the original order.
+ */
+final class FormatPipeline {
+
+    private static final int BATCH_RECORDS = 256;
+    private static final int BATCH_LENGTH = 64 * 1024;
+    private static final int HEADER_LENGTH = 3 * Util.SIZE_OF_INT;
+
+    private static final long AWAIT_PERIOD = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final long POLL_PERIOD = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long JOIN_TIMEOUT = 5000;
+
+    private final String name;
+    private final Layout[] layouts;
+    private final Sink sink;
+
+    private final ArrayBlockingQueue<Batch> submitted;
+    private final ArrayDeque<Batch> pending = new ArrayDeque<>();
+    private final ArrayDeque<Batch> free = new ArrayDeque<>();
+
+    private volatile boolean active;
+    private Thread[] workers;
+    private Batch batch;
+    private long sequence;
+
+    FormatPipeline(final String name, final Layout layout, final int threads, final Sink sink) {
+        final Layout[] layouts = new Layout[threads];
+
+        for (int i = 0; i < threads; i++) {
+            final Layout copy = layout.copy();
+
+            if (copy == null) {
+                throw new IllegalArgumentException("layout: " + layout.getClass().getName() + " does not support parallel formatting");
+            }
+
+            layouts[i] = copy;
+        }
+
+        final int batches = 2 * threads;
+
+        for (int i = 0; i < batches; i++) {
+            free.add(new Batch());
+        }
+
+        this.name = name;
+        this.layouts = layouts;
+        this.sink = sink;
+        this.submitted = new ArrayBlockingQueue<>(batches);
+    }
+
+    private void start() {
+        final Thread[] workers = new Thread[layouts.length];
+
+        for (int i = 0; i < workers.length; i++) {
+            final Layout layout = layouts[i];
+            final Thread worker = new Thread(() -> work(layout), "gflog-" + name + "-format-" + i);
+
+            worker.setDaemon(true);
+            workers[i] = worker;
+        }
+
+        active = true;
+        this.workers = workers;
+
+        for (final Thread worker : workers) {
+            worker.start();
+        }
+    }
+
+    void stop() throws Exception {
+        final Thread[] workers = this.workers;
+
+        if (workers == null) {
+            return;
+        }
+
+        try {
+            drain(true);
+        } finally {
+            active = false;
+            this.workers = null;
+
+            for (final Thread worker : workers) {
+                worker.join(JOIN_TIMEOUT);
+            }
+        }
+    }
+
+    void add(final LogRecord record) throws Exception {
+        if (workers == null) {
+            start();
+        }
+
+        Batch batch = this.batch;
+
+        if (batch == null) {
+            batch = acquire();
+            this.batch = batch;
+        }
+
+        batch.add(record);
+
+        if (batch.isFull()) {
+            submit();
+        }
+    }
+
+    /**
+     * Submits the filling batch and writes the formatted batches in order.
+     *
+     * @param await whether to wait for all the batches.
+     * @return the number of written batches.
+     */
+    int drain(final boolean await) throws Exception {
+        submit();
+
+        int work = 0;
+
+        while (!pending.isEmpty()) {
+            final Batch batch = pending.peek();
+
+            if (!batch.done && !await) {
+                break;
+            }
+
+            write(batch);
+            work++;
+        }
+
+        return work;
+    }
+
+    private Batch acquire() throws Exception {
+        if (free.isEmpty()) {
+            write(pending.peek());
+        }
+
+        return free.poll();
+    }
+
+    private void submit() {
+        final Batch batch = this.batch;
+
+        if (batch != null && batch.records > 0) {
+            batch.sequence = sequence;
+            sequence += batch.records;
+
+            this.batch = null;
+            pending.add(batch);
+            submitted.add(batch);
+        }
+    }
+
+    private void write(final Batch batch) throws Exception {
+        while (!batch.done) {
+            LockSupport.parkNanos(AWAIT_PERIOD);
+        }
+
+        pending.poll();
+
+        try {
+            sink.write(batch.output, batch.outputLength);
+        } finally {
+            batch.clear();
+            free.add(batch);
+        }
+    }
+
+    private void work(final Layout layout) {
+        final LogRecordBean record = new LogRecordBean();
+        final UnsafeBuffer logName = new UnsafeBuffer();
+        final UnsafeBuffer threadName = new UnsafeBuffer();
+        final UnsafeBuffer message = new UnsafeBuffer();
+
+        record.setLogName(logName);
+        record.setThreadName(threadName);
+        record.setMessage(message);
+
+        while (active || !submitted.isEmpty()) {
+            final Batch batch;
+
+            try {
+                batch = submitted.poll(POLL_PERIOD, TimeUnit.NANOSECONDS);
+            } catch (final InterruptedException e) {
+                break;
+            }
+
+            if (batch == null) {
+                continue;
+            }
+
+            try {
+                batch.format(layout, record, logName, threadName, message);
+            } catch (final Throwable e) {
+                LogDebug.warn("appender: " + name + " threw exception during formatting records", e);
+            } finally {
+                batch.done = true;
+            }
+        }
+    }
+
+    interface Sink {
+
+        void write(Buffer buffer, int length) throws Exception;
+
+    }
+
+    private static final class Batch {
+
+        private final long[] timestamps = new long[BATCH_RECORDS];
+        private final long[] appenderMasks = new long[BATCH_RECORDS];
+        private final LogLevel[] logLevels = new LogLevel[BATCH_RECORDS];
+        private final int[] offsets = new int[BATCH_RECORDS];
+
+        private final UnsafeBuffer input = new UnsafeBuffer(new byte[2 * BATCH_LENGTH]);
+        private final UnsafeBuffer output = new UnsafeBuffer(new byte[2 * BATCH_LENGTH]);
+
+        private int records;
+        private int inputLength;
+        private int outputLength;
+        private long sequence;
+
+        private volatile boolean done;
+
+        boolean isFull() {
+            return records == BATCH_RECORDS || inputLength >= BATCH_LENGTH;
+        }
+
+        void add(final LogRecord record) {
+            final Buffer logName = record.getLogName();
+            final Buffer threadName = record.getThreadName();
+            final Buffer message = record.getMessage();
+
+            final int logNameLength = logName.capacity();
+            final int threadNameLength = threadName.capacity();
+            final int messageLength = message.capacity();
+
+            int offset = inputLength;
+            ensure(input, offset, HEADER_LENGTH + logNameLength + threadNameLength + messageLength);
+
+            timestamps[records] = record.getTimestamp();
+            appenderMasks[records] = record.getAppenderMask();
+            logLevels[records] = record.getLogLevel();
+            offsets[records] = offset;
+
+            input.putInt(offset, logNameLength);
+            input.putInt(offset + Util.SIZE_OF_INT, threadNameLength);
+            input.putInt(offset + 2 * Util.SIZE_OF_INT, messageLength);
+            offset += HEADER_LENGTH;
+
+            input.putBytes(offset, logName, 0, logNameLength);
+            offset += logNameLength;
+
+            input.putBytes(offset, threadName, 0, threadNameLength);
+            offset += threadNameLength;
+
+            input.putBytes(offset, message, 0, messageLength);
+            offset += messageLength;
+
+            inputLength = offset;
+            records++;
+        }
+
+        void format(final Layout layout,
+                    final LogRecordBean record,
+                    final UnsafeBuffer logName,
+                    final UnsafeBuffer threadName,
+                    final UnsafeBuffer message) {
+
+            layout.position(sequence);
+
+            for (int i = 0; i < records; i++) {
+                int offset = offsets[i];
+
+                final int logNameLength = input.getInt(offset);
+                final int threadNameLength = input.getInt(offset + Util.SIZE_OF_INT);
+                final int messageLength = input.getInt(offset + 2 * Util.SIZE_OF_INT);
+                offset += HEADER_LENGTH;
+
+                logName.wrap(input, offset, logNameLength);
+                offset += logNameLength;
+
+                threadName.wrap(input, offset, threadNameLength);
+                offset += threadNameLength;
+
+                message.wrap(input, offset, messageLength);
+
+                record.setTimestamp(timestamps[i]);
+                record.setAppenderMask(appenderMasks[i]);
+                record.setLogLevel(logLevels[i]);
+
+                final int size = layout.size(record);
+                ensure(output, outputLength, size);
+
+                outputLength = layout.format(record, output, outputLength);
+            }
+        }
+
+        void clear() {
+            records = 0;
+            inputLength = 0;
+            outputLength = 0;
+            done = false;
+        }
+
+        private static void ensure(final UnsafeBuffer buffer, final int length, final int required) {
+            final int capacity = buffer.capacity();
+
+            if (capacity - length < required) {
+                final byte[] array = new byte[Math.max(capacity << 1, length + required)];
+                buffer.getBytes(0, array, 0, length);
+                buffer.wrap(array);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.epam.deltix.gflog.core.appender;
+
+import com.epam.deltix.gflog.api.LogDebug;
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.LogRecord;
+import com.epam.deltix.gflog.core.journal.Journal;
+import com.epam.deltix.gflog.core.journal.JournalLayout;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+
+class JournalAppender extends FileAppender {
+
+    protected final CRC32 checksum = new CRC32();
+
+    protected final int maxFiles;
+    protected final long maxFileSize;
+
+    protected ArrayDeque<Path> files;
+
+    protected long nextFileSize;
+    protected long nextIndex;
+
+    protected JournalAppender(final String name,
+                              final LogLevel level,
+                              final int bufferCapacity,
+                              final int flushCapacity,
+                              final String file,
+                              final int maxFiles,
+                              final long maxFileSize) {
+
+        super(name, level, bufferCapacity, flushCapacity, new JournalLayout(), false, file);
+
+        this.maxFiles = Math.max(maxFiles, 0);
+        this.maxFileSize = (maxFileSize > 0) ? maxFileSize : Long.MAX_VALUE;
+    }
+
+    @Override
+    public void open() throws Exception {
+        final TreeMap<Long, Path> segments = Journal.segments(file);
+
+        files = new ArrayDeque<>(segments.values());
+        nextIndex = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+
+        openNewFile();
+        clean();
+    }
+
+    @Override
+    public int append(final LogRecord record) throws Exception {
+        if (nextFileSize >= maxFileSize) {
+            roll();
+        }
+
+        return super.append(record);
+    }
+
+    @Override
+    protected int doLog(final LogRecord record) throws Exception {
+        final int bytes = super.doLog(record);
+        final int start = offset - bytes;
+
+        byteBuffer.limit(offset);
+        byteBuffer.position(start + Journal.FRAME_CHECKSUM_START);
+
+        checksum.reset();
+        checksum.update(byteBuffer);
+
+        buffer.putInt(start + Journal.FRAME_CHECKSUM_OFFSET, (int) checksum.getValue());
+        nextFileSize += bytes;
+
+        return bytes;
+    }
+
+    protected void roll() throws Exception {
+        flush(true);
+        closeChannel(channel);
+
+        openNewFile();
+        clean();
+    }
+
+    protected void openNewFile() throws Exception {
+        final Path path = Journal.segment(file, nextIndex++);
+
+        channel = openChannel(path);
+        files.add(path);
+
+        buffer.putLong(offset + Journal.SEGMENT_MAGIC_OFFSET, Journal.MAGIC);
+        buffer.putInt(offset + Journal.SEGMENT_VERSION_OFFSET, Journal.VERSION);
+        buffer.putInt(offset + Journal.SEGMENT_VERSION_OFFSET + 4, 0);
+
+        offset += Journal.SEGMENT_HEADER_LENGTH;
+        nextFileSize = Journal.SEGMENT_HEADER_LENGTH;
+    }
+
+    protected void clean() {
+        while (maxFiles > 0 && files.size() > maxFiles) {
+            final Path path = files.remove();
+
+            try {
+                Files.deleteIfExists(path);
+            } catch (final Throwable e) {
+                LogDebug.warn("can't delete a file: " + path, e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.epam.deltix.gflog.core.appender;
+
+import com.epam.deltix.gflog.core.util.PropertyUtil;
+
+
+public class JournalAppenderFactory extends FileAppenderFactory {
+
+    protected static final int MAX_FILES = PropertyUtil.getInteger("gflog.journal.appender.max.files", 0);
+    protected static final long MAX_FILE_SIZE = PropertyUtil.getMemory("gflog.journal.appender.max.file.size", 64L * 1024 * 1024);
+
+    protected int maxFiles = MAX_FILES;
+    protected long maxFileSize = MAX_FILE_SIZE;
+
+    public void setMaxFiles(final int maxFiles) {
+        this.maxFiles = maxFiles;
+    }
+
+    public void setMaxFileSize(final long maxFileSize) {
+        this.maxFileSize = maxFileSize;
+    }
+
+    @Override
+    protected void conclude() {
+        super.conclude();
+
+        if (formatThreads > 0) {
+            throw new IllegalArgumentException("format threads are not supported by appender: " + name);
+        }
+    }
+
+    @Override
+    protected JournalAppender createAppender() {
+        return new JournalAppender(
+                name,
+                level,
+                bufferCapacity,
+                flushCapacity,
+                file,
+                maxFiles,
+                maxFileSize
+        );
+    }
+
+}
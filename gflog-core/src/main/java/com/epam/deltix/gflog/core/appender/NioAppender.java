@@ -4,6 +4,7 @@ import com.epam.deltix.gflog.api.LogDebug;
 import com.epam.deltix.gflog.api.LogLevel;
 import com.epam.deltix.gflog.core.LogRecord;
 import com.epam.deltix.gflog.core.layout.Layout;
+import com.epam.deltix.gflog.core.util.Buffer;
 import com.epam.deltix.gflog.core.util.UnsafeBuffer;
 import com.epam.deltix.gflog.core.util.Util;
 
@@ -12,7 +13,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.WritableByteChannel;
 
 
-public abstract class NioAppender<T extends WritableByteChannel> extends Appender {
+public abstract class NioAppender<T extends WritableByteChannel> extends Appender implements BatchAppender {
 
     protected final ByteBuffer byteBuffer;
     protected final UnsafeBuffer buffer;
@@ -21,6 +22,8 @@ public abstract class NioAppender<T extends WritableByteChannel> extends Appende
     protected final int capacity;
     protected final int flushCapacity;
 
+    private final FormatPipeline pipeline;
+
     protected int offset;
     protected T channel;
 
@@ -29,13 +32,31 @@ public abstract class NioAppender<T extends WritableByteChannel> extends Appende
                           final int bufferCapacity,
                           final int flushCapacity,
                           final Layout layout) {
+        this(name, level, bufferCapacity, flushCapacity, layout, 0);
+    }
+
+    protected NioAppender(final String name,
+                          final LogLevel level,
+                          final int bufferCapacity,
+                          final int flushCapacity,
+                          final Layout layout,
+                          final int formatThreads) {
         super(name, level);
 
+        if (formatThreads < 0) {
+            throw new IllegalArgumentException("format threads: " + formatThreads + " is negative");
+        }
+
         this.buffer = UnsafeBuffer.allocateDirectedAlignedPadded(bufferCapacity, Util.DOUBLE_CACHE_LINE_SIZE);
         this.byteBuffer = buffer.byteBuffer();
         this.layout = layout;
         this.capacity = bufferCapacity;
         this.flushCapacity = flushCapacity;
+        this.pipeline = (formatThreads == 0) ? null : new FormatPipeline(name, layout, formatThreads, this::write);
+    }
+
+    public Layout getLayout() {
+        return layout;
     }
 
     @Override
@@ -46,6 +67,10 @@ public abstract class NioAppender<T extends WritableByteChannel> extends Appende
     @Override
     public void close() throws Exception {
         try {
+            if (pipeline != null) {
+                pipeline.stop();
+            }
+
             flush(true);
             closeChannel(channel);
         } finally {
@@ -55,13 +80,36 @@ public abstract class NioAppender<T extends WritableByteChannel> extends Appende
 
     @Override
     public int append(final LogRecord record) throws Exception {
-        doLog(record);
+        if (pipeline == null) {
+            doLog(record);
+        } else {
+            pipeline.add(record);
+        }
+
         return 1;
     }
 
     @Override
     public int flush() throws Exception {
-        return flush(false);
+        if (pipeline == null) {
+            return flush(false);
+        }
+
+        final int batches = pipeline.drain(false);
+        return batches + flush(false);
+    }
+
+    @Override
+    public void onBatchStart() {
+        // skip
+    }
+
+    /**
+     * Hands the filling format batch over to the workers without waiting for the idle flush.
+     */
+    @Override
+    public int onBatchEnd(final int count) throws Exception {
+        return (pipeline == null) ? 0 : pipeline.drain(false);
     }
 
     protected int doLog(final LogRecord record) throws Exception {
@@ -79,6 +127,22 @@ public abstract class NioAppender<T extends WritableByteChannel> extends Appende
         return offset - before;
     }
 
+    private void write(final Buffer source, final int length) throws IOException {
+        int position = 0;
+
+        while (position < length) {
+            if (offset == capacity) {
+                flush(true);
+            }
+
+            final int chunk = Math.min(capacity - offset, length - position);
+            buffer.putBytes(offset, source, position, chunk);
+
+            offset += chunk;
+            position += chunk;
+        }
+    }
+
     protected int flush(final boolean force) throws IOException {
         if (offset > 0) {
             return doFlush(force);
@@ -11,6 +11,7 @@ public abstract class NioAppenderFactory extends AbstactAppenderFactory {
 
     protected int bufferCapacity;
     protected int flushCapacity;
+    protected int formatThreads;
     protected Layout layout;
 
     public NioAppenderFactory(final String defaultName) {
@@ -33,6 +34,14 @@ public abstract class NioAppenderFactory extends AbstactAppenderFactory {
         this.flushCapacity = flushCapacity;
     }
 
+    public int getFormatThreads() {
+        return formatThreads;
+    }
+
+    public void setFormatThreads(final int formatThreads) {
+        this.formatThreads = formatThreads;
+    }
+
     public Layout getLayout() {
         return layout;
     }
@@ -57,6 +66,10 @@ public abstract class NioAppenderFactory extends AbstactAppenderFactory {
             flushCapacity = bufferCapacity;
         }
 
+        if (formatThreads < 0) {
+            throw new IllegalArgumentException("format threads: " + formatThreads + " is negative");
+        }
+
         if (layout == null) {
             layout = new TemplateLayoutFactory().create();
         }
@@ -47,7 +47,26 @@ public class TcpAppender extends NioAppender<SocketChannel> {
                           final int socketSendBufferCapacity,
                           final int socketReceiveBufferCapacity,
                           final boolean socketTcpNoDelay) {
-        super(name, level, bufferCapacity, flushCapacity, layout);
+        this(name, level, bufferCapacity, flushCapacity, layout, host, port, connectTimeout, reconnectInitialPeriod,
+                reconnectMaxPeriod, sendTimeout, socketSendBufferCapacity, socketReceiveBufferCapacity, socketTcpNoDelay, 0);
+    }
+
+    protected TcpAppender(final String name,
+                          final LogLevel level,
+                          final int bufferCapacity,
+                          final int flushCapacity,
+                          final Layout layout,
+                          final String host,
+                          final int port,
+                          final long connectTimeout,
+                          final long reconnectInitialPeriod,
+                          final long reconnectMaxPeriod,
+                          final long sendTimeout,
+                          final int socketSendBufferCapacity,
+                          final int socketReceiveBufferCapacity,
+                          final boolean socketTcpNoDelay,
+                          final int formatThreads) {
+        super(name, level, bufferCapacity, flushCapacity, layout, formatThreads);
 
         this.host = host;
         this.port = port;
@@ -117,7 +117,8 @@ public class TcpAppenderFactory extends NioAppenderFactory {
                 sendTimeout,
                 socketSendBufferCapacity,
                 socketReceiveBufferCapacity,
-                socketTcpNoDelay
+                socketTcpNoDelay,
+                formatThreads
         );
     }
 
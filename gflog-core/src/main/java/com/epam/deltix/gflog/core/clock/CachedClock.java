@@ -0,0 +1,72 @@
+package com.epam.deltix.gflog.core.clock;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Caches the time of the source clock. The time is refreshed every period by a daemon ticker thread
+ * which stops when the clock is no longer reachable.
+ */
+public final class CachedClock implements Clock {
+
+    private final Clock source;
+    private volatile long time;
+
+    public CachedClock(final Clock source, final long period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("cache period: " + period + " is not positive");
+        }
+
+        this.source = source;
+        this.time = source.nanoTime();
+
+        final Thread thread = new Thread(new Ticker(this, period), "gflog-clock");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public long nanoTime() {
+        return time;
+    }
+
+    private void tick() {
+        final long now = source.nanoTime();
+
+        if (now > time) {
+            time = now;
+        }
+    }
+
+    private static final class Ticker implements Runnable {
+
+        private final WeakReference<CachedClock> reference;
+        private final long period;
+
+        Ticker(final CachedClock clock, final long period) {
+            this.reference = new WeakReference<>(clock);
+            this.period = period;
+        }
+
+        @Override
+        public void run() {
+            while (tick()) {
+                LockSupport.parkNanos(period);
+            }
+        }
+
+        private boolean tick() {
+            final CachedClock clock = reference.get();
+
+            if (clock == null) {
+                return false;
+            }
+
+            clock.tick();
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.epam.deltix.gflog.core.clock;
+
+import java.time.Instant;
+import java.util.function.LongSupplier;
+
+import static com.epam.deltix.gflog.core.util.Util.UNSAFE;
+
+
+/**
+ * Wall clock with nanosecond resolution. Extrapolates System.nanoTime() from a wall clock anchor
+ * that is re-synchronised every period. The time never goes backwards: the clock running ahead of the wall clock
+ * is slewed out at most by 1/2048 of the elapsed time, however large the drift is, and only the clock falling behind
+ * by more than max drift is stepped forward. So a wall clock set back is caught up with slowly.
+ * <p>
+ * The wall clock is read with System.currentTimeMillis() on JDK 8, where Instant.now() has millisecond precision
+ * anyway, so the step threshold is widened by a millisecond there. On JDK 9+ it is read from a cached UTC clock
+ * in a small method, so the Instant can be scalar replaced.
+ */
+public final class CalibratedClock implements Clock {
+
+    public static final long MIN_MAX_DRIFT = 100_000;
+
+    private static final int SLEW_SHIFT = 11;
+    private static final long VERSION_OFFSET;
+    private static final boolean PRECISE_WALL_TIME = isPreciseWallTime();
+    private static final long WALL_TIME_PRECISION = PRECISE_WALL_TIME ? 0 : 1_000_000;
+    private static final java.time.Clock UTC = java.time.Clock.systemUTC();
+
+    static {
+        try {
+            VERSION_OFFSET = UNSAFE.objectFieldOffset(CalibratedClock.class.getDeclaredField("version"));
+        } catch (final NoSuchFieldException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final long period;
+    private final long maxDrift;
+    private final long stepDrift;
+    private final LongSupplier wall;
+
+    private volatile long version;
+    private long baseNanos;
+    private long baseTime;
+    private long error;
+    private long deadline;
+
+    public CalibratedClock(final long period, final long maxDrift) {
+        this(period, maxDrift, CalibratedClock::wallTime);
+    }
+
+    CalibratedClock(final long period, final long maxDrift, final LongSupplier wall) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("calibration period: " + period + " is not positive");
+        }
+
+        if (maxDrift < MIN_MAX_DRIFT) {
+            throw new IllegalArgumentException("calibration max drift: " + maxDrift + " is less than " + MIN_MAX_DRIFT);
+        }
+
+        this.period = period;
+        this.maxDrift = maxDrift;
+        this.stepDrift = maxDrift + WALL_TIME_PRECISION;
+        this.wall = wall;
+        this.baseNanos = System.nanoTime();
+        this.baseTime = wall.getAsLong();
+        this.deadline = baseNanos + period;
+        this.version = 0;
+    }
+
+    @Override
+    public long nanoTime() {
+        while (true) {
+            final long version = this.version;
+            final long nanos = System.nanoTime();
+
+            if ((version & 1) == 0) {
+                final long baseNanos = this.baseNanos;
+                final long baseTime = this.baseTime;
+                final long error = this.error;
+                final long deadline = this.deadline;
+
+                UNSAFE.loadFence();
+
+                if (version == this.version) {
+                    if (nanos - deadline < 0) {
+                        return time(nanos - baseNanos, baseTime, error);
+                    }
+
+                    calibrate(version);
+                }
+            }
+        }
+    }
+
+    private void calibrate(final long version) {
+        if (!UNSAFE.compareAndSwapLong(this, VERSION_OFFSET, version, version + 1)) {
+            return;
+        }
+
+        try {
+            final long before = System.nanoTime();
+            final long wall = this.wall.getAsLong();
+            final long after = System.nanoTime();
+
+            if (after - before < maxDrift) { // otherwise stalled while sampling, keeps the anchor till the next period
+                final long middle = before + ((after - before) >> 1);
+                final long drift = time(middle - baseNanos, baseTime, error) - wall;
+                final long time = time(after - baseNanos, baseTime, error);
+
+                if (drift > -stepDrift) {
+                    baseTime = time;
+                    error = drift;
+                } else {
+                    baseTime = Math.max(time, wall + (after - middle));
+                    error = 0;
+                }
+
+                baseNanos = after;
+            }
+
+            deadline = after + period;
+        } finally {
+            this.version = version + 2;
+        }
+    }
+
+    private static long time(final long elapsed, final long baseTime, final long error) {
+        final long correction = elapsed >> SLEW_SHIFT;
+
+        return (error >= 0) ?
+                baseTime + elapsed - Math.min(correction, error) :
+                baseTime + elapsed + Math.min(correction, -error);
+    }
+
+    private static long wallTime() {
+        if (!PRECISE_WALL_TIME) {
+            return System.currentTimeMillis() * 1_000_000 + 500_000; // the middle of the millisecond
+        }
+
+        final Instant now = UTC.instant();
+        return now.getEpochSecond() * 1_000_000_000 + now.getNano();
+    }
+
+    /**
+     * Instant.now() has sub-millisecond precision since JDK 9, which has Runtime.version().
+     */
+    private static boolean isPreciseWallTime() {
+        try {
+            Runtime.class.getMethod("version");
+            return true;
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+}
@@ -8,13 +8,22 @@ import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.time.Duration;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 
 public class ClockFactory implements Factory<Clock> {
 
     private static final Resolution RESOLUTION = getDefaultResolution();
+    private static final long CALIBRATION_PERIOD = PropertyUtil.getDuration("gflog.clock.calibration.period", NANOSECONDS, 1000000000);
+    private static final long CALIBRATION_MAX_DRIFT = PropertyUtil.getDuration("gflog.clock.calibration.max.drift", NANOSECONDS, 1000000);
+    private static final long CACHE_PERIOD = PropertyUtil.getDuration("gflog.clock.cache.period", NANOSECONDS, 100000);
 
     protected Resolution resolution = RESOLUTION;
+    protected long calibrationPeriod = CALIBRATION_PERIOD;
+    protected long calibrationMaxDrift = CALIBRATION_MAX_DRIFT;
+    protected long cachePeriod = CACHE_PERIOD;
 
     public Resolution getResolution() {
         return resolution;
@@ -24,12 +33,53 @@ public class ClockFactory implements Factory<Clock> {
         this.resolution = resolution;
     }
 
+    public Duration getCalibrationPeriod() {
+        return Duration.ofNanos(calibrationPeriod);
+    }
+
+    public void setCalibrationPeriod(final Duration calibrationPeriod) {
+        this.calibrationPeriod = calibrationPeriod.toNanos();
+    }
+
+    public Duration getCalibrationMaxDrift() {
+        return Duration.ofNanos(calibrationMaxDrift);
+    }
+
+    public void setCalibrationMaxDrift(final Duration calibrationMaxDrift) {
+        this.calibrationMaxDrift = calibrationMaxDrift.toNanos();
+    }
+
+    public Duration getCachePeriod() {
+        return Duration.ofNanos(cachePeriod);
+    }
+
+    public void setCachePeriod(final Duration cachePeriod) {
+        this.cachePeriod = cachePeriod.toNanos();
+    }
+
     @Override
     public Clock create() {
+        if (calibrationMaxDrift < CalibratedClock.MIN_MAX_DRIFT) {
+            throw new IllegalArgumentException("calibration max drift: " + calibrationMaxDrift +
+                    " is less than " + CalibratedClock.MIN_MAX_DRIFT);
+        }
+
+        if (resolution == Resolution.CACHED) {
+            final Clock source = (NativeClocks.HANDLE_REALTIME_TIME == null) ?
+                    new CalibratedClock(calibrationPeriod, calibrationMaxDrift) :
+                    NativeClocks::realtimeTime;
+
+            return new CachedClock(source, cachePeriod);
+        }
+
         if (resolution == Resolution.HIGH && NativeClocks.HANDLE_REALTIME_TIME != null) {
             return NativeClocks::realtimeTime;
         }
 
+        if (resolution == Resolution.HIGH) {
+            return new CalibratedClock(calibrationPeriod, calibrationMaxDrift);
+        }
+
         if (resolution == Resolution.LOW && NativeClocks.HANDLE_REALTIME_COARSE_TIME != null) {
             return NativeClocks::realtimeCoarseTime;
         }
@@ -44,13 +94,15 @@ public class ClockFactory implements Factory<Clock> {
             return Resolution.HIGH;
         } else if (Resolution.LOW.name().equals(resolution)) {
             return Resolution.LOW;
+        } else if (Resolution.CACHED.name().equals(resolution)) {
+            return Resolution.CACHED;
         } else {
             return null;
         }
     }
 
     public enum Resolution {
-        HIGH, LOW
+        HIGH, LOW, CACHED
     }
 
     private static final class NativeClocks {
@@ -11,6 +11,8 @@ public class IdleStrategyFactory implements Factory<IdleStrategy> {
     private long minParkPeriod = 250 * 1000;
     private long maxParkPeriod = 16 * 1000 * 1000;
 
+    private boolean wakeup;
+
     public void setMaxSpins(final long maxSpins) {
         this.maxSpins = maxSpins;
     }
@@ -27,6 +29,14 @@ public class IdleStrategyFactory implements Factory<IdleStrategy> {
         this.maxParkPeriod = maxParkPeriod;
     }
 
+    /**
+     * Parks the consumer until a producer signals new work. Every commit pays a full fence to signal,
+     * see {@link WakeupIdleStrategy}.
+     */
+    public void setWakeup(final boolean wakeup) {
+        this.wakeup = wakeup;
+    }
+
     public long getMaxSpins() {
         return maxSpins;
     }
@@ -43,6 +53,10 @@ public class IdleStrategyFactory implements Factory<IdleStrategy> {
         return maxParkPeriod;
     }
 
+    public boolean isWakeup() {
+        return wakeup;
+    }
+
     public boolean hasMaxSpins() {
         return maxSpins > 0;
     }
@@ -61,6 +75,10 @@ public class IdleStrategyFactory implements Factory<IdleStrategy> {
 
     @Override
     public IdleStrategy create() {
+        if (wakeup) {
+            return new WakeupIdleStrategy(maxSpins, maxYields, hasMaxParkPeriod() ? maxParkPeriod : Long.MAX_VALUE);
+        }
+
         if (!hasMaxYields() && !hasMinParkPeriod() && !hasMaxParkPeriod()) {
             return new BusySpinIdleStrategy();
         }
@@ -0,0 +1,100 @@
+package com.epam.deltix.gflog.core.journal;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.TreeMap;
+
+/**
+ * Journal segment layout (native byte order):
+ * <pre>
+ * segment: header(magic:8, version:4, reserved:4) frame*
+ * frame:   length:4 checksum:4 timestamp:8 logNameLength:4 messageLength:4 logLevel:1 threadNameLength:1
+ *          logName threadName message
+ * </pre>
+ * The frame length includes the frame header. The checksum is CRC32 of the frame bytes after the checksum field.
+ */
+public final class Journal {
+
+    public static final long MAGIC = 0x6766_6C6F_676A_6E6CL;
+    public static final int VERSION = 1;
+
+    public static final int SEGMENT_HEADER_LENGTH = 16;
+    public static final int SEGMENT_MAGIC_OFFSET = 0;
+    public static final int SEGMENT_VERSION_OFFSET = 8;
+
+    public static final int FRAME_LENGTH_OFFSET = 0;
+    public static final int FRAME_CHECKSUM_OFFSET = 4;
+    public static final int FRAME_TIMESTAMP_OFFSET = 8;
+    public static final int FRAME_LOG_NAME_LENGTH_OFFSET = 16;
+    public static final int FRAME_MESSAGE_LENGTH_OFFSET = 20;
+    public static final int FRAME_LOG_LEVEL_OFFSET = 24;
+    public static final int FRAME_THREAD_NAME_LENGTH_OFFSET = 25;
+    public static final int FRAME_HEADER_LENGTH = 26;
+
+    public static final int FRAME_CHECKSUM_START = FRAME_TIMESTAMP_OFFSET;
+
+    private Journal() {
+    }
+
+    public static Path segment(final Path file, final long index) {
+        final String name = file.getFileName().toString();
+        final int dot = name.lastIndexOf('.');
+
+        final String prefix = (dot == -1) ? name : name.substring(0, dot);
+        final String suffix = (dot == -1) ? "" : name.substring(dot);
+
+        return file.resolveSibling(prefix + "." + index + suffix);
+    }
+
+    public static TreeMap<Long, Path> segments(final Path file) throws IOException {
+        final Path absolute = file.toAbsolutePath();
+        final Path directory = absolute.getParent();
+
+        final String name = absolute.getFileName().toString();
+        final int dot = name.lastIndexOf('.');
+
+        final String prefix = ((dot == -1) ? name : name.substring(0, dot)) + ".";
+        final String suffix = (dot == -1) ? "" : name.substring(dot);
+
+        final TreeMap<Long, Path> segments = new TreeMap<>();
+
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (final Path path : stream) {
+                final String candidate = path.getFileName().toString();
+
+                if (candidate.length() > prefix.length() + suffix.length() && candidate.startsWith(prefix) && candidate.endsWith(suffix)) {
+                    final String index = candidate.substring(prefix.length(), candidate.length() - suffix.length());
+
+                    if (isIndex(index)) {
+                        segments.put(Long.parseLong(index), path);
+                    }
+                }
+            }
+        }
+
+        return segments;
+    }
+
+    private static boolean isIndex(final String index) {
+        if (index.length() > 18) {
+            return false;
+        }
+
+        for (int i = 0; i < index.length(); i++) {
+            final char c = index.charAt(i);
+
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.epam.deltix.gflog.core.journal;
+
+import com.epam.deltix.gflog.core.LogRecord;
+import com.epam.deltix.gflog.core.layout.Layout;
+import com.epam.deltix.gflog.core.util.Buffer;
+import com.epam.deltix.gflog.core.util.MutableBuffer;
+
+import static com.epam.deltix.gflog.core.journal.Journal.*;
+
+/**
+ * Encodes records into journal frames. The checksum is left zero and filled in by the journal appender.
+ */
+public final class JournalLayout extends Layout {
+
+    @Override
+    public int size(final LogRecord record) {
+        return FRAME_HEADER_LENGTH +
+                record.getLogName().capacity() +
+                record.getThreadName().capacity() +
+                record.getMessage().capacity();
+    }
+
+    @Override
+    public int format(final LogRecord record, final MutableBuffer buffer, final int offset) {
+        final Buffer logName = record.getLogName();
+        final Buffer threadName = record.getThreadName();
+        final Buffer message = record.getMessage();
+
+        final int logNameLength = logName.capacity();
+        final int threadNameLength = threadName.capacity();
+        final int messageLength = message.capacity();
+
+        final int length = FRAME_HEADER_LENGTH + logNameLength + threadNameLength + messageLength;
+
+        buffer.putInt(offset + FRAME_LENGTH_OFFSET, length);
+        buffer.putInt(offset + FRAME_CHECKSUM_OFFSET, 0);
+        buffer.putLong(offset + FRAME_TIMESTAMP_OFFSET, record.getTimestamp());
+        buffer.putInt(offset + FRAME_LOG_NAME_LENGTH_OFFSET, logNameLength);
+        buffer.putInt(offset + FRAME_MESSAGE_LENGTH_OFFSET, messageLength);
+        buffer.putByte(offset + FRAME_LOG_LEVEL_OFFSET, (byte) record.getLogLevel().ordinal());
+        buffer.putByte(offset + FRAME_THREAD_NAME_LENGTH_OFFSET, (byte) threadNameLength);
+
+        int position = offset + FRAME_HEADER_LENGTH;
+
+        buffer.putBytes(position, logName);
+        position += logNameLength;
+
+        buffer.putBytes(position, threadName);
+        position += threadNameLength;
+
+        buffer.putBytes(position, message);
+        position += messageLength;
+
+        return position;
+    }
+
+}
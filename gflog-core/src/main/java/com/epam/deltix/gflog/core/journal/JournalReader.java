@@ -0,0 +1,143 @@
+package com.epam.deltix.gflog.core.journal;
+
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.LogRecord;
+import com.epam.deltix.gflog.core.LogRecordBean;
+import com.epam.deltix.gflog.core.util.UnsafeBuffer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import static com.epam.deltix.gflog.core.journal.Journal.*;
+
+
+public final class JournalReader implements AutoCloseable {
+
+    private static final LogLevel[] LEVELS = LogLevel.values();
+
+    private final LogRecordBean record = new LogRecordBean();
+    private final UnsafeBuffer logName = new UnsafeBuffer();
+    private final UnsafeBuffer threadName = new UnsafeBuffer();
+    private final UnsafeBuffer message = new UnsafeBuffer();
+    private final CRC32 checksum = new CRC32();
+
+    private final Path path;
+    private final FileChannel channel;
+    private final ByteBuffer byteBuffer;
+    private final UnsafeBuffer buffer;
+
+    private int position = SEGMENT_HEADER_LENGTH;
+    private boolean corrupted;
+
+    public JournalReader(final Path path) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            final long size = channel.size();
+
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("journal segment is too large: " + size);
+            }
+
+            final MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            final UnsafeBuffer buffer = new UnsafeBuffer(mapping);
+
+            if (size < SEGMENT_HEADER_LENGTH ||
+                    buffer.getLong(SEGMENT_MAGIC_OFFSET) != MAGIC ||
+                    buffer.getInt(SEGMENT_VERSION_OFFSET) != VERSION) {
+                throw new IOException("not a journal segment: " + path);
+            }
+
+            this.path = path;
+            this.channel = channel;
+            this.byteBuffer = mapping;
+            this.buffer = buffer;
+        } catch (final Throwable e) {
+            channel.close();
+            throw e;
+        }
+
+        record.setLogName(logName);
+        record.setThreadName(threadName);
+        record.setMessage(message);
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    /**
+     * @return true if the segment has a torn or corrupted frame which stopped reading.
+     */
+    public boolean corrupted() {
+        return corrupted;
+    }
+
+    /**
+     * @return the next record or null if there are no more valid frames. The record is reused.
+     */
+    public LogRecord next() {
+        final int remaining = buffer.capacity() - position;
+
+        if (corrupted || remaining < FRAME_HEADER_LENGTH) {
+            corrupted |= (remaining != 0);
+            return null;
+        }
+
+        final int length = buffer.getInt(position + FRAME_LENGTH_OFFSET);
+
+        if (length < FRAME_HEADER_LENGTH || length > remaining || !verifyChecksum(length)) {
+            corrupted = true;
+            return null;
+        }
+
+        final int logNameLength = buffer.getInt(position + FRAME_LOG_NAME_LENGTH_OFFSET);
+        final int messageLength = buffer.getInt(position + FRAME_MESSAGE_LENGTH_OFFSET);
+        final int logLevel = buffer.getByte(position + FRAME_LOG_LEVEL_OFFSET);
+        final int threadNameLength = buffer.getByte(position + FRAME_THREAD_NAME_LENGTH_OFFSET);
+
+        if (logLevel < 0 || logLevel >= LEVELS.length ||
+                logNameLength < 0 || threadNameLength < 0 || messageLength < 0 ||
+                FRAME_HEADER_LENGTH + (long) logNameLength + threadNameLength + messageLength != length) {
+            corrupted = true;
+            return null;
+        }
+
+        int offset = position + FRAME_HEADER_LENGTH;
+
+        logName.wrap(buffer, offset, logNameLength);
+        offset += logNameLength;
+
+        threadName.wrap(buffer, offset, threadNameLength);
+        offset += threadNameLength;
+
+        message.wrap(buffer, offset, messageLength);
+
+        record.setTimestamp(buffer.getLong(position + FRAME_TIMESTAMP_OFFSET));
+        record.setLogLevel(LEVELS[logLevel]);
+
+        position += length;
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean verifyChecksum(final int length) {
+        byteBuffer.limit(position + length);
+        byteBuffer.position(position + FRAME_CHECKSUM_START);
+
+        checksum.reset();
+        checksum.update(byteBuffer);
+
+        return (int) checksum.getValue() == buffer.getInt(position + FRAME_CHECKSUM_OFFSET);
+    }
+
+}
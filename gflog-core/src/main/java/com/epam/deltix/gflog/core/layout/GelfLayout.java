@@ -28,13 +28,35 @@ public class GelfLayout extends Layout {
 
     protected final MutableBuffer head;
     protected final int lengthBase;
+    protected final long sequenceBase;
 
     protected long sequenceNext;
 
     public GelfLayout(final String host, final Map<String, String> additionalFields, final long sequenceBase) {
-        head = buildHead(host, additionalFields);
-        lengthBase = computeLengthBase(head);
-        sequenceNext = sequenceBase;
+        this.head = buildHead(host, additionalFields);
+        this.lengthBase = computeLengthBase(head);
+        this.sequenceBase = sequenceBase;
+        this.sequenceNext = sequenceBase;
+    }
+
+    protected GelfLayout(final GelfLayout layout) {
+        final byte[] bytes = new byte[layout.head.capacity()];
+        layout.head.getBytes(0, bytes);
+
+        this.head = new UnsafeBuffer(bytes);
+        this.lengthBase = layout.lengthBase;
+        this.sequenceBase = layout.sequenceBase;
+        this.sequenceNext = layout.sequenceBase;
+    }
+
+    @Override
+    public Layout copy() {
+        return (getClass() == GelfLayout.class) ? new GelfLayout(this) : null;
+    }
+
+    @Override
+    public void position(final long sequence) {
+        sequenceNext = sequenceBase + sequence;
     }
 
     @Override
@@ -10,4 +10,17 @@ public abstract class Layout {
 
     public abstract int format(final LogRecord record, final MutableBuffer buffer, final int offset);
 
+    /**
+     * @return an independent layout formatting the same way on another thread or null if not supported.
+     */
+    public Layout copy() {
+        return null;
+    }
+
+    /**
+     * Positions the copy at the sequence number of the next record it formats, counting from zero.
+     */
+    public void position(final long sequence) {
+    }
+
 }
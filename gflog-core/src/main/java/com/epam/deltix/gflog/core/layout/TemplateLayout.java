@@ -10,12 +10,21 @@ import java.time.ZoneId;
 
 public class TemplateLayout extends Layout {
 
+    private final String template;
+    private final ZoneId zoneId;
     private final Template[] templates;
 
     public TemplateLayout(final String template, final ZoneId zoneId) {
+        this.template = template;
+        this.zoneId = zoneId;
         this.templates = TemplateParser.parse(template, zoneId);
     }
 
+    @Override
+    public Layout copy() {
+        return (getClass() == TemplateLayout.class) ? new TemplateLayout(template, zoneId) : null;
+    }
+
     @Override
     public int size(final LogRecord record) {
         int size = 0;
@@ -4,4 +4,11 @@ public interface Counter {
 
     void increment();
 
+    /**
+     * Adds the amount such as nanoseconds. Counts a single increment unless overridden.
+     */
+    default void add(final long amount) {
+        increment();
+    }
+
 }
@@ -11,4 +11,8 @@ public final class NoOpCounter implements Counter {
     public void increment() {
     }
 
+    @Override
+    public void add(final long amount) {
+    }
+
 }
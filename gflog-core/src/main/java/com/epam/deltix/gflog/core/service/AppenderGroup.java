@@ -0,0 +1,61 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.core.idle.IdleStrategy;
+
+import java.util.concurrent.ThreadFactory;
+
+
+/**
+ * The appenders processed on a dedicated thread with its own cursor over the log buffer.
+ */
+public final class AppenderGroup {
+
+    private String name;
+    private String appenders;
+    private IdleStrategy idleStrategy;
+    private ThreadFactory threadFactory;
+
+    public AppenderGroup() {
+    }
+
+    public AppenderGroup(final String name, final String... appenders) {
+        this.name = name;
+        this.appenders = String.join(",", appenders);
+    }
+
+    public void setName(final String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @param appenders the comma separated appender names.
+     */
+    public void setAppenders(final String appenders) {
+        this.appenders = appenders;
+    }
+
+    public String getAppenders() {
+        return appenders;
+    }
+
+    public void setIdleStrategy(final IdleStrategy idleStrategy) {
+        this.idleStrategy = idleStrategy;
+    }
+
+    public IdleStrategy getIdleStrategy() {
+        return idleStrategy;
+    }
+
+    public void setThreadFactory(final ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+    }
+
+    public ThreadFactory getThreadFactory() {
+        return threadFactory;
+    }
+
+}
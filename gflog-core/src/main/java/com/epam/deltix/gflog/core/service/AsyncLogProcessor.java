@@ -5,47 +5,74 @@ import com.epam.deltix.gflog.core.appender.Appender;
 import com.epam.deltix.gflog.core.util.Buffer;
 
 
-final class AsyncLogProcessor extends LogProcessor implements LogBuffer.RecordHandler {
+abstract class AsyncLogProcessor extends LogProcessor {
 
-    private final LogBuffer buffer;
-    private final LogRecordDecoder decoder;
+    private final LogShard priority;
+    private final LogCursor priorityCursor;
+    private final LogRecordDecoder priorityDecoder;
+    private final LogBuffer.RecordHandler priorityHandler = this::onPriorityRecord;
 
     private volatile boolean active = true;
 
-    AsyncLogProcessor(final LogBuffer buffer, final LogRecordDecoder decoder, final Appender[] appenders) {
-        super(appenders);
-
-        this.buffer = buffer;
-        this.decoder = decoder;
+    AsyncLogProcessor(final Appender[] appenders, final LogShard priority, final LogRecordDecoder priorityDecoder) {
+        this(appenders, priority, null, priorityDecoder);
     }
 
-    @Override
-    public void close() {
-        buffer.unblock();
-        super.close();
+    AsyncLogProcessor(final Appender[] appenders,
+                      final LogShard priority,
+                      final LogCursor priorityCursor,
+                      final LogRecordDecoder priorityDecoder) {
+        super(appenders);
+
+        this.priority = priority;
+        this.priorityCursor = priorityCursor;
+        this.priorityDecoder = priorityDecoder;
     }
 
     public boolean active() {
-        return active || !buffer.isEmpty();
+        return active || !isEmpty() || (priority != null && !priority.buffer.isEmpty(priorityCursor));
     }
 
     public void deactivate() {
         active = false;
     }
 
+    @Override
+    public void close() {
+        if (priority != null) {
+            if (priorityCursor == null) {
+                priority.buffer.unblock();
+            } else {
+                priority.buffer.detach(priorityCursor);
+            }
+        }
+
+        super.close();
+    }
+
+    /**
+     * Drains the priority lane first if any. The records of one call form a batch.
+     */
     public int work() {
-        int work = buffer.read(this);
+        int work = 0;
+
+        if (priority != null) {
+            work = priority.buffer.read(priorityCursor, priorityHandler);
+        }
 
         if (work == 0) {
-            work = flush();
+            work = doWork();
         }
 
-        return work;
+        return work + endBatch();
     }
 
-    @Override
-    public void onRecord(final Buffer buffer, final int offset, final int length) {
-        final LogRecord record = decoder.decode(buffer, offset, length);
+    abstract int doWork();
+
+    abstract boolean isEmpty();
+
+    private void onPriorityRecord(final Buffer buffer, final int offset, final int length) {
+        final LogRecord record = priorityDecoder.decode(buffer, offset, length, priority.exceptionIndex);
         process(record);
     }
 
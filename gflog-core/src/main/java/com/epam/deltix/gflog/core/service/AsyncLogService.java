@@ -1,14 +1,18 @@
 package com.epam.deltix.gflog.core.service;
 
 import com.epam.deltix.gflog.api.LogDebug;
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.LogInfo;
 import com.epam.deltix.gflog.core.Logger;
 import com.epam.deltix.gflog.core.appender.Appender;
 import com.epam.deltix.gflog.core.clock.Clock;
 import com.epam.deltix.gflog.core.idle.IdleStrategy;
+import com.epam.deltix.gflog.core.idle.WakeupIdleStrategy;
 import com.epam.deltix.gflog.core.metric.Counter;
-import com.epam.deltix.gflog.core.service.LogBuffer.BackpressureCallback;
 import com.epam.deltix.gflog.core.util.Util;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.concurrent.ThreadFactory;
 
 import static com.epam.deltix.gflog.core.util.Util.SIZE_OF_LONG;
@@ -17,12 +21,27 @@ import static com.epam.deltix.gflog.core.util.Util.UNSAFE;
 
 final class AsyncLogService extends LogService {
 
-    private final BackpressureCallback backpressure = this::onBackpressure;
-    private final LogBuffer buffer;
+    private static final int MIN_CLAIMANTS_LIMIT = 64;
+
+    private final Backpressure backpressure;
+    private final boolean entryZeroCopy;
+    private final TemplateIndex templateIndex;
+    private final LogShard shard;
+    private final LogShardRegistry shards;
+    private final LogShard priority;
+    private final int priorityLevel;
+    private final LogBufferFile file;
+    private final Object fragmentLock = new Object();
+    private final ArrayList<LogLocalEntry> claimants = new ArrayList<>();
+    private int claimantsLimit = MIN_CLAIMANTS_LIMIT;
     private final OverflowStrategy strategy;
+    private final long overflowTimeout;
+    private final int reservedLevel;
+    private final double reservedFraction;
+    private OverflowStrategy[] strategies = new OverflowStrategy[256];
     private final Counter failedOffersCounter;
-    private final LogProcessorRunner runner;
-    private final ExceptionIndex exceptionIndex;
+    private final WakeupIdleStrategy[] wakeups;
+    private final LogProcessorRunner[] runners;
 
     AsyncLogService(final Logger[] loggers,
                     final Appender[] appenders,
@@ -31,67 +50,288 @@ final class AsyncLogService extends LogService {
                     final int entryInitialCapacity,
                     final int entryMaxCapacity,
                     final boolean entryUtf8,
-                    final LogBuffer buffer,
-                    final ExceptionIndex exceptionIndex,
+                    final boolean entryExceptional,
+                    final int exceptionCacheCapacity,
+                    final long exceptionCacheWindow,
+                    final boolean entryZeroCopy,
+                    final boolean entryDeferred,
+                    final boolean entryFragmentation,
+                    final LogShard shard,
+                    final LogShardRegistry shards,
+                    final LogShard priority,
+                    final LogLevel priorityLevel,
+                    final LogBufferFile file,
                     final ThreadFactory threadFactory,
                     final IdleStrategy idleStrategy,
+                    final AppenderGroup[] appenderGroups,
                     final OverflowStrategy overflowStrategy,
-                    final Counter failedOffersCounter) {
-        super(loggers, appenders, clock, entryTruncationSuffix, entryInitialCapacity, entryMaxCapacity, entryUtf8, exceptionIndex != null);
+                    final long overflowTimeout,
+                    final LogLevel reservedLevel,
+                    final double reservedFraction,
+                    final BackpressureStrategy backpressureStrategy,
+                    final Counter failedOffersCounter,
+                    final Counter blockedTimeCounter) {
+        super(loggers, appenders, clock, entryTruncationSuffix, entryInitialCapacity, entryMaxCapacity, entryUtf8, entryExceptional);
 
-        final LogLimitedEntry entry = (exceptionIndex == null) ?
-                null : entryUtf8 ?
-                new LogUtf8Entry(entryTruncationSuffix, entryInitialCapacity, entryMaxCapacity) :
-                new LogAsciiEntry(entryTruncationSuffix, entryInitialCapacity, entryMaxCapacity);
+        final TemplateIndex templateIndex = entryDeferred ? new TemplateIndex() : null;
+        final ExceptionIndex exceptionIndex = (shard == null) ? null : shard.exceptionIndex;
+        final LogLimitedEntry recoveryEntry = (file == null) ?
+                null : new LogUtf8Entry(entryTruncationSuffix, entryInitialCapacity, entryMaxCapacity);
+
+        final LogProcessorRunner[] runners = new LogProcessorRunner[appenderGroups.length + 1];
+        final WakeupIdleStrategy[] wakeups = new WakeupIdleStrategy[runners.length];
+        final Appender[] primaryAppenders = appenders.clone();
+
+        this.backpressure = new Backpressure(backpressureStrategy, failedOffersCounter, blockedTimeCounter);
+        final Backpressure signal = backpressure.blocking() ? backpressure : null;
+
+        if (appenderGroups.length > 0) {
+            if (exceptionIndex != null) {
+                exceptionIndex.share();
+            }
+
+            if (priority != null && priority.exceptionIndex != null) {
+                priority.exceptionIndex.share();
+            }
+        }
+
+        for (int i = 0; i < appenderGroups.length; i++) {
+            final AppenderGroup group = appenderGroups[i];
+            final Appender[] groupAppenders = new Appender[appenders.length];
+
+            for (final String name : group.getAppenders().split(",")) {
+                final int index = indexOf(appenders, name.trim());
 
-        final LogRecordDecoder decoder = new LogRecordDecoder(entry, logIndex, exceptionIndex);
-        final AsyncLogProcessor handler = new AsyncLogProcessor(buffer, decoder, appenders);
+                if (index < 0) {
+                    throw new IllegalArgumentException("appender: " + name.trim() + " of group: " + group.getName() + " is not found");
+                }
+
+                if (primaryAppenders[index] == null) {
+                    throw new IllegalArgumentException("appender: " + name.trim() + " is in several groups");
+                }
+
+                groupAppenders[index] = appenders[index];
+                primaryAppenders[index] = null;
+            }
+
+            final LogRecordDecoder decoder = newDecoder(entryTruncationSuffix, entryInitialCapacity, entryMaxCapacity, entryUtf8,
+                    entryExceptional, entryDeferred, exceptionCacheCapacity, exceptionCacheWindow, exceptionIndex, templateIndex);
+            final LogRecordDecoder priorityDecoder = (entryFragmentation && priority != null) ?
+                    newDecoder(entryTruncationSuffix, entryInitialCapacity, entryMaxCapacity, entryUtf8,
+                            entryExceptional, entryDeferred, exceptionCacheCapacity, exceptionCacheWindow, exceptionIndex, templateIndex) :
+                    decoder;
+
+            final LogCursor cursor = shard.buffer.attach();
+            final LogCursor priorityCursor = (priority == null) ? null : priority.buffer.attach();
+            final AsyncLogProcessor processor =
+                    new GroupLogProcessor(shard.buffer, cursor, priority, priorityCursor, decoder, priorityDecoder, groupAppenders);
+            final IdleStrategy groupIdleStrategy = group.getIdleStrategy();
+
+            runners[i + 1] = new LogProcessorRunner(processor, group.getThreadFactory(), groupIdleStrategy, signal, null);
+            wakeups[i + 1] = (groupIdleStrategy instanceof WakeupIdleStrategy) ? (WakeupIdleStrategy) groupIdleStrategy : null;
+        }
+
+        final LogRecordDecoder decoder = newDecoder(entryTruncationSuffix, entryInitialCapacity, entryMaxCapacity, entryUtf8,
+                entryExceptional, entryDeferred, exceptionCacheCapacity, exceptionCacheWindow, exceptionIndex, templateIndex);
+        final LogRecordDecoder priorityDecoder = (entryFragmentation && priority != null) ?
+                newDecoder(entryTruncationSuffix, entryInitialCapacity, entryMaxCapacity, entryUtf8,
+                        entryExceptional, entryDeferred, exceptionCacheCapacity, exceptionCacheWindow, exceptionIndex, templateIndex) :
+                decoder;
+
+        final AsyncLogProcessor processor = (shard == null) ?
+                new ShardedLogProcessor(shards, priority, decoder, primaryAppenders) :
+                new SharedLogProcessor(shard.buffer, priority, decoder, priorityDecoder, primaryAppenders, file, recoveryEntry);
+
+        runners[0] = new LogProcessorRunner(processor, threadFactory, idleStrategy, signal,
+                entryZeroCopy ? this::abortTerminated : null);
+        wakeups[0] = (idleStrategy instanceof WakeupIdleStrategy) ? (WakeupIdleStrategy) idleStrategy : null;
+
+        if (file != null) {
+            threadIndex.listener(file::registerThread);
+        }
 
-        this.buffer = buffer;
+        this.entryZeroCopy = entryZeroCopy;
+        this.templateIndex = templateIndex;
+        this.shard = shard;
+        this.shards = shards;
+        this.priority = priority;
+        this.priorityLevel = (priority == null) ? Integer.MAX_VALUE : priorityLevel.ordinal();
+        this.file = file;
         this.strategy = overflowStrategy;
+        this.overflowTimeout = overflowTimeout;
+        this.reservedLevel = reservedLevel.ordinal();
+        this.reservedFraction = reservedFraction;
         this.failedOffersCounter = failedOffersCounter;
-        this.exceptionIndex = exceptionIndex;
-        this.runner = new LogProcessorRunner(handler, threadFactory, idleStrategy);
+        this.wakeups = compact(wakeups);
+        this.runners = runners;
     }
 
     @Override
     public void open() {
-        runner.open();
+        int index = 0;
+
+        try {
+            for (; index < runners.length; index++) {
+                runners[index].open();
+            }
+        } catch (final Throwable e) {
+            for (int i = index - 1; i >= 0; i--) {
+                runners[i].close();
+            }
+
+            throw e;
+        }
     }
 
+    /**
+     * Closes the groups first, so the primary processor unblocks the buffer last.
+     */
     @Override
     public void close() {
         try {
-            runner.close();
+            for (int i = runners.length - 1; i >= 0; i--) {
+                runners[i].close();
+            }
         } finally {
             logEntry.remove();
+
+            if (file != null) {
+                file.close();
+            }
+        }
+    }
+
+    @Override
+    public LogInfo register(final String logName, final int index) {
+        final LogInfo info = super.register(logName, index);
+        final OverflowStrategy strategy = info.getOverflowStrategy();
+
+        if (strategy != null || index < strategies.length) {
+            OverflowStrategy[] strategies = this.strategies;
+
+            if (index >= strategies.length) {
+                strategies = Arrays.copyOf(strategies, Math.max(index + 1, strategies.length << 1));
+                UNSAFE.storeFence();
+                this.strategies = strategies;
+            }
+
+            strategies[index] = strategy;
+        }
+
+        if (file != null) {
+            file.register(logName, index);
+        }
+
+        return info;
+    }
+
+    @Override
+    LogLocalEntry newLogLocalEntry(final boolean pooled) {
+        final LogLocalEntry entry = new LogLocalEntry(
+                this,
+                Thread.currentThread(),
+                entryTruncationSuffix,
+                entryInitialCapacity,
+                entryMaxCapacity,
+                entryUtf8,
+                entryExceptional,
+                entryZeroCopy,
+                templateIndex,
+                pooled
+        );
+
+        entry.shard((shard == null) ? shards.register(pooled ? null : Thread.currentThread()) : shard);
+
+        if (entryZeroCopy && !pooled) {
+            synchronized (claimants) {
+                if (claimants.size() >= claimantsLimit) {
+                    abortTerminated();
+                    claimantsLimit = Math.max(MIN_CLAIMANTS_LIMIT, claimants.size() << 1);
+                }
+
+                claimants.add(entry);
+            }
+        }
+
+        return entry;
+    }
+
+    /**
+     * Aborts the zero-copy entries left uncommitted by the terminated threads, so the consumers do not stop
+     * at their claims for good. Forgets the entries of the terminated threads.
+     */
+    void abortTerminated() {
+        synchronized (claimants) {
+            claimants.removeIf(LogLocalEntry::abortIfTerminated);
+        }
+    }
+
+    @Override
+    void discard(final LogLocalEntry entry) {
+        if (shard == null) {
+            entry.shard().retire();
+        }
+    }
+
+    @Override
+    void reserve(final LogLocalEntry entry) {
+        final LogShard shard = shard(entry);
+        final LogBuffer buffer = shard.buffer;
+        final ExceptionIndex exceptionIndex = shard.exceptionIndex;
+
+        final int min = (exceptionIndex == null) ? 0 : exceptionIndex.segment();
+        final int required = Util.align(Math.max(entry.maxLength(), min), SIZE_OF_LONG);
+        final int reserved = reserved(entry, buffer);
+        final int offset = (strategy(entry) == OverflowStrategy.WAIT && overflowTimeout <= 0 && reserved == 0) ?
+                buffer.claim(required, backpressure) :
+                buffer.tryClaim(required, reserved);
+
+        if (offset < 0) {
+            return; // formats into the entry and tries to claim again on commit
+        }
+
+        entry.wrap(buffer, offset, required);
+    }
+
+    @Override
+    void abort(final LogLocalEntry entry) {
+        try {
+            release(shard(entry).buffer, entry, 0);
+        } finally {
+            entry.unwrap();
         }
     }
 
     @Override
     public void commit(final LogLocalEntry entry) {
+        if (entry.claimed()) {
+            commitClaimed(entry);
+            return;
+        }
+
+        final LogShard shard = shard(entry);
+        final LogBuffer buffer = shard.buffer;
         final int required = entry.length();
-        final int offset;
 
-        if (strategy == OverflowStrategy.WAIT) {
-            offset = buffer.claim(required, backpressure);
-        } else {
-            offset = buffer.tryClaim(required);
+        if (required > buffer.maxRecordLength()) {
+            commitFragmented(entry, shard, required, required, null, 0);
+            return;
+        }
 
-            if (offset < 0) {
-                failedOffersCounter.increment();
-                return;
-            }
+        final int offset = claim(entry, buffer, required);
+
+        if (offset < 0) {
+            return;
         }
 
         try {
             final long timestamp = clock.nanoTime();
-            final long address = buffer.dataAddress() + offset;
 
             entry.onCommit(timestamp);
-            entry.copyTo(address);
+            entry.copyTo(buffer.array(), buffer.dataAddress() + offset);
 
             buffer.commit(offset, required);
+            wakeup();
         } catch (final Throwable e) {
             LogDebug.warn("error committing log entry to log buffer", e);
             buffer.abort(offset, required);
@@ -100,52 +340,325 @@ final class AsyncLogService extends LogService {
 
     @Override
     void commit(final LogLocalEntry entry, final Throwable exception, final int exceptionPosition) {
+        final LogShard shard = shard(entry);
+        final LogBuffer buffer = shard.buffer;
+        final ExceptionIndex exceptionIndex = shard.exceptionIndex;
+
         final int length = entry.length();
         final int min = exceptionIndex.segment();
         final int max = Math.max(length + SIZE_OF_LONG, min);
 
         final int required = Util.align(max, SIZE_OF_LONG);
-        final int offset;
 
-        if (strategy == OverflowStrategy.WAIT) {
-            offset = buffer.claim(required, backpressure);
-        } else {
-            offset = buffer.tryClaim(required);
+        if (entry.claimed()) {
+            commitClaimed(entry, exception, exceptionPosition, length, required);
+            return;
+        }
 
-            if (offset < 0) {
-                failedOffersCounter.increment();
-                return;
-            }
+        if (required > buffer.maxRecordLength()) {
+            commitFragmented(entry, shard, length, required, exception, exceptionPosition);
+            return;
+        }
+
+        final int offset = claim(entry, buffer, required);
+
+        if (offset < 0) {
+            return;
         }
 
         try {
             final long timestamp = clock.nanoTime();
-            final long address = buffer.dataAddress() + offset;
 
             entry.onCommit(timestamp);
-            entry.copyTo(address);
-
-            final byte logLevel = UNSAFE.getByte(address + LogRecordEncoder.LOG_LEVEL_OFFSET);
-            UNSAFE.putByte(address + LogRecordEncoder.LOG_LEVEL_OFFSET, (byte) ~logLevel);
-
-            UNSAFE.putInt(address + required - LogRecordEncoder.EXCEPTION_POSITION_OFFSET, exceptionPosition);
-            UNSAFE.putInt(address + required - LogRecordEncoder.EXCEPTION_REAL_LENGTH_OFFSET, length);
+            entry.copyTo(buffer.array(), buffer.dataAddress() + offset);
 
+            encodeException(buffer, offset, required, length, exceptionPosition);
             exceptionIndex.put(offset, exception);
             buffer.commit(offset, required);
+            wakeup();
         } catch (final Throwable e) {
             LogDebug.warn("error committing log entry to log buffer", e);
             buffer.abort(offset, required);
         }
     }
 
-    private void onBackpressure() {
+    private void commitClaimed(final LogLocalEntry entry) {
+        final LogBuffer buffer = shard(entry).buffer;
+        final int offset = entry.claimOffset();
+        final int length = entry.length();
+
+        boolean released = false;
+
+        try {
+            final long timestamp = clock.nanoTime();
+
+            entry.onCommit(timestamp);
+            release(buffer, entry, length);
+            released = true;
+
+            buffer.commit(offset, length);
+            wakeup();
+        } catch (final Throwable e) {
+            LogDebug.warn("error committing log entry to log buffer", e);
+
+            if (released) {
+                buffer.abort(offset, length);
+            } else {
+                release(buffer, entry, 0);
+            }
+        } finally {
+            entry.unwrap();
+        }
+    }
+
+    private void commitClaimed(final LogLocalEntry entry,
+                               final Throwable exception,
+                               final int exceptionPosition,
+                               final int length,
+                               final int required) {
+
+        final LogShard shard = shard(entry);
+        final LogBuffer buffer = shard.buffer;
+        final int offset = entry.claimOffset();
+
+        boolean released = false;
+
         try {
-            failedOffersCounter.increment();
-            Thread.yield();
+            final long timestamp = clock.nanoTime();
+
+            entry.onCommit(timestamp);
+            release(buffer, entry, required);
+            released = true;
+
+            encodeException(buffer, offset, required, length, exceptionPosition);
+            shard.exceptionIndex.put(offset, exception);
+            buffer.commit(offset, required);
+            wakeup();
         } catch (final Throwable e) {
-            LogDebug.warn("error on backpressure callback", e);
+            LogDebug.warn("error committing log entry to log buffer", e);
+
+            if (released) {
+                buffer.abort(offset, required);
+            } else {
+                release(buffer, entry, 0);
+            }
+        } finally {
+            entry.unwrap();
+        }
+    }
+
+    /**
+     * Splits the record into the fragments reassembled by the decoder. The chains are serialized to not interleave.
+     */
+    private void commitFragmented(final LogLocalEntry entry,
+                                  final LogShard shard,
+                                  final int length,
+                                  final int required,
+                                  final Throwable exception,
+                                  final int exceptionPosition) {
+
+        final LogBuffer buffer = shard.buffer;
+        final int chunk = (buffer.maxRecordLength() - LogRecordEncoder.FRAGMENT_HEADER_SIZE) & -SIZE_OF_LONG;
+        final int copyable = Util.align(length, SIZE_OF_LONG);
+        final int min = (required == length) ? 0 : shard.exceptionIndex.segment();
+
+        entry.onCommit(clock.nanoTime());
+
+        synchronized (fragmentLock) {
+            for (int position = 0; position < required; position += chunk) {
+                final int size = Math.min(chunk, required - position);
+                final int last = (position + size == required) ? min : 0; // spans the exception index segment
+                final int fragment = Util.align(Math.max(LogRecordEncoder.FRAGMENT_HEADER_SIZE + size, last), SIZE_OF_LONG);
+                final int offset = claim(entry, buffer, fragment);
+
+                if (offset < 0) {
+                    return;
+                }
+
+                try {
+                    final byte[] array = buffer.array();
+                    final long address = buffer.dataAddress() + offset;
+                    final long data = address + LogRecordEncoder.FRAGMENT_HEADER_SIZE;
+
+                    UNSAFE.putInt(array, address + LogRecordEncoder.FRAGMENT_RECORD_LENGTH_OFFSET, required);
+                    UNSAFE.putInt(array, address + LogRecordEncoder.FRAGMENT_POSITION_OFFSET, position);
+                    UNSAFE.putByte(array, address + LogRecordEncoder.LOG_LEVEL_OFFSET, LogRecordEncoder.FRAGMENT_LEVEL);
+
+                    entry.copyTo(position, array, data, Math.max(Math.min(size, copyable - position), 0));
+
+                    if (required != length) {
+                        if (position == 0) {
+                            final byte logLevel = UNSAFE.getByte(array, data + LogRecordEncoder.LOG_LEVEL_OFFSET);
+                            UNSAFE.putByte(array, data + LogRecordEncoder.LOG_LEVEL_OFFSET, (byte) ~logLevel);
+                        }
+
+                        if (position + size == required) { // the first fragment space can be reused before the chain completes
+                            shard.exceptionIndex.put(offset, exception);
+                            UNSAFE.putInt(array, data + size - LogRecordEncoder.EXCEPTION_POSITION_OFFSET, exceptionPosition);
+                            UNSAFE.putInt(array, data + size - LogRecordEncoder.EXCEPTION_REAL_LENGTH_OFFSET, length);
+                        }
+                    }
+
+                    buffer.commit(offset, fragment);
+                    wakeup();
+                } catch (final Throwable e) {
+                    LogDebug.warn("error committing log entry to log buffer", e);
+                    buffer.abort(offset, fragment);
+                    return;
+                }
+            }
         }
     }
 
+    private int claim(final LogLocalEntry entry, final LogBuffer buffer, final int required) {
+        final OverflowStrategy strategy = strategy(entry);
+        final int reserved = reserved(entry, buffer);
+
+        if (strategy == OverflowStrategy.WAIT && overflowTimeout <= 0 && reserved == 0) {
+            return buffer.claim(required, backpressure);
+        }
+
+        int offset = buffer.tryClaim(required, reserved);
+
+        if (offset < 0) {
+            if (strategy == OverflowStrategy.WAIT) {
+                // waits without a timeout too if the reserve applies, so the waiting records do not take it
+                offset = claim(buffer, required, reserved, (overflowTimeout <= 0) ? Long.MAX_VALUE : overflowTimeout);
+            } else {
+                failedOffersCounter.increment();
+            }
+        }
+
+        return offset;
+    }
+
+    private int claim(final LogBuffer buffer, final int required, final int reserved, final long timeout) {
+        final long start = System.nanoTime();
+        int attempt = 0;
+        int offset;
+        long elapsed;
+
+        do {
+            backpressure.onBackpressure(attempt++);
+            offset = buffer.tryClaim(required, reserved);
+            elapsed = System.nanoTime() - start;
+        } while (offset < 0 && elapsed < timeout);
+
+        backpressure.onRelief(elapsed);
+        return offset;
+    }
+
+    private LogShard shard(final LogLocalEntry entry) {
+        return (entry.logLevel() >= priorityLevel) ? priority : entry.shard();
+    }
+
+    private OverflowStrategy strategy(final LogLocalEntry entry) {
+        final OverflowStrategy[] strategies = this.strategies;
+        final int index = entry.logName();
+
+        final OverflowStrategy strategy = (index < strategies.length) ? strategies[index] : null;
+        return (strategy == null) ? this.strategy : strategy;
+    }
+
+    private int reserved(final LogLocalEntry entry, final LogBuffer buffer) {
+        return (entry.logLevel() < reservedLevel) ? (int) (buffer.capacity() * reservedFraction) : 0;
+    }
+
+    private static void release(final LogBuffer buffer, final LogLocalEntry entry, final int length) {
+        final int offset = entry.claimOffset();
+        final int required = Util.align(length, SIZE_OF_LONG);
+        final int dirty = Util.align(entry.claimDirty(), SIZE_OF_LONG);
+
+        if (dirty > required && !buffer.stamped()) {
+            buffer.clear(offset + required, dirty - required);
+        }
+
+        buffer.shrink(offset, required, entry.claimLength());
+    }
+
+    private static void encodeException(final LogBuffer buffer,
+                                        final int offset,
+                                        final int required,
+                                        final int length,
+                                        final int exceptionPosition) {
+
+        final byte[] array = buffer.array();
+        final long address = buffer.dataAddress() + offset;
+
+        final byte logLevel = UNSAFE.getByte(array, address + LogRecordEncoder.LOG_LEVEL_OFFSET);
+        UNSAFE.putByte(array, address + LogRecordEncoder.LOG_LEVEL_OFFSET, (byte) ~logLevel);
+
+        UNSAFE.putInt(array, address + required - LogRecordEncoder.EXCEPTION_POSITION_OFFSET, exceptionPosition);
+        UNSAFE.putInt(array, address + required - LogRecordEncoder.EXCEPTION_REAL_LENGTH_OFFSET, length);
+    }
+
+    private void wakeup() {
+        for (final WakeupIdleStrategy wakeup : wakeups) {
+            wakeup.signal();
+        }
+    }
+
+    private static WakeupIdleStrategy[] compact(final WakeupIdleStrategy[] wakeups) {
+        int count = 0;
+
+        for (final WakeupIdleStrategy wakeup : wakeups) {
+            if (wakeup != null) {
+                wakeups[count++] = wakeup;
+            }
+        }
+
+        return Arrays.copyOf(wakeups, count);
+    }
+
+    private static int indexOf(final Appender[] appenders, final String name) {
+        for (int i = 0; i < appenders.length; i++) {
+            if (appenders[i].getName().equals(name)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private LogRecordDecoder newDecoder(final String entryTruncationSuffix,
+                                        final int entryInitialCapacity,
+                                        final int entryMaxCapacity,
+                                        final boolean entryUtf8,
+                                        final boolean entryExceptional,
+                                        final boolean entryDeferred,
+                                        final int exceptionCacheCapacity,
+                                        final long exceptionCacheWindow,
+                                        final ExceptionIndex exceptionIndex,
+                                        final TemplateIndex templateIndex) {
+
+        final LogLimitedEntry entry = decoderEntry(entryTruncationSuffix, entryInitialCapacity, entryMaxCapacity, entryUtf8,
+                entryExceptional, entryDeferred, exceptionCacheCapacity, exceptionCacheWindow);
+
+        return new LogRecordDecoder(entry, logIndex, threadIndex.names(), exceptionIndex, templateIndex);
+    }
+
+    private static LogLimitedEntry decoderEntry(final String entryTruncationSuffix,
+                                                final int entryInitialCapacity,
+                                                final int entryMaxCapacity,
+                                                final boolean entryUtf8,
+                                                final boolean entryExceptional,
+                                                final boolean entryDeferred,
+                                                final int exceptionCacheCapacity,
+                                                final long exceptionCacheWindow) {
+
+        if (!entryExceptional && !entryDeferred) {
+            return null;
+        }
+
+        final LogLimitedEntry entry = entryUtf8 ?
+                new LogUtf8Entry(entryTruncationSuffix, entryInitialCapacity, entryMaxCapacity) :
+                new LogAsciiEntry(entryTruncationSuffix, entryInitialCapacity, entryMaxCapacity);
+
+        if (entryExceptional && exceptionCacheCapacity > 0) {
+            entry.exceptionCache = new ExceptionCache(exceptionCacheCapacity, exceptionCacheWindow);
+        }
+
+        return entry;
+    }
+
 }
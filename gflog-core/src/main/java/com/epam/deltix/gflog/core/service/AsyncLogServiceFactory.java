@@ -1,5 +1,6 @@
 package com.epam.deltix.gflog.core.service;
 
+import com.epam.deltix.gflog.api.LogLevel;
 import com.epam.deltix.gflog.core.Logger;
 import com.epam.deltix.gflog.core.appender.Appender;
 import com.epam.deltix.gflog.core.clock.Clock;
@@ -9,24 +10,69 @@ import com.epam.deltix.gflog.core.metric.Counter;
 import com.epam.deltix.gflog.core.metric.NoOpCounter;
 import com.epam.deltix.gflog.core.util.Util;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 import java.util.concurrent.ThreadFactory;
 
+import static com.epam.deltix.gflog.core.util.PropertyUtil.getBoolean;
+import static com.epam.deltix.gflog.core.util.PropertyUtil.getDouble;
+import static com.epam.deltix.gflog.core.util.PropertyUtil.getDuration;
+import static com.epam.deltix.gflog.core.util.PropertyUtil.getInteger;
 import static com.epam.deltix.gflog.core.util.PropertyUtil.getMemory;
+import static com.epam.deltix.gflog.core.util.PropertyUtil.getString;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 
 public final class AsyncLogServiceFactory extends LogServiceFactory {
 
     protected static final int BUFFER_DEFAULT_CAPACITY = getMemory("gflog.log.buffer.capacity", 8 * 1024 * 1024);
     protected static final int EXCEPTION_INDEX_DEFAULT_CAPACITY = getMemory("gflog.exception.index.capacity", 4 * 1024);
+    protected static final int EXCEPTION_CACHE_DEFAULT_CAPACITY = getInteger("gflog.exception.cache.capacity", 256);
+    protected static final long EXCEPTION_CACHE_DEFAULT_WINDOW = getDuration("gflog.exception.cache.window", NANOSECONDS, 0);
+    protected static final boolean BUFFER_DEFAULT_SHARDING = getBoolean("gflog.log.buffer.sharding", false);
+    protected static final int SHARD_DEFAULT_CAPACITY = getMemory("gflog.log.shard.capacity", 1024 * 1024);
+    protected static final String BUFFER_DEFAULT_FILE = getString("gflog.log.buffer.file", null);
+    protected static final boolean BUFFER_DEFAULT_STAMPED = getBoolean("gflog.log.buffer.stamped", false);
+    protected static final boolean ENTRY_DEFAULT_ZERO_COPY = getBoolean("gflog.entry.zero.copy", false);
+    protected static final boolean ENTRY_DEFAULT_DEFERRED = getBoolean("gflog.entry.deferred", false);
+    protected static final boolean ENTRY_DEFAULT_FRAGMENTATION = getBoolean("gflog.entry.fragmentation", false);
+    protected static final long OVERFLOW_DEFAULT_TIMEOUT = getDuration("gflog.overflow.timeout", NANOSECONDS, 0);
+    protected static final String PRIORITY_DEFAULT_LEVEL = getString("gflog.buffer.priority.level", null);
+    protected static final int PRIORITY_DEFAULT_CAPACITY = getMemory("gflog.buffer.priority.capacity", 256 * 1024);
+    protected static final String RESERVED_DEFAULT_LEVEL = getString("gflog.buffer.reserved.level", LogLevel.WARN.name());
+    protected static final double RESERVED_DEFAULT_FRACTION = getDouble("gflog.buffer.reserved.fraction", 0);
 
     protected ThreadFactory threadFactory;
     protected IdleStrategy idleStrategy;
     protected OverflowStrategy overflowStrategy;
+    protected long overflowTimeout = OVERFLOW_DEFAULT_TIMEOUT;
+    protected BackpressureStrategy backpressureStrategy;
+    protected LogLevel reservedLevel;
+    protected LogLevel priorityLevel = (PRIORITY_DEFAULT_LEVEL == null) ? null : LogLevel.valueOf(PRIORITY_DEFAULT_LEVEL);
+    protected int priorityCapacity = PRIORITY_DEFAULT_CAPACITY;
+    protected double reservedFraction = RESERVED_DEFAULT_FRACTION;
 
     protected int bufferCapacity = BUFFER_DEFAULT_CAPACITY;
     protected int exceptionIndexCapacity = EXCEPTION_INDEX_DEFAULT_CAPACITY;
+    protected int exceptionCacheCapacity = EXCEPTION_CACHE_DEFAULT_CAPACITY;
+    protected long exceptionCacheWindow = EXCEPTION_CACHE_DEFAULT_WINDOW;
+
+    protected boolean bufferSharding = BUFFER_DEFAULT_SHARDING;
+    protected int shardCapacity = SHARD_DEFAULT_CAPACITY;
+
+    protected String bufferFile = BUFFER_DEFAULT_FILE;
+    protected boolean bufferStamped = BUFFER_DEFAULT_STAMPED;
+
+    protected boolean entryZeroCopy = ENTRY_DEFAULT_ZERO_COPY;
+    protected boolean entryDeferred = ENTRY_DEFAULT_DEFERRED;
+    protected boolean entryFragmentation = ENTRY_DEFAULT_FRAGMENTATION;
 
     protected Counter failedOffersCounter;
+    protected Counter blockedTimeCounter;
+
+    protected final ArrayList<AppenderGroup> appenderGroups = new ArrayList<>();
 
     public void setThreadFactory(final ThreadFactory threadFactory) {
         this.threadFactory = threadFactory;
@@ -52,6 +98,54 @@ public final class AsyncLogServiceFactory extends LogServiceFactory {
         return overflowStrategy;
     }
 
+    public void setOverflowTimeout(final Duration overflowTimeout) {
+        this.overflowTimeout = overflowTimeout.toNanos();
+    }
+
+    public Duration getOverflowTimeout() {
+        return Duration.ofNanos(overflowTimeout);
+    }
+
+    public void setBackpressureStrategy(final BackpressureStrategy backpressureStrategy) {
+        this.backpressureStrategy = backpressureStrategy;
+    }
+
+    public BackpressureStrategy getBackpressureStrategy() {
+        return backpressureStrategy;
+    }
+
+    public void setPriorityLevel(final LogLevel priorityLevel) {
+        this.priorityLevel = priorityLevel;
+    }
+
+    public LogLevel getPriorityLevel() {
+        return priorityLevel;
+    }
+
+    public void setPriorityCapacity(final int priorityCapacity) {
+        this.priorityCapacity = priorityCapacity;
+    }
+
+    public int getPriorityCapacity() {
+        return priorityCapacity;
+    }
+
+    public void setReservedLevel(final LogLevel reservedLevel) {
+        this.reservedLevel = reservedLevel;
+    }
+
+    public LogLevel getReservedLevel() {
+        return reservedLevel;
+    }
+
+    public void setReservedFraction(final double reservedFraction) {
+        this.reservedFraction = reservedFraction;
+    }
+
+    public double getReservedFraction() {
+        return reservedFraction;
+    }
+
     public void setBufferCapacity(final int bufferCapacity) {
         this.bufferCapacity = bufferCapacity;
     }
@@ -60,6 +154,86 @@ public final class AsyncLogServiceFactory extends LogServiceFactory {
         return bufferCapacity;
     }
 
+    public void setExceptionCacheCapacity(final int exceptionCacheCapacity) {
+        this.exceptionCacheCapacity = exceptionCacheCapacity;
+    }
+
+    public int getExceptionCacheCapacity() {
+        return exceptionCacheCapacity;
+    }
+
+    public void setExceptionCacheWindow(final Duration exceptionCacheWindow) {
+        this.exceptionCacheWindow = exceptionCacheWindow.toNanos();
+    }
+
+    public Duration getExceptionCacheWindow() {
+        return Duration.ofNanos(exceptionCacheWindow);
+    }
+
+    public void setBufferSharding(final boolean bufferSharding) {
+        this.bufferSharding = bufferSharding;
+    }
+
+    public boolean getBufferSharding() {
+        return bufferSharding;
+    }
+
+    public void setShardCapacity(final int shardCapacity) {
+        this.shardCapacity = shardCapacity;
+    }
+
+    public int getShardCapacity() {
+        return shardCapacity;
+    }
+
+    public void setBufferFile(final String bufferFile) {
+        this.bufferFile = bufferFile;
+    }
+
+    public String getBufferFile() {
+        return bufferFile;
+    }
+
+    public void setBufferStamped(final boolean bufferStamped) {
+        this.bufferStamped = bufferStamped;
+    }
+
+    public boolean getBufferStamped() {
+        return bufferStamped;
+    }
+
+    /**
+     * Formats the messages right into the claimed buffer space. An entry claimed but not committed holds
+     * the consumer until its thread claims the next entry, which commits it, or until the thread terminates,
+     * which aborts it. So always commit or abort the claimed entries, even if the message arguments throw.
+     */
+    public void setEntryZeroCopy(final boolean entryZeroCopy) {
+        this.entryZeroCopy = entryZeroCopy;
+    }
+
+    public boolean getEntryZeroCopy() {
+        return entryZeroCopy;
+    }
+
+    public void setEntryDeferred(final boolean entryDeferred) {
+        this.entryDeferred = entryDeferred;
+    }
+
+    public boolean getEntryDeferred() {
+        return entryDeferred;
+    }
+
+    /**
+     * Splits the entries exceeding the max record length of the log buffer into fragments instead of truncating them.
+     */
+    public void setEntryFragmentation(final boolean entryFragmentation) {
+        this.entryFragmentation = entryFragmentation;
+    }
+
+    public boolean getEntryFragmentation() {
+        return entryFragmentation;
+    }
+
     public void setFailedOffersCounter(final Counter failedOffersCounter) {
         this.failedOffersCounter = failedOffersCounter;
     }
@@ -68,6 +242,29 @@ public final class AsyncLogServiceFactory extends LogServiceFactory {
         return failedOffersCounter;
     }
 
+    public void setBlockedTimeCounter(final Counter blockedTimeCounter) {
+        this.blockedTimeCounter = blockedTimeCounter;
+    }
+
+    public Counter getBlockedTimeCounter() {
+        return blockedTimeCounter;
+    }
+
+    /**
+     * Moves the appenders of the group to a dedicated thread. The log buffer is released when all the groups have read it.
+     */
+    public void addAppenderGroup(final AppenderGroup group) {
+        appenderGroups.add(group);
+    }
+
+    public void removeAppenderGroup(final AppenderGroup group) {
+        appenderGroups.remove(group);
+    }
+
+    public List<AppenderGroup> getAppenderGroups() {
+        return appenderGroups;
+    }
+
     @Override
     protected void conclude() {
         super.conclude();
@@ -84,6 +281,22 @@ public final class AsyncLogServiceFactory extends LogServiceFactory {
             overflowStrategy = OverflowStrategy.WAIT;
         }
 
+        if (overflowTimeout < 0) {
+            overflowTimeout = 0;
+        }
+
+        if (backpressureStrategy == null) {
+            backpressureStrategy = BackpressureStrategy.YIELD;
+        }
+
+        if (reservedLevel == null) {
+            reservedLevel = LogLevel.valueOf(RESERVED_DEFAULT_LEVEL);
+        }
+
+        if (!(reservedFraction >= 0 && reservedFraction < 1)) {
+            throw new IllegalArgumentException("reserved fraction: " + reservedFraction + " is not in [0, 1)");
+        }
+
         if (bufferCapacity <= LogBuffer.MIN_CAPACITY) {
             bufferCapacity = LogBuffer.MIN_CAPACITY;
         }
@@ -94,8 +307,57 @@ public final class AsyncLogServiceFactory extends LogServiceFactory {
 
         bufferCapacity = Util.nextPowerOfTwo(bufferCapacity);
 
+        if (bufferSharding && bufferFile != null) {
+            throw new IllegalArgumentException("buffer file is not supported with buffer sharding");
+        }
+
+        if (bufferStamped && bufferFile != null) {
+            throw new IllegalArgumentException("buffer file is not supported with stamped buffer");
+        }
+
+        if (entryZeroCopy && bufferFile != null) {
+            throw new IllegalArgumentException("buffer file is not supported with entry zero copy");
+        }
+
+        if (entryDeferred && bufferFile != null) {
+            throw new IllegalArgumentException("buffer file is not supported with deferred entry formatting");
+        }
+
+        if (priorityLevel != null && bufferFile != null) {
+            throw new IllegalArgumentException("buffer file is not supported with priority lane");
+        }
+
+        if (entryFragmentation && bufferSharding) {
+            throw new IllegalArgumentException("entry fragmentation is not supported with buffer sharding");
+        }
+
+        if (entryFragmentation && entryZeroCopy) {
+            throw new IllegalArgumentException("entry fragmentation is not supported with entry zero copy");
+        }
+
+        if (priorityCapacity <= LogBuffer.MIN_CAPACITY) {
+            priorityCapacity = LogBuffer.MIN_CAPACITY;
+        }
+
+        if (priorityCapacity >= LogBuffer.MAX_CAPACITY) {
+            priorityCapacity = LogBuffer.MAX_CAPACITY;
+        }
+
+        priorityCapacity = Util.nextPowerOfTwo(priorityCapacity);
+
+        if (shardCapacity <= LogBuffer.MIN_CAPACITY) {
+            shardCapacity = LogBuffer.MIN_CAPACITY;
+        }
+
+        if (shardCapacity >= LogBuffer.MAX_CAPACITY) {
+            shardCapacity = LogBuffer.MAX_CAPACITY;
+        }
+
+        shardCapacity = Util.nextPowerOfTwo(shardCapacity);
+
         if (exceptionIndexCapacity > 0) {
-            final int maxCapacity = bufferCapacity / ExceptionIndex.MIN_SEGMENT;
+            final int capacity = bufferSharding ? shardCapacity : bufferCapacity;
+            final int maxCapacity = capacity / ExceptionIndex.MIN_SEGMENT;
             final int minCapacity = ExceptionIndex.MIN_CAPACITY;
 
             if (exceptionIndexCapacity < minCapacity) {
@@ -109,9 +371,25 @@ public final class AsyncLogServiceFactory extends LogServiceFactory {
             exceptionIndexCapacity = Util.nextPowerOfTwo(exceptionIndexCapacity);
         }
 
+        if (exceptionCacheCapacity < 0) {
+            exceptionCacheCapacity = 0;
+        }
+
+        if (exceptionCacheWindow < 0) {
+            exceptionCacheWindow = 0;
+        }
+
+        if (!appenderGroups.isEmpty()) {
+            concludeAppenderGroups();
+        }
+
         if (failedOffersCounter == null) {
             failedOffersCounter = NoOpCounter.INSTANCE;
         }
+
+        if (blockedTimeCounter == null) {
+            blockedTimeCounter = NoOpCounter.INSTANCE;
+        }
     }
 
     @Override
@@ -123,13 +401,48 @@ public final class AsyncLogServiceFactory extends LogServiceFactory {
                                        final int entryMaxCapacity,
                                        final boolean entryUtf8) {
 
-        final LogBuffer buffer = new LogBuffer(bufferCapacity);
-        final ExceptionIndex index = (exceptionIndexCapacity > 0) ?
-                new ExceptionIndex(exceptionIndexCapacity, bufferCapacity) :
-                null;
+        final int capacity = bufferSharding ? shardCapacity : bufferCapacity;
+        final int maxRecordLength = LogBuffer.maxRecordLength((priorityLevel == null) ? capacity : Math.min(capacity, priorityCapacity)) -
+                (bufferStamped ? LogBuffer.FRAME_LENGTH : 0);
+
+        final LogShard shard;
+        final LogShardRegistry shards;
+        final LogBufferFile file;
+
+        if (bufferSharding) {
+            shard = null;
+            shards = new LogShardRegistry(shardCapacity, exceptionIndexCapacity, entryZeroCopy, bufferStamped);
+            file = null;
+        } else {
+            file = (bufferFile == null) ? null : openBufferFile();
+
+            final LogBuffer buffer = (file == null) ? new LogBuffer(bufferCapacity, false, entryZeroCopy, bufferStamped) : file.buffer();
+            final ExceptionIndex index = (exceptionIndexCapacity > 0) ?
+                    new ExceptionIndex(exceptionIndexCapacity, bufferCapacity) :
+                    null;
+
+            shard = new LogShard(buffer, index, null);
+            shards = null;
+        }
+
+        final LogShard priority;
+
+        if (priorityLevel == null) {
+            priority = null;
+        } else {
+            final LogBuffer buffer = new LogBuffer(priorityCapacity, false, entryZeroCopy, bufferStamped);
+            final ExceptionIndex index = (exceptionIndexCapacity > 0) ?
+                    new ExceptionIndex(Math.min(exceptionIndexCapacity, priorityCapacity / ExceptionIndex.MIN_SEGMENT), priorityCapacity) :
+                    null;
+
+            priority = new LogShard(buffer, index, null);
+        }
 
-        final int messageMaxCapacity = buffer.maxRecordLength() - LogRecordEncoder.MIN_SIZE - entryTruncationSuffix.length();
-        final int effectiveEntryMaxCapacity = Math.min(entryMaxCapacity, messageMaxCapacity);
+        final int messageMaxCapacity = entryZeroCopy ?
+                maxRecordLength - LogRecordEncoder.MIN_SIZE - LogLimitedEntry.MAX_DIFFERENCE_BETWEEN_LIMIT_AND_CAPACITY - Util.SIZE_OF_LONG :
+                maxRecordLength - LogRecordEncoder.MIN_SIZE - Math.max(entryTruncationSuffix.length(), LogRecordEncoder.ARGUMENT_TYPE_SIZE);
+
+        final int effectiveEntryMaxCapacity = entryFragmentation ? entryMaxCapacity : Math.min(entryMaxCapacity, messageMaxCapacity);
         final int effectiveEntryInitialCapacity = Math.min(entryInitialCapacity, effectiveEntryMaxCapacity);
 
         return new AsyncLogService(
@@ -140,13 +453,72 @@ public final class AsyncLogServiceFactory extends LogServiceFactory {
                 effectiveEntryInitialCapacity,
                 effectiveEntryMaxCapacity,
                 entryUtf8,
-                buffer,
-                index,
+                exceptionIndexCapacity > 0,
+                exceptionCacheCapacity,
+                exceptionCacheWindow,
+                entryZeroCopy,
+                entryDeferred,
+                entryFragmentation,
+                shard,
+                shards,
+                priority,
+                priorityLevel,
+                file,
                 threadFactory,
                 idleStrategy,
+                appenderGroups.toArray(new AppenderGroup[0]),
                 overflowStrategy,
-                failedOffersCounter
+                overflowTimeout,
+                reservedLevel,
+                reservedFraction,
+                backpressureStrategy,
+                failedOffersCounter,
+                blockedTimeCounter
         );
     }
 
+    private void concludeAppenderGroups() {
+        if (bufferSharding) {
+            throw new IllegalArgumentException("appender groups are not supported with buffer sharding");
+        }
+
+        if (bufferFile != null) {
+            throw new IllegalArgumentException("buffer file is not supported with appender groups");
+        }
+
+        final HashSet<String> names = new HashSet<>();
+
+        for (final AppenderGroup group : appenderGroups) {
+            final String name = group.getName();
+
+            if (name == null || name.isEmpty()) {
+                throw new IllegalArgumentException("appender group name is empty");
+            }
+
+            if (!names.add(name)) {
+                throw new IllegalArgumentException("appender group: " + name + " is duplicated");
+            }
+
+            if (group.getAppenders() == null || group.getAppenders().trim().isEmpty()) {
+                throw new IllegalArgumentException("appender group: " + name + " has no appenders");
+            }
+
+            if (group.getIdleStrategy() == null) {
+                group.setIdleStrategy(new IdleStrategyFactory().create());
+            }
+
+            if (group.getThreadFactory() == null) {
+                group.setThreadFactory(r -> new Thread(r, "gflog-" + name));
+            }
+        }
+    }
+
+    private LogBufferFile openBufferFile() {
+        try {
+            return LogBufferFile.open(bufferFile, bufferCapacity);
+        } catch (final Throwable e) {
+            throw new IllegalArgumentException("can't open buffer file: " + bufferFile, e);
+        }
+    }
+
 }
@@ -0,0 +1,128 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.api.LogDebug;
+import com.epam.deltix.gflog.core.metric.Counter;
+import com.epam.deltix.gflog.core.util.Util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+
+final class Backpressure implements LogBuffer.BackpressureCallback {
+
+    private static final int MAX_SPINS = 1024;
+    private static final int MAX_PARK_SHIFT = 10;
+    private static final long MIN_PARK_PERIOD = 1000;
+    private static final long BLOCK_PERIOD = 1; // ms
+
+    private final Object lock = new Object();
+    private final BackpressureStrategy strategy;
+    private final Counter failedOffersCounter;
+    private final Counter blockedTimeCounter;
+
+    private volatile int waiters;
+
+    Backpressure(final BackpressureStrategy strategy,
+                 final Counter failedOffersCounter,
+                 final Counter blockedTimeCounter) {
+
+        this.strategy = strategy;
+        this.failedOffersCounter = failedOffersCounter;
+        this.blockedTimeCounter = blockedTimeCounter;
+    }
+
+    boolean blocking() {
+        return strategy == BackpressureStrategy.BLOCK;
+    }
+
+    @Override
+    public void onBackpressure(final int attempt) {
+        try {
+            failedOffersCounter.increment();
+
+            switch (strategy) {
+                case YIELD:
+                    Thread.yield();
+                    break;
+
+                case SPIN:
+                    if (attempt < MAX_SPINS) {
+                        Util.onSpinWait();
+                    } else {
+                        Thread.yield();
+                    }
+
+                    break;
+
+                case PARK:
+                    park(MIN_PARK_PERIOD << Math.min(attempt, MAX_PARK_SHIFT));
+                    break;
+
+                case BLOCK:
+                    if (Thread.currentThread().isInterrupted()) {
+                        park(TimeUnit.MILLISECONDS.toNanos(BLOCK_PERIOD));
+                    } else {
+                        block();
+                    }
+
+                    break;
+            }
+        } catch (final Throwable e) {
+            LogDebug.warn("error on backpressure callback", e);
+        }
+    }
+
+    @Override
+    public void onRelief(final long blockedNanos) {
+        try {
+            blockedTimeCounter.add(blockedNanos);
+        } catch (final Throwable e) {
+            LogDebug.warn("error on backpressure callback", e);
+        }
+    }
+
+    /**
+     * Called by the gflog thread after it frees space.
+     */
+    void signal() {
+        if (waiters != 0) {
+            synchronized (lock) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Waits for the period even if the thread is interrupted, so an interrupted producer does not spin.
+     * Parking returns at once for an interrupted thread, so it sleeps with the interrupt status cleared and restored after.
+     */
+    private static void park(final long nanos) {
+        if (!Thread.interrupted()) {
+            LockSupport.parkNanos(nanos);
+            return;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (final InterruptedException e) {
+            // restored below
+        } finally {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void block() {
+        synchronized (lock) {
+            waiters++;
+
+            try {
+                lock.wait(BLOCK_PERIOD); // bounds the wait if the signal comes before the producer waits
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                waiters--;
+            }
+        }
+    }
+
+}
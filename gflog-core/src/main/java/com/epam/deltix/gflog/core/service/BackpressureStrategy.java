@@ -0,0 +1,25 @@
+package com.epam.deltix.gflog.core.service;
+
+/**
+ * How a producer waits for free space with {@link OverflowStrategy#WAIT}.
+ */
+public enum BackpressureStrategy {
+
+    /**
+     * Yields on every attempt.
+     */
+    YIELD,
+    /**
+     * Spins for a bounded number of attempts and then yields.
+     */
+    SPIN,
+    /**
+     * Parks with an exponentially growing period.
+     */
+    PARK,
+    /**
+     * Blocks until the gflog thread frees space.
+     */
+    BLOCK
+
+}
@@ -0,0 +1,142 @@
+package com.epam.deltix.gflog.core.service;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.epam.deltix.gflog.core.util.Util.LINE_SEPARATOR;
+
+
+/**
+ * Caches encoded stack traces on the consumer side. Keyed on the exception class, the stack frames and the indent.
+ * Within the window a repeated stack is printed as a reference to its id instead.
+ */
+final class ExceptionCache {
+
+    private final StackKey probe = new StackKey();
+    private final LinkedHashMap<StackKey, Stack> map;
+    private final long window;
+
+    private long timestamp;
+    private int sequence;
+
+    ExceptionCache(final int capacity, final long window) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("exception cache capacity: " + capacity + " is not positive");
+        }
+
+        this.map = new LinkedHashMap<StackKey, Stack>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<StackKey, Stack> eldest) {
+                return size() > capacity;
+            }
+        };
+
+        this.window = window;
+    }
+
+    void timestamp(final long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    void appendStack(final Throwable exception,
+                     final StackTraceElement[] frames,
+                     final LogLimitedEntry entry,
+                     final int indent) {
+
+        Stack stack = map.get(probe.wrap(exception.getClass(), frames, indent));
+
+        if (stack == null) {
+            if (window > 0) {
+                appendLabel("(stack #", ++sequence, entry, indent);
+            }
+
+            final int start = entry.length();
+            LogEntryUtil.appendStack(frames, entry, indent);
+
+            if (!entry.truncated()) {
+                final byte[] bytes = Arrays.copyOfRange(entry.array(), start, entry.length());
+                map.put(probe.copy(), new Stack(sequence, bytes, timestamp));
+            }
+
+            return;
+        }
+
+        if (window > 0) {
+            if (timestamp - stack.printed < window) {
+                appendLabel("(same stack as #", stack.id, entry, indent);
+                return;
+            }
+
+            stack.printed = timestamp;
+            appendLabel("(stack #", stack.id, entry, indent);
+        }
+
+        if (!entry.appendBytes(stack.bytes)) {
+            LogEntryUtil.appendStack(frames, entry, indent);
+        }
+    }
+
+    private static void appendLabel(final String label, final int id, final LogLimitedEntry entry, final int indent) {
+        LogEntryUtil.appendTabs(indent, entry);
+        entry.append(label);
+        entry.append(id);
+        entry.append(')');
+        entry.append(LINE_SEPARATOR);
+    }
+
+    private static final class Stack {
+
+        private final int id;
+        private final byte[] bytes;
+        private long printed;
+
+        Stack(final int id, final byte[] bytes, final long printed) {
+            this.id = id;
+            this.bytes = bytes;
+            this.printed = printed;
+        }
+
+    }
+
+    private static final class StackKey {
+
+        private Class<?> type;
+        private StackTraceElement[] frames;
+        private int indent;
+        private int hash;
+
+        StackKey wrap(final Class<?> type, final StackTraceElement[] frames, final int indent) {
+            this.type = type;
+            this.frames = frames;
+            this.indent = indent;
+            this.hash = 31 * (31 * type.hashCode() + Arrays.hashCode(frames)) + indent;
+            return this;
+        }
+
+        StackKey copy() {
+            return new StackKey().wrap(type, frames, indent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            }
+
+            if (!(object instanceof StackKey)) {
+                return false;
+            }
+
+            final StackKey that = (StackKey) object;
+            return hash == that.hash && type == that.type && indent == that.indent && Arrays.equals(frames, that.frames);
+        }
+
+    }
+
+}
@@ -12,6 +12,8 @@ final class ExceptionIndex {
     private final int segment;
     private final int shift;
 
+    private boolean shared;
+
     ExceptionIndex(final int indexCapacity, final int bufferCapacity) {
         verify(indexCapacity, bufferCapacity);
 
@@ -20,6 +22,13 @@ final class ExceptionIndex {
         this.shift = Integer.numberOfTrailingZeros(segment);
     }
 
+    /**
+     * Keeps the exceptions until overwritten, so several consumer groups can decode the same record.
+     */
+    void share() {
+        shared = true;
+    }
+
     int segment() {
         return segment;
     }
@@ -33,7 +42,10 @@ final class ExceptionIndex {
         final int index = recordOffset >> shift;
 
         final Throwable exception = map[index];
-        map[index] = null;
+
+        if (!shared) {
+            map[index] = null;
+        }
 
         return exception;
     }
@@ -0,0 +1,59 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.core.LogRecord;
+import com.epam.deltix.gflog.core.appender.Appender;
+import com.epam.deltix.gflog.core.util.Buffer;
+
+
+/**
+ * Processes the appender group with its own cursor over the shared log buffer.
+ */
+final class GroupLogProcessor extends AsyncLogProcessor implements LogBuffer.RecordHandler {
+
+    private final LogBuffer buffer;
+    private final LogCursor cursor;
+    private final LogRecordDecoder decoder;
+
+    GroupLogProcessor(final LogBuffer buffer,
+                      final LogCursor cursor,
+                      final LogShard priority,
+                      final LogCursor priorityCursor,
+                      final LogRecordDecoder decoder,
+                      final LogRecordDecoder priorityDecoder,
+                      final Appender[] appenders) {
+        super(appenders, priority, priorityCursor, priorityDecoder);
+
+        this.buffer = buffer;
+        this.cursor = cursor;
+        this.decoder = decoder;
+    }
+
+    @Override
+    public void close() {
+        buffer.detach(cursor);
+        super.close();
+    }
+
+    @Override
+    int doWork() {
+        int work = buffer.read(cursor, this);
+
+        if (work == 0) {
+            work = flush();
+        }
+
+        return work;
+    }
+
+    @Override
+    boolean isEmpty() {
+        return buffer.isEmpty(cursor);
+    }
+
+    @Override
+    public void onRecord(final Buffer buffer, final int offset, final int length) {
+        final LogRecord record = decoder.decode(buffer, offset, length);
+        process(record);
+    }
+
+}
@@ -5,6 +5,8 @@ import com.epam.deltix.gflog.core.util.MutableBuffer;
 import com.epam.deltix.gflog.core.util.UnsafeBuffer;
 import com.epam.deltix.gflog.core.util.Util;
 
+import java.util.Arrays;
+
 import static com.epam.deltix.gflog.core.util.Util.UNSAFE;
 
 
@@ -13,7 +15,8 @@ final class LogBuffer {
     static final int MIN_CAPACITY = 64 * 1024;
     static final int MAX_CAPACITY = 1024 * 1024 * 1024;
 
-    private static final int MAX_READ_LENGTH = 64 * 1024;
+    static final int MIN_READ_LENGTH = 64 * 1024;
+    static final int FRAME_LENGTH = Util.SIZE_OF_LONG;
 
     private static final int TAIL_OFFSET = Util.DOUBLE_CACHE_LINE_SIZE - Util.SIZE_OF_LONG;
     private static final int HEAD_OFFSET = TAIL_OFFSET + Util.DOUBLE_CACHE_LINE_SIZE;
@@ -22,35 +25,94 @@ final class LogBuffer {
     private static final int TRAILER_LENGTH = HEAD_CACHE_OFFSET + Util.SIZE_OF_LONG + Util.DOUBLE_CACHE_LINE_SIZE;
     private static final int INSUFFICIENT_SPACE = -1;
 
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = MAGIC_OFFSET + Util.SIZE_OF_LONG;
+    private static final long MAGIC = 0x6766_6C6F_6762_7566L;
+    private static final long UNBLOCK_OFFSET = 1L << 60;
+    private static final long RELEASING_OFFSET;
+
+    static {
+        try {
+            RELEASING_OFFSET = UNSAFE.objectFieldOffset(LogBuffer.class.getDeclaredField("releasing"));
+        } catch (final NoSuchFieldException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final UnsafeBuffer buffer;
 
     private final int capacity;
     private final int mask;
     private final int maxRecordLength;
+    private final int maxReadLength;
+    private final int frameLength;
+    private final boolean exclusive;
+    private final boolean stamped;
 
+    private final byte[] array;
     private final long dataAddress;
     private final long tailAddress;
     private final long headAddress;
     private final long headCacheAddress;
 
+    private long position;
+    private int readLength = MIN_READ_LENGTH;
+    private LogCursor[] cursors;
+    private volatile int releasing;
+
     LogBuffer(final int capacity) {
+        this(capacity, false);
+    }
+
+    LogBuffer(final int capacity, final boolean exclusive) {
+        this(capacity, exclusive, false);
+    }
+
+    LogBuffer(final int capacity, final boolean exclusive, final boolean heap) {
+        this(capacity, exclusive, heap, false);
+    }
+
+    /**
+     * @param stamped whether to stamp the record headers with their positions instead of clearing the consumed space.
+     *                Costs {@link #FRAME_LENGTH} bytes per record.
+     */
+    LogBuffer(final int capacity, final boolean exclusive, final boolean heap, final boolean stamped) {
+        this(allocate(capacity, heap), capacity, exclusive, stamped);
+    }
+
+    LogBuffer(final UnsafeBuffer memory, final int capacity, final boolean exclusive) {
+        this(memory, capacity, exclusive, false);
+    }
+
+    LogBuffer(final UnsafeBuffer memory, final int capacity, final boolean exclusive, final boolean stamped) {
         verify(capacity);
 
-        final UnsafeBuffer buffer = UnsafeBuffer.allocateDirectedAlignedPadded(capacity + TRAILER_LENGTH, Util.DOUBLE_CACHE_LINE_SIZE);
-        buffer.wrap(buffer, 0, capacity);
+        if (memory.capacity() < memoryLength(capacity)) {
+            throw new IllegalArgumentException("buffer memory: " + memory.capacity() + " is less than required: " + memoryLength(capacity));
+        }
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(memory, 0, capacity);
 
         final long dataAddress = buffer.address();
         final long trailerAddress = dataAddress + capacity;
 
         this.capacity = capacity;
         this.mask = capacity - 1;
-        this.maxRecordLength = capacity >>> 3;
+        this.maxRecordLength = maxRecordLength(capacity) - (stamped ? FRAME_LENGTH : 0);
+        this.maxReadLength = Math.max(capacity >> 3, MIN_READ_LENGTH);
+        this.frameLength = stamped ? FRAME_LENGTH : 0;
+        this.exclusive = exclusive;
+        this.stamped = stamped;
 
         this.buffer = buffer;
+        this.array = buffer.byteArray();
         this.dataAddress = dataAddress;
         this.tailAddress = trailerAddress + TAIL_OFFSET;
         this.headAddress = trailerAddress + HEAD_OFFSET;
         this.headCacheAddress = trailerAddress + HEAD_CACHE_OFFSET;
+
+        UNSAFE.putLong(array, trailerAddress + MAGIC_OFFSET, MAGIC);
+        UNSAFE.putInt(array, trailerAddress + CAPACITY_OFFSET, capacity);
     }
 
     public MutableBuffer buffer() {
@@ -65,21 +127,46 @@ final class LogBuffer {
         return maxRecordLength;
     }
 
+    public boolean stamped() {
+        return stamped;
+    }
+
+    public byte[] array() {
+        return array;
+    }
+
     public long dataAddress() {
         return dataAddress;
     }
 
+    public int arrayIndex(final int offset) {
+        return (int) (dataAddress - Util.ARRAY_BYTE_BASE_OFFSET) + offset;
+    }
+
     // region Producers
 
     public int tryClaim(final int length) {
-        final int required = Util.align(length, LogRecordEncoder.ALIGNMENT);
-        long head = UNSAFE.getLongVolatile(null, headCacheAddress);
+        return tryClaim(length, 0);
+    }
+
+    /**
+     * @param reserved the space at the end of the free space which the record can't take.
+     */
+    public int tryClaim(final int length, final int reserved) {
+        if (exclusive) {
+            return claimExclusive(length, null, reserved);
+        }
+
+        final int required = Util.align(length, LogRecordEncoder.ALIGNMENT) + frameLength;
+        final int limit = capacity - reserved;
+        long head = UNSAFE.getLongVolatile(array, headCacheAddress);
 
+        long tail;
         int offset;
         int padding;
 
         while (true) {
-            final long tail = UNSAFE.getLongVolatile(null, tailAddress);
+            tail = UNSAFE.getLongVolatile(array, tailAddress);
             offset = (int) tail & mask;
 
             final int continuous = capacity - offset;
@@ -87,69 +174,192 @@ final class LogBuffer {
             padding = (required > continuous) ? continuous : 0;
             final long tailNext = tail + required + padding;
 
-            if (tailNext - head > capacity) {
-                head = UNSAFE.getLongVolatile(null, headAddress);
+            if (tailNext - head > limit) {
+                head = UNSAFE.getLongVolatile(array, headAddress);
 
-                if (tailNext - head > capacity) {
+                if (tailNext - head > limit) {
                     return INSUFFICIENT_SPACE;
                 }
 
-                UNSAFE.putOrderedLong(null, headCacheAddress, head);
+                UNSAFE.putOrderedLong(array, headCacheAddress, head);
             }
 
-            if (UNSAFE.compareAndSwapLong(null, tailAddress, tail, tailNext)) {
+            if (UNSAFE.compareAndSwapLong(array, tailAddress, tail, tailNext)) {
                 break;
             }
         }
 
         if (padding != 0) {
-            UNSAFE.putOrderedInt(null, dataAddress + offset, -padding);
+            putHeader(offset, -padding, tail);
             offset = 0;
         }
 
-        return offset;
+        return claimed(offset, tail + padding);
     }
 
     public int claim(final int length, final BackpressureCallback callback) {
-        final int required = Util.align(length, LogRecordEncoder.ALIGNMENT);
+        if (exclusive) {
+            return claimExclusive(length, callback, 0);
+        }
+
+        final int required = Util.align(length, LogRecordEncoder.ALIGNMENT) + frameLength;
 
         while (true) {
-            final long tail = UNSAFE.getAndAddLong(null, tailAddress, required);
+            final long tail = UNSAFE.getAndAddLong(array, tailAddress, required);
             final long tailNext = tail + required;
 
             final int offset = (int) tail & mask;
             final int continuous = capacity - offset;
 
-            long head = UNSAFE.getLongVolatile(null, headCacheAddress);
+            long head = UNSAFE.getLongVolatile(array, headCacheAddress);
 
             if (tailNext - head > capacity) {
-                head = UNSAFE.getLongVolatile(null, headAddress);
+                head = UNSAFE.getLongVolatile(array, headAddress);
 
-                while (tailNext - head > capacity) {
-                    callback.onBackpressure();
-                    head = UNSAFE.getLongVolatile(null, headAddress);
+                if (tailNext - head > capacity) {
+                    head = awaitHead(tailNext, callback);
                 }
 
-                UNSAFE.putOrderedLong(null, headCacheAddress, head);
+                UNSAFE.putOrderedLong(array, headCacheAddress, head);
             }
 
             if (required > continuous) {
-                UNSAFE.putOrderedInt(null, dataAddress + offset, -continuous);
-                UNSAFE.putOrderedInt(null, dataAddress, continuous - required);
+                putHeader(offset, -continuous, tail);
+                putHeader(0, continuous - required, tail + continuous);
                 continue;
             }
 
-            return offset;
+            return claimed(offset, tail);
         }
     }
 
+    private int claimExclusive(final int length, final BackpressureCallback callback, final int reserved) {
+        final int required = Util.align(length, LogRecordEncoder.ALIGNMENT) + frameLength;
+        final int limit = capacity - reserved;
+        final long tail = UNSAFE.getLong(array, tailAddress);
+
+        int offset = (int) tail & mask;
+
+        final int continuous = capacity - offset;
+        final int padding = (required > continuous) ? continuous : 0;
+        final long tailNext = tail + required + padding;
+
+        long head = UNSAFE.getLong(array, headCacheAddress);
+
+        if (tailNext - head > limit) {
+            head = UNSAFE.getLongVolatile(array, headAddress);
+
+            if (tailNext - head > limit) {
+                if (callback == null) {
+                    return INSUFFICIENT_SPACE;
+                }
+
+                head = awaitHead(tailNext, callback);
+            }
+
+            UNSAFE.putLong(array, headCacheAddress, head);
+        }
+
+        if (padding != 0) {
+            putHeader(offset, -padding, tail);
+            offset = 0;
+        }
+
+        offset = claimed(offset, tail + padding);
+        UNSAFE.putOrderedLong(array, tailAddress, tailNext);
+        return offset;
+    }
+
+    private long awaitHead(final long tailNext, final BackpressureCallback callback) {
+        final long start = System.nanoTime();
+        int attempt = 0;
+        long head;
+
+        do {
+            callback.onBackpressure(attempt++);
+            head = UNSAFE.getLongVolatile(array, headAddress);
+        } while (tailNext - head > capacity);
+
+        callback.onRelief(System.nanoTime() - start);
+        return head;
+    }
+
     public void commit(final int offset, final int length) {
-        UNSAFE.putOrderedInt(null, dataAddress + offset, length);
+        if (stamped) {
+            setLength(offset - FRAME_LENGTH, length);
+        } else {
+            UNSAFE.putOrderedInt(array, dataAddress + offset, length);
+        }
     }
 
     public void abort(final int offset, final int length) {
         final int padding = Util.align(length, LogRecordEncoder.ALIGNMENT);
-        UNSAFE.putOrderedInt(null, dataAddress + offset, -padding);
+
+        if (stamped) {
+            setLength(offset - FRAME_LENGTH, -padding - FRAME_LENGTH);
+        } else {
+            clear(offset + Util.SIZE_OF_INT, padding - Util.SIZE_OF_INT);
+            UNSAFE.putOrderedInt(array, dataAddress + offset, -padding);
+        }
+    }
+
+    public void shrink(final int offset, final int length, final int claimed) {
+        final int required = Util.align(length, LogRecordEncoder.ALIGNMENT);
+        final boolean empty = stamped && required == 0; // gives back the frame too
+        final int start = empty ? offset - FRAME_LENGTH : offset + required;
+        final int remaining = empty ? claimed + FRAME_LENGTH : claimed - required;
+
+        if (remaining == 0) {
+            return;
+        }
+
+        if (exclusive) {
+            final long tail = UNSAFE.getLong(array, tailAddress);
+            UNSAFE.putOrderedLong(array, tailAddress, tail - remaining);
+            return;
+        }
+
+        final long tail = UNSAFE.getLongVolatile(array, tailAddress);
+        final int end = (offset + claimed) & mask;
+
+        if (((int) tail & mask) == end && UNSAFE.compareAndSwapLong(array, tailAddress, tail, tail - remaining)) {
+            return;
+        }
+
+        if (stamped) {
+            // the record is not consumed yet, so it is less than one lap ahead of the head
+            final long head = UNSAFE.getLongVolatile(array, headAddress);
+            putHeader(start, -remaining, head + ((start - (int) head) & mask));
+        } else {
+            UNSAFE.putOrderedInt(array, dataAddress + start, -remaining);
+        }
+    }
+
+    /**
+     * Marks the record frame as claimed but not committed yet.
+     *
+     * @return the record offset.
+     */
+    private int claimed(final int offset, final long position) {
+        if (stamped) {
+            putHeader(offset, 0, position);
+            return offset + FRAME_LENGTH;
+        }
+
+        return offset;
+    }
+
+    private void putHeader(final int offset, final int length, final long position) {
+        if (stamped) {
+            UNSAFE.putOrderedLong(array, dataAddress + offset, frame(length, stamp(position)));
+        } else {
+            UNSAFE.putOrderedInt(array, dataAddress + offset, length);
+        }
+    }
+
+    private void setLength(final int offset, final int length) {
+        final long frame = UNSAFE.getLong(array, dataAddress + offset);
+        UNSAFE.putOrderedLong(array, dataAddress + offset, frame(length, (int) (frame >>> 32)));
     }
 
     // endregion
@@ -157,55 +367,386 @@ final class LogBuffer {
     // region Consumer
 
     public int read(final RecordHandler handler) {
-        final long head = UNSAFE.getLong(headAddress);
+        final LogCursor[] cursors = this.cursors;
+
+        if (cursors != null) {
+            return read(cursors[0], handler);
+        }
+
+        final long head = UNSAFE.getLong(array, headAddress);
 
         final int index = (int) head & mask;
-        final int limit = Math.min(capacity - index, MAX_READ_LENGTH);
+        final int limit = stamped ?
+                (int) Math.min(Math.min(capacity - index, readLength), UNSAFE.getLongVolatile(array, tailAddress) - head) :
+                Math.min(capacity - index, readLength);
 
         int read = 0;
+        int cleared = 0;
 
         try {
-            do {
+            while (read < limit) {
                 final int offset = index + read;
-                final int length = UNSAFE.getIntVolatile(null, dataAddress + offset);
+                final int length = getHeader(offset, head + read);
 
                 if (length == 0) {
                     break;
                 }
 
                 if (length < 0) {
+                    if (!stamped) {
+                        clear(index + cleared, read - cleared + Util.SIZE_OF_INT); // padding is clean except its header
+                    }
+
                     read += -length;
+                    cleared = read;
                     continue;
                 }
 
-                read += Util.align(length, LogRecordEncoder.ALIGNMENT);
-                handler.onRecord(buffer, offset, length);
-            } while (read < limit);
+                read += Util.align(length, LogRecordEncoder.ALIGNMENT) + frameLength;
+                handler.onRecord(buffer, offset + frameLength, length);
+            }
         } finally {
+            if (read > cleared && !stamped) {
+                clear(index + cleared, read - cleared);
+            }
+
             if (read != 0) {
-                UNSAFE.putByte(dataAddress + index, (byte) 0);
-                UNSAFE.setMemory(dataAddress + index + 1, read - 1, (byte) 0);
-                UNSAFE.putOrderedLong(null, headAddress, head + read);
+                UNSAFE.putOrderedLong(array, headAddress, head + read);
             }
         }
 
+        readLength = readLength(readLength, read, limit, maxReadLength);
+        return read;
+    }
+
+    /**
+     * Reads with the cursor of the consumer group. Leaves the records in place until all the groups have read them,
+     * so the cursor stops one lap ahead of the slowest group.
+     */
+    public int read(final LogCursor cursor, final RecordHandler handler) {
+        if (cursor == null) {
+            return read(handler);
+        }
+
+        final long position = cursor.position;
+        final long head = UNSAFE.getLongVolatile(array, headAddress);
+
+        final int index = (int) position & mask;
+        final long end = stamped ? Math.min(UNSAFE.getLongVolatile(array, tailAddress), head + capacity) : head + capacity;
+        final int limit = (int) Math.min(Math.min(capacity - index, cursor.readLength), end - position);
+
+        int read = 0;
+
+        try {
+            while (read < limit) {
+                final int offset = index + read;
+                final int length = getHeader(offset, position + read);
+
+                if (length == 0) {
+                    break;
+                }
+
+                if (length < 0) {
+                    read += -length;
+                    continue;
+                }
+
+                read += Util.align(length, LogRecordEncoder.ALIGNMENT) + frameLength;
+                handler.onRecord(buffer, offset + frameLength, length);
+            }
+        } finally {
+            if (read != 0) {
+                cursor.position = position + read;
+                releaseCursors();
+            }
+        }
+
+        cursor.readLength = readLength(cursor.readLength, read, limit, maxReadLength);
+        return read;
+    }
+
+    /**
+     * Adapts the read length to the backlog. Doubles it while the reads exhaust it
+     * and halves it when a read drains the buffer using less than a half.
+     */
+    static int readLength(final int readLength, final int read, final int limit, final int maxReadLength) {
+        if (read >= readLength) {
+            return Math.min(readLength << 1, maxReadLength);
+        }
+
+        if (read < limit && read < (readLength >> 1)) {
+            return Math.max(readLength >> 1, MIN_READ_LENGTH);
+        }
+
+        return readLength;
+    }
+
+    /**
+     * Attaches another consumer group. The plain read continues as the first group. Must be called before consuming.
+     */
+    public LogCursor attach() {
+        final long head = UNSAFE.getLongVolatile(array, headAddress);
+        LogCursor[] cursors = this.cursors;
+
+        if (cursors == null) {
+            cursors = new LogCursor[]{new LogCursor(head)};
+        }
+
+        final LogCursor cursor = new LogCursor(head);
+
+        cursors = Arrays.copyOf(cursors, cursors.length + 1);
+        cursors[cursors.length - 1] = cursor;
+
+        this.cursors = cursors;
+        return cursor;
+    }
+
+    /**
+     * Detaches the consumer group, so it no longer holds the buffer.
+     */
+    public void detach(final LogCursor cursor) {
+        cursor.position = LogCursor.DETACHED;
+        releaseCursors();
+    }
+
+    private void releaseCursors() {
+        final LogCursor[] cursors = this.cursors;
+
+        // the group which fails to lock has published its cursor before the holder unlocks and re-checks
+        while (UNSAFE.compareAndSwapInt(this, RELEASING_OFFSET, 0, 1)) {
+            final long head = UNSAFE.getLongVolatile(array, headAddress);
+            final long position = position(cursors);
+
+            try {
+                if (position == LogCursor.DETACHED || position <= head) {
+                    return;
+                }
+
+                if (!stamped) {
+                    clear(head, position);
+                }
+
+                UNSAFE.putOrderedLong(array, headAddress, position);
+            } finally {
+                releasing = 0;
+            }
+
+            if (position(cursors) == position) {
+                return;
+            }
+        }
+    }
+
+    private static long position(final LogCursor[] cursors) {
+        long min = LogCursor.DETACHED;
+
+        for (final LogCursor cursor : cursors) {
+            min = Math.min(min, cursor.position);
+        }
+
+        return min;
+    }
+
+    public int peek() {
+        while (true) {
+            if (stamped && position == UNSAFE.getLongVolatile(array, tailAddress)) {
+                return -1;
+            }
+
+            final int offset = (int) position & mask;
+            final int length = getHeader(offset, position);
+
+            if (length == 0) {
+                return -1;
+            }
+
+            if (length > 0) {
+                return offset + frameLength;
+            }
+
+            position += -length;
+        }
+    }
+
+    public int length(final int offset) {
+        return stamped ?
+                (int) UNSAFE.getLong(array, dataAddress + offset - FRAME_LENGTH) :
+                UNSAFE.getInt(array, dataAddress + offset);
+    }
+
+    public void advance(final int length) {
+        position += Util.align(length, LogRecordEncoder.ALIGNMENT) + frameLength;
+    }
+
+    public int release() {
+        final long head = UNSAFE.getLong(array, headAddress);
+        final int read = (int) (position - head);
+
+        if (read > 0) {
+            if (!stamped) {
+                clear(head, position);
+            }
+
+            UNSAFE.putOrderedLong(array, headAddress, position);
+        }
+
         return read;
     }
 
     public void unblock() {
-        final long head = UNSAFE.getLong(null, headAddress);
-        UNSAFE.putOrderedLong(null, headAddress, head + (1L << 60));
+        final long head = UNSAFE.getLong(array, headAddress);
+        UNSAFE.putOrderedLong(array, headAddress, head + UNBLOCK_OFFSET);
     }
 
     public boolean isEmpty() {
-        final long head = UNSAFE.getLong(headAddress);
-        final long tail = UNSAFE.getLongVolatile(null, tailAddress);
+        final LogCursor[] cursors = this.cursors;
+
+        if (cursors != null) {
+            return isEmpty(cursors[0]);
+        }
+
+        final long head = UNSAFE.getLong(array, headAddress);
+        final long tail = UNSAFE.getLongVolatile(array, tailAddress);
 
         return tail == head;
     }
 
+    public boolean isEmpty(final LogCursor cursor) {
+        if (cursor == null) {
+            return isEmpty();
+        }
+
+        return UNSAFE.getLongVolatile(array, tailAddress) == cursor.position;
+    }
+
+    // endregion
+
+    // region Recovery
+
+    public int recover(final RecordHandler handler) {
+        final long tail = UNSAFE.getLongVolatile(array, tailAddress);
+        long head = UNSAFE.getLongVolatile(array, headAddress);
+
+        if (head - tail > capacity) {
+            head -= UNBLOCK_OFFSET;
+        }
+
+        if (head > tail) {
+            return 0;
+        }
+
+        final long end = Math.min(tail, head + capacity); // producers waiting for space moved the tail past it
+        long position = head;
+
+        while (position < end) {
+            final int offset = (int) position & mask;
+            final int length = getHeader(offset, position);
+
+            if (length == 0) {
+                break;
+            }
+
+            if (length < 0) {
+                position += -length;
+                continue;
+            }
+
+            if (length > maxRecordLength || length > capacity - offset - frameLength) {
+                break;
+            }
+
+            position += Util.align(length, LogRecordEncoder.ALIGNMENT) + frameLength;
+            handler.onRecord(buffer, offset + frameLength, length);
+        }
+
+        return (int) (position - head);
+    }
+
+    public void reset() {
+        clear(0, capacity);
+
+        UNSAFE.putLongVolatile(array, tailAddress, 0);
+        UNSAFE.putLongVolatile(array, headAddress, 0);
+        UNSAFE.putLongVolatile(array, headCacheAddress, 0);
+
+        position = 0;
+    }
+
     // endregion
 
+    /**
+     * @return the length of the record or the negative length of the padding at the position, or 0 if none yet.
+     */
+    private int getHeader(final int offset, final long position) {
+        if (stamped) {
+            final long frame = UNSAFE.getLongVolatile(array, dataAddress + offset);
+            return ((int) (frame >>> 32) == stamp(position)) ? (int) frame : 0;
+        }
+
+        return UNSAFE.getIntVolatile(array, dataAddress + offset);
+    }
+
+    private void clear(final long head, final long position) {
+        final int read = (int) (position - head);
+        final int index = (int) head & mask;
+        final int continuous = Math.min(read, capacity - index);
+
+        clear(index, continuous);
+
+        if (read > continuous) {
+            clear(0, read - continuous);
+        }
+    }
+
+    void clear(final int offset, final int length) {
+        UNSAFE.putByte(array, dataAddress + offset, (byte) 0);
+        UNSAFE.setMemory(array, dataAddress + offset + 1, length - 1, (byte) 0);
+    }
+
+    /**
+     * Never zero, so the cleared memory is not a valid frame, and differs for the same offset on the adjacent laps.
+     */
+    static int stamp(final long position) {
+        return (int) ((position * 0x9E3779B97F4A7C15L) >>> 32) | 1;
+    }
+
+    private static long frame(final int length, final int stamp) {
+        return ((long) stamp << 32) | (length & 0xFFFFFFFFL);
+    }
+
+    static int memoryLength(final int capacity) {
+        return capacity + TRAILER_LENGTH;
+    }
+
+    static int capacity(final Buffer memory) {
+        final int capacity = memory.capacity() - TRAILER_LENGTH;
+
+        if (capacity < MIN_CAPACITY || capacity > MAX_CAPACITY || !Util.isPowerOfTwo(capacity)) {
+            return -1;
+        }
+
+        if (memory.getLong(capacity + MAGIC_OFFSET) != MAGIC || memory.getInt(capacity + CAPACITY_OFFSET) != capacity) {
+            return -1;
+        }
+
+        return capacity;
+    }
+
+    static int maxRecordLength(final int capacity) {
+        return capacity >>> 3;
+    }
+
+    private static UnsafeBuffer allocate(final int capacity, final boolean heap) {
+        verify(capacity);
+
+        if (heap) {
+            final int padding = (int) (Util.align(Util.ARRAY_BYTE_BASE_OFFSET, Util.SIZE_OF_LONG) - Util.ARRAY_BYTE_BASE_OFFSET);
+            return new UnsafeBuffer(new byte[memoryLength(capacity) + padding], padding, memoryLength(capacity));
+        }
+
+        return UnsafeBuffer.allocateDirectedAlignedPadded(memoryLength(capacity), Util.DOUBLE_CACHE_LINE_SIZE);
+    }
+
     private static void verify(final int capacity) {
         if (capacity < MIN_CAPACITY) {
             throw new IllegalArgumentException("buffer capacity: " + capacity + " is less than min: " + MIN_CAPACITY);
@@ -222,7 +763,10 @@ final class LogBuffer {
 
     public interface BackpressureCallback {
 
-        void onBackpressure();
+        void onBackpressure(int attempt);
+
+        default void onRelief(final long blockedNanos) {
+        }
 
     }
 
@@ -0,0 +1,304 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.api.LogDebug;
+import com.epam.deltix.gflog.core.util.Buffer;
+import com.epam.deltix.gflog.core.util.UnsafeBuffer;
+import com.epam.deltix.gflog.core.util.Util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+
+final class LogBufferFile implements AutoCloseable {
+
+    private static final String NAMES_SUFFIX = ".names";
+    private static final String THREADS_SUFFIX = ".threads";
+    private static final int NAME_HEADER_LENGTH = 2 * Util.SIZE_OF_INT;
+    private static final int THREAD_SLOT_LENGTH = NAME_HEADER_LENGTH + Byte.MAX_VALUE;
+    private static final String UNKNOWN_NAME = "<unknown>";
+    private static final int MAX_UNKNOWN_INDEX = 64 * 1024;
+
+    private final LogBuffer buffer;
+    private final FileChannel names;
+    private final FileChannel threads;
+    private final ByteBuffer nameBuffer = ByteBuffer.allocate(NAME_HEADER_LENGTH + Byte.MAX_VALUE).order(ByteOrder.LITTLE_ENDIAN);
+
+    private final LogIndex recoveredIndex;
+    private final LogIndex recoveredThreads;
+    private UnsafeBuffer recovered;
+
+    private LogBufferFile(final LogBuffer buffer,
+                          final FileChannel names,
+                          final FileChannel threads,
+                          final LogIndex recoveredIndex,
+                          final LogIndex recoveredThreads,
+                          final UnsafeBuffer recovered) {
+        this.buffer = buffer;
+        this.names = names;
+        this.threads = threads;
+        this.recoveredIndex = recoveredIndex;
+        this.recoveredThreads = recoveredThreads;
+        this.recovered = recovered;
+    }
+
+    LogBuffer buffer() {
+        return buffer;
+    }
+
+    void register(final String name, final int index) {
+        persist(names, name, index, -1);
+    }
+
+    /**
+     * Writes the thread name to the slot of its index, so the reused indices do not grow the file.
+     */
+    void registerThread(final String name, final int index) {
+        persist(threads, name, index, (long) index * THREAD_SLOT_LENGTH);
+    }
+
+    private synchronized void persist(final FileChannel channel, final String name, final int index, long position) {
+        try {
+            final Buffer bytes = Util.fromUtf8String(name, Byte.MAX_VALUE);
+            final int length = bytes.capacity();
+
+            nameBuffer.clear();
+            nameBuffer.putInt(index);
+            nameBuffer.putInt(length);
+
+            for (int i = 0; i < length; i++) {
+                nameBuffer.put(bytes.getByte(i));
+            }
+
+            nameBuffer.flip();
+
+            while (nameBuffer.hasRemaining()) {
+                if (position < 0) {
+                    channel.write(nameBuffer);
+                } else {
+                    position += channel.write(nameBuffer, position);
+                }
+            }
+        } catch (final Throwable e) {
+            LogDebug.warn("can't persist name: " + name, e);
+        }
+    }
+
+    void replay(final LogProcessor processor, final LogLimitedEntry entry) {
+        final UnsafeBuffer records = this.recovered;
+        final LogRecordDecoder decoder = new LogRecordDecoder(entry, recoveredIndex, recoveredThreads, null, null);
+        final int limit = records.capacity();
+
+        int replayed = 0;
+        int skipped = 0;
+
+        for (int next = 0; next < limit; ) {
+            final int offset = next;
+            final int length = records.getInt(offset);
+            final int logName = records.getInt(offset + LogRecordEncoder.LOG_NAME_OFFSET);
+            final int threadName = records.getInt(offset + LogRecordEncoder.THREAD_INDEX_OFFSET);
+
+            next += Util.align(length, LogRecordEncoder.ALIGNMENT);
+
+            if (!recoverIndex(recoveredIndex, logName) || !recoverIndex(recoveredThreads, threadName)) { // torn by the crash
+                skipped++;
+                continue;
+            }
+
+            try {
+                processor.process(decoder.decode(records, offset, length, null));
+                replayed++;
+            } catch (final Throwable e) {
+                LogDebug.warn("can't replay recovered log record", e);
+            }
+        }
+
+        if (replayed > 0) {
+            LogDebug.warn("replayed " + replayed + " log records recovered from log buffer file");
+        }
+
+        if (skipped > 0) {
+            LogDebug.warn("skipped " + skipped + " torn log records recovered from log buffer file");
+        }
+
+        recovered = null;
+    }
+
+    /**
+     * Registers the index not persisted before the crash as unknown. The indices are dense, so a large one is garbage.
+     */
+    private static boolean recoverIndex(final LogIndex index, final int name) {
+        if (index.contains(name)) {
+            return true;
+        }
+
+        if (name < 0 || name >= MAX_UNKNOWN_INDEX) {
+            return false;
+        }
+
+        index.put(UNKNOWN_NAME, name);
+        return true;
+    }
+
+    @Override
+    public void close() {
+        try {
+            names.close();
+        } catch (final Throwable e) {
+            LogDebug.warn("can't close log names file", e);
+        }
+
+        try {
+            threads.close();
+        } catch (final Throwable e) {
+            LogDebug.warn("can't close thread names file", e);
+        }
+    }
+
+    static LogBufferFile open(final String file, final int capacity) throws IOException {
+        final Path path = Paths.get(file).toAbsolutePath();
+        final Path namesPath = Paths.get(path + NAMES_SUFFIX);
+        final Path threadsPath = Paths.get(path + THREADS_SUFFIX);
+
+        final Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        final LogIndex recoveredIndex = recoverNames(namesPath);
+        final LogIndex recoveredThreads = recoverThreads(threadsPath);
+        final FileChannel names = FileChannel.open(namesPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        final FileChannel threads;
+
+        try {
+            threads = FileChannel.open(threadsPath,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (final Throwable e) {
+            names.close();
+            throw e;
+        }
+
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+            final long size = channel.size();
+            UnsafeBuffer recovered = new UnsafeBuffer(new byte[0]);
+            UnsafeBuffer memory = null;
+
+            if (size > 0 && size <= Integer.MAX_VALUE) {
+                final UnsafeBuffer existing = map(channel, (int) size);
+                final int existingCapacity = LogBuffer.capacity(existing);
+
+                if (existingCapacity > 0) {
+                    recovered = recoverRecords(new LogBuffer(existing, existingCapacity, false));
+
+                    if (existingCapacity == capacity) {
+                        memory = existing;
+                    }
+                }
+            }
+
+            if (memory == null) {
+                channel.truncate(0);
+                memory = map(channel, LogBuffer.memoryLength(capacity));
+            }
+
+            final LogBuffer buffer = new LogBuffer(memory, capacity, false);
+            buffer.reset();
+
+            return new LogBufferFile(buffer, names, threads, recoveredIndex, recoveredThreads, recovered);
+        } catch (final Throwable e) {
+            names.close();
+            threads.close();
+            throw e;
+        }
+    }
+
+    private static UnsafeBuffer map(final FileChannel channel, final int length) throws IOException {
+        final MappedByteBuffer memory = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+        return new UnsafeBuffer(memory);
+    }
+
+    private static UnsafeBuffer recoverRecords(final LogBuffer buffer) {
+        final int length = buffer.recover((records, offset, recordLength) -> {
+        });
+
+        final UnsafeBuffer recovered = new UnsafeBuffer(new byte[length]);
+        final int[] position = {0};
+
+        buffer.recover((records, offset, recordLength) -> {
+            final int aligned = Util.align(recordLength, LogRecordEncoder.ALIGNMENT);
+            recovered.putBytes(position[0], records, offset, aligned);
+            position[0] += aligned;
+        });
+
+        recovered.wrap(recovered.byteArray(), 0, position[0]);
+        return recovered;
+    }
+
+    private static LogIndex recoverThreads(final Path path) {
+        final LogIndex index = new LogIndex();
+
+        try {
+            if (Files.exists(path)) {
+                final ByteBuffer threads = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+
+                for (int slot = 0; threads.remaining() >= NAME_HEADER_LENGTH; slot++) {
+                    final int position = threads.position();
+                    final int threadIndex = threads.getInt();
+                    final int length = threads.getInt();
+
+                    if (threadIndex == slot && length > 0 && length <= Byte.MAX_VALUE && length <= threads.remaining()) {
+                        final byte[] bytes = new byte[length];
+                        threads.get(bytes);
+
+                        index.put(new String(bytes, StandardCharsets.UTF_8), threadIndex);
+                    }
+
+                    threads.position(Math.min(position + THREAD_SLOT_LENGTH, threads.limit()));
+                }
+            }
+        } catch (final Throwable e) {
+            LogDebug.warn("can't recover thread names from file: " + path, e);
+        }
+
+        return index;
+    }
+
+    private static LogIndex recoverNames(final Path path) {
+        final LogIndex index = new LogIndex();
+
+        try {
+            if (Files.exists(path)) {
+                final ByteBuffer names = ByteBuffer.wrap(Files.readAllBytes(path)).order(ByteOrder.LITTLE_ENDIAN);
+
+                while (names.remaining() >= NAME_HEADER_LENGTH) {
+                    final int logIndex = names.getInt();
+                    final int length = names.getInt();
+
+                    if (logIndex < 0 || length < 0 || length > names.remaining()) {
+                        break;
+                    }
+
+                    final byte[] bytes = new byte[length];
+                    names.get(bytes);
+
+                    index.put(new String(bytes, StandardCharsets.UTF_8), logIndex);
+                }
+            }
+        } catch (final Throwable e) {
+            LogDebug.warn("can't recover log names from file: " + path, e);
+        }
+
+        return index;
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.epam.deltix.gflog.core.service;
+
+@SuppressWarnings("unused")
+abstract class LogCursorPadding {
+    long p01, p02, p03, p04, p05, p06, p07, p08, p09, p10, p11, p12, p13, p14, p15;
+}
+
+abstract class LogCursorPosition extends LogCursorPadding {
+
+    volatile long position;
+
+}
+
+/**
+ * The read position of a consumer group in a log buffer shared by several groups.
+ */
+@SuppressWarnings("unused")
+final class LogCursor extends LogCursorPosition {
+
+    static final long DETACHED = Long.MAX_VALUE;
+
+    long p17, p18, p19, p20, p21, p22, p23, p24, p25, p26, p27, p28, p29, p30, p31;
+
+    int readLength = LogBuffer.MIN_READ_LENGTH;
+
+    LogCursor(final long position) {
+        this.position = position;
+    }
+
+}
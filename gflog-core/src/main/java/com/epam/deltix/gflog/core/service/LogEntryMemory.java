@@ -0,0 +1,191 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.core.LogEntryHolder;
+import com.epam.deltix.gflog.core.metric.Counter;
+import com.epam.deltix.gflog.core.metric.NoOpCounter;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+
+/**
+ * Accounts the memory the entries hold over their initial capacity. The budget is soft: it limits the messages
+ * claimed after it is spent, so the entries growing at the same time can overshoot it by a message each.
+ * The entries are tracked weakly, so the entries of the dead threads are collected as before and released
+ * from the accounting once collected. Nothing is tracked if neither the budget nor the metrics are set.
+ */
+final class LogEntryMemory {
+
+    private final long budget;
+    private final int shrinkThreshold;
+    private final Counter usedCounter;
+    private final Counter peakCounter;
+    private final boolean tracking;
+
+    private final Set<Tracked> entries = new HashSet<>();
+    private final ReferenceQueue<LogLimitedEntry> collected = new ReferenceQueue<>();
+
+    private volatile long used;
+    private long peak;
+
+    /**
+     * @param budget          the memory the entries can hold over their initial capacity, 0 - unlimited.
+     * @param shrinkThreshold the number of consecutive messages fitting the initial capacity
+     *                        after which an entry shrinks to it, 0 - never.
+     * @param usedCounter     receives the signed changes of the used memory.
+     * @param peakCounter     receives the increases of the peak memory.
+     */
+    LogEntryMemory(final long budget, final int shrinkThreshold, final Counter usedCounter, final Counter peakCounter) {
+        this.budget = budget;
+        this.shrinkThreshold = shrinkThreshold;
+        this.usedCounter = usedCounter;
+        this.peakCounter = peakCounter;
+        this.tracking = budget > 0 || usedCounter != NoOpCounter.INSTANCE || peakCounter != NoOpCounter.INSTANCE;
+    }
+
+    int shrinkThreshold() {
+        return shrinkThreshold;
+    }
+
+    long used() {
+        return used;
+    }
+
+    synchronized long peak() {
+        return peak;
+    }
+
+    synchronized int tracked() {
+        return entries.size();
+    }
+
+    /**
+     * @return the memory an entry can still grow by.
+     */
+    int available() {
+        if (budget <= 0) {
+            return Integer.MAX_VALUE;
+        }
+
+        final Reference<? extends LogLimitedEntry> reference = collected.poll();
+
+        if (reference != null) {
+            release(reference);
+        }
+
+        final long available = budget - used;
+        return (int) Math.max(0, Math.min(available, Integer.MAX_VALUE));
+    }
+
+    void allocate(final LogLimitedEntry entry, final int bytes) {
+        if (tracking) {
+            track(entry, bytes);
+        } else {
+            entry.allocated += bytes;
+        }
+    }
+
+    void free(final LogLimitedEntry entry) {
+        if (tracking) {
+            untrack(entry);
+        } else {
+            entry.allocated = 0;
+        }
+    }
+
+    private synchronized void track(final LogLimitedEntry entry, final int bytes) {
+        sweep();
+
+        Tracked tracked = entry.tracked;
+
+        if (tracked == null) {
+            tracked = new Tracked(entry, collected);
+            entry.tracked = tracked;
+            entries.add(tracked);
+        }
+
+        entry.allocated += bytes;
+        tracked.allocated += bytes;
+        update(bytes);
+    }
+
+    private synchronized void untrack(final LogLimitedEntry entry) {
+        final Tracked tracked = entry.tracked;
+
+        if (tracked != null) {
+            entry.tracked = null;
+            entry.allocated = 0;
+
+            entries.remove(tracked);
+            update(-tracked.allocated);
+        }
+    }
+
+    /**
+     * Releases the collected entries and the entries of the terminated threads.
+     * A terminated thread can still be referenced, so its entry field is cleared too.
+     */
+    synchronized void sweep() {
+        release();
+
+        final Iterator<Tracked> iterator = entries.iterator();
+
+        while (iterator.hasNext()) {
+            final Tracked tracked = iterator.next();
+            final LogLimitedEntry entry = tracked.get();
+            final Thread owner = (entry == null) ? null : entry.owner;
+
+            if (owner != null && owner.getState() == Thread.State.TERMINATED) {
+                if (owner instanceof LogEntryHolder) {
+                    ((LogEntryHolder) owner).setLogEntry(null);
+                }
+
+                entry.tracked = null;
+                entry.allocated = 0;
+
+                iterator.remove();
+                update(-tracked.allocated);
+            }
+        }
+    }
+
+    private void release() {
+        release(collected.poll());
+    }
+
+    private synchronized void release(final Reference<? extends LogLimitedEntry> first) {
+        for (Reference<? extends LogLimitedEntry> reference = first; reference != null; reference = collected.poll()) {
+            final Tracked tracked = (Tracked) reference;
+
+            if (entries.remove(tracked)) {
+                update(-tracked.allocated);
+            }
+        }
+    }
+
+    private void update(final long delta) {
+        final long used = this.used + delta;
+        this.used = used;
+        usedCounter.add(delta);
+
+        if (used > peak) {
+            peakCounter.add(used - peak);
+            peak = used;
+        }
+    }
+
+    static final class Tracked extends WeakReference<LogLimitedEntry> {
+
+        private int allocated;
+
+        Tracked(final LogLimitedEntry entry, final ReferenceQueue<LogLimitedEntry> queue) {
+            super(entry, queue);
+        }
+
+    }
+
+}
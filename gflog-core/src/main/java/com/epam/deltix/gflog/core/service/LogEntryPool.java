@@ -0,0 +1,63 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.core.util.Util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * Striped pool of log entries for virtual threads. A thread starts probing at the slot picked by its id.
+ */
+final class LogEntryPool {
+
+    private final AtomicReferenceArray<LogLocalEntry> entries;
+    private final int mask;
+
+    LogEntryPool(final int capacity) {
+        final int size = Util.nextPowerOfTwo(capacity);
+
+        this.entries = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return the pooled entry or null if the pool is empty.
+     */
+    LogLocalEntry borrow(final Thread thread) {
+        final int start = probe(thread);
+
+        for (int i = 0; i <= mask; i++) {
+            final int index = (start + i) & mask;
+            final LogLocalEntry entry = entries.get(index);
+
+            if (entry != null && entries.compareAndSet(index, entry, null)) {
+                return entry;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return false if the pool is full and the entry is not taken.
+     */
+    boolean release(final Thread thread, final LogLocalEntry entry) {
+        final int start = probe(thread);
+
+        for (int i = 0; i <= mask; i++) {
+            final int index = (start + i) & mask;
+
+            if (entries.get(index) == null && entries.compareAndSet(index, null, entry)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static int probe(final Thread thread) {
+        final long id = thread.getId();
+        return (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+    }
+
+}
@@ -40,7 +40,13 @@ final class LogEntryUtil {
 
         final StackTraceElement[] stack = e.getStackTrace();
         if (stack != null) {
-            appendStack(stack, entry, indent);
+            final ExceptionCache cache = entry.exceptionCache;
+
+            if (cache == null) {
+                appendStack(stack, entry, indent);
+            } else {
+                cache.appendStack(e, stack, entry, indent);
+            }
         }
 
         final Throwable[] suppresses = e.getSuppressed();
@@ -54,9 +60,9 @@ final class LogEntryUtil {
         }
     }
 
-    private static void appendStack(final StackTraceElement[] stack,
-                                    final LogLimitedEntry entry,
-                                    final int indent) {
+    static void appendStack(final StackTraceElement[] stack,
+                            final LogLimitedEntry entry,
+                            final int indent) {
 
         for (final StackTraceElement element : stack) {
             appendTabs(indent, entry);
@@ -114,7 +120,7 @@ final class LogEntryUtil {
         appendException(cause, entry, indent, depth + 1);
     }
 
-    private static void appendTabs(final int tabs, final LogLimitedEntry entry) {
+    static void appendTabs(final int tabs, final LogLimitedEntry entry) {
         for (int i = 0; i < tabs; i++) {
             entry.append('\t');
         }
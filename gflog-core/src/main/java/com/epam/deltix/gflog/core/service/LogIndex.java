@@ -19,7 +19,14 @@ final class LogIndex {
             this.map = map;
         }
 
-        map[index] = Util.fromUtf8String(name, Byte.MAX_VALUE);
+        final Buffer buffer = Util.fromUtf8String(name, Byte.MAX_VALUE);
+        Util.UNSAFE.storeFence(); // a reused index is replaced while the consumer can read it
+        map[index] = buffer;
+    }
+
+    boolean contains(final int index) {
+        final Buffer[] map = this.map;
+        return index >= 0 && index < map.length && map[index] != null;
     }
 
     Buffer get(final int index) {
@@ -18,18 +18,28 @@ abstract class LogLimitedEntry implements AppendableEntry {
     static final int MAX_DIFFERENCE_BETWEEN_LIMIT_AND_CAPACITY = 512;
 
     final String truncationSuffix;
-    final int limit;
+    final int initialCapacity;
 
     byte[] array;
     int length;
+    int limit;
     int capacity;
 
     boolean truncated;
+    boolean claimed;
+
+    ExceptionCache exceptionCache;
+
+    LogEntryMemory memory; // accounts the growth of the thread entries only
+    Thread owner;
+    int allocated;
+    LogEntryMemory.Tracked tracked;
 
     LogLimitedEntry(final String truncationSuffix, final int initialCapacity, final int maxCapacity) {
         final int capacity = Util.align(initialCapacity, Util.SIZE_OF_LONG);
 
         this.truncationSuffix = truncationSuffix;
+        this.initialCapacity = capacity;
         this.limit = maxCapacity;
         this.array = new byte[capacity];
         this.capacity = capacity;
@@ -57,6 +67,15 @@ abstract class LogLimitedEntry implements AppendableEntry {
         this.length = length;
     }
 
+    final void wrap(final byte[] array, final int length, final int limit, final int capacity, final boolean claimed) {
+        this.array = array;
+        this.length = length;
+        this.limit = limit;
+        this.capacity = capacity;
+        this.truncated = false;
+        this.claimed = claimed;
+    }
+
     @Override
     public final LogLimitedEntry append(final boolean value) {
         if (!truncated) {
@@ -362,6 +381,117 @@ abstract class LogLimitedEntry implements AppendableEntry {
         }
     }
 
+    /**
+     * @return false if the bytes do not fit into the limit and nothing is appended.
+     */
+    final boolean appendBytes(final byte[] bytes) {
+        if (!truncated) {
+            final int size = bytes.length;
+
+            if (size > limit - length) {
+                return false;
+            }
+
+            ensureSpace(size);
+            System.arraycopy(bytes, 0, array, length, size);
+            length += size;
+        }
+
+        return true;
+    }
+
+    final void appendTemplate(final int index) {
+        ensureSpace(LogRecordEncoder.TEMPLATE_INDEX_SIZE);
+        Util.UNSAFE.putInt(array, Util.ARRAY_BYTE_BASE_OFFSET + length, index);
+        length += LogRecordEncoder.TEMPLATE_INDEX_SIZE;
+    }
+
+    final void appendArgument(final byte type) {
+        if (!truncated) {
+            if (length + LogRecordEncoder.ARGUMENT_TYPE_SIZE > limit) {
+                truncateArguments();
+            } else {
+                ensureSpace(LogRecordEncoder.ARGUMENT_TYPE_SIZE);
+                Util.UNSAFE.putByte(array, Util.ARRAY_BYTE_BASE_OFFSET + length, type);
+                length += LogRecordEncoder.ARGUMENT_TYPE_SIZE;
+            }
+        }
+    }
+
+    final void appendArgument(final byte type, final long value) {
+        if (!truncated) {
+            if (length + LogRecordEncoder.ARGUMENT_VALUE_SIZE > limit) {
+                truncateArguments();
+            } else {
+                ensureSpace(LogRecordEncoder.ARGUMENT_VALUE_SIZE);
+                Util.UNSAFE.putByte(array, Util.ARRAY_BYTE_BASE_OFFSET + length, type);
+                Util.UNSAFE.putLong(array, Util.ARRAY_BYTE_BASE_OFFSET + length + LogRecordEncoder.ARGUMENT_TYPE_SIZE, value);
+                length += LogRecordEncoder.ARGUMENT_VALUE_SIZE;
+            }
+        }
+    }
+
+    final void appendArgument(final byte type, final long value, final int precision) {
+        if (!truncated) {
+            if (length + LogRecordEncoder.ARGUMENT_PRECISION_SIZE > limit) {
+                truncateArguments();
+            } else {
+                ensureSpace(LogRecordEncoder.ARGUMENT_PRECISION_SIZE);
+                Util.UNSAFE.putByte(array, Util.ARRAY_BYTE_BASE_OFFSET + length, type);
+                Util.UNSAFE.putLong(array, Util.ARRAY_BYTE_BASE_OFFSET + length + LogRecordEncoder.ARGUMENT_TYPE_SIZE, value);
+                Util.UNSAFE.putByte(array, Util.ARRAY_BYTE_BASE_OFFSET + length + LogRecordEncoder.ARGUMENT_VALUE_SIZE, (byte) precision);
+                length += LogRecordEncoder.ARGUMENT_PRECISION_SIZE;
+            }
+        }
+    }
+
+    /**
+     * @return the position of the text argument header or -1 if the arguments are truncated.
+     */
+    final int beginTextArgument() {
+        if (truncated) {
+            return -1;
+        }
+
+        if (length + LogRecordEncoder.ARGUMENT_TEXT_HEADER_SIZE > limit) {
+            truncateArguments();
+            return -1;
+        }
+
+        ensureSpace(LogRecordEncoder.ARGUMENT_TEXT_HEADER_SIZE);
+
+        final int position = length;
+        length += LogRecordEncoder.ARGUMENT_TEXT_HEADER_SIZE;
+
+        return position;
+    }
+
+    /**
+     * Completes the text argument. A truncated text keeps the truncation suffix and ends the arguments.
+     */
+    final void endTextArgument(final int position) {
+        final byte type = truncated ? LogRecordEncoder.ARGUMENT_TEXT_TRUNCATED : LogRecordEncoder.ARGUMENT_TEXT;
+        final int size = length - position - LogRecordEncoder.ARGUMENT_TEXT_HEADER_SIZE;
+
+        Util.UNSAFE.putByte(array, Util.ARRAY_BYTE_BASE_OFFSET + position, type);
+        Util.UNSAFE.putInt(array, Util.ARRAY_BYTE_BASE_OFFSET + position + LogRecordEncoder.ARGUMENT_TYPE_SIZE, size);
+    }
+
+    final void appendTruncationSuffix() {
+        if (!truncated) {
+            ensureSpace(truncationSuffix.length());
+            length = Formatting.formatAsciiString(truncationSuffix, array, length);
+            truncated = true;
+        }
+    }
+
+    private void truncateArguments() {
+        ensureSpace(LogRecordEncoder.ARGUMENT_TYPE_SIZE);
+        Util.UNSAFE.putByte(array, Util.ARRAY_BYTE_BASE_OFFSET + length, LogRecordEncoder.ARGUMENT_TRUNCATED);
+        length += LogRecordEncoder.ARGUMENT_TYPE_SIZE;
+        truncated = true;
+    }
+
     abstract void doAppendChar(final char value);
 
 
@@ -564,6 +694,7 @@ abstract class LogLimitedEntry implements AppendableEntry {
             ensureSpace(remaining + truncationSuffix.length());
 
             length = Formatting.formatBytes(bytes, bytesOffset, bytesLimit, array, length);
+            length = Formatting.formatAsciiString(truncationSuffix, array, length);
             truncated = true;
         }
     }
@@ -700,13 +831,38 @@ abstract class LogLimitedEntry implements AppendableEntry {
     }
 
     final void grow(final int requiredCapacity) {
+        if (claimed) { // the array is claimed log buffer space: capacity tracks written bytes only
+            final int max = limit + MAX_DIFFERENCE_BETWEEN_LIMIT_AND_CAPACITY;
+
+            if (requiredCapacity > max) {
+                throw new IndexOutOfBoundsException("required capacity: " + requiredCapacity + " exceeds claimed: " + max);
+            }
+
+            capacity = Math.min(Util.align(requiredCapacity, Util.CACHE_LINE_SIZE), max);
+            return;
+        }
+
         final int required = Math.min(requiredCapacity << 1, limit + MAX_DIFFERENCE_BETWEEN_LIMIT_AND_CAPACITY);
         final int aligned = Util.align(required, Util.SIZE_OF_LONG);
 
+        if (memory != null) {
+            memory.allocate(this, aligned - array.length);
+        }
+
         array = Arrays.copyOf(array, aligned);
         capacity = aligned;
     }
 
+    /**
+     * Shrinks the own array back to the initial capacity keeping the bytes within it.
+     */
+    final void shrink() {
+        memory.free(this);
+
+        array = Arrays.copyOf(array, initialCapacity);
+        capacity = initialCapacity;
+    }
+
     final void verifyLimit() {
         if (length > limit) {
             truncate();
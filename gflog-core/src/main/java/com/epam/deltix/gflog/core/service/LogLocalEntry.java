@@ -3,44 +3,77 @@ package com.epam.deltix.gflog.core.service;
 import com.epam.deltix.gflog.api.LogDebug;
 import com.epam.deltix.gflog.api.LogEntry;
 import com.epam.deltix.gflog.api.LogEntryTemplate;
+import com.epam.deltix.gflog.api.LogTemplate;
 import com.epam.deltix.gflog.api.Loggable;
 import com.epam.deltix.gflog.core.util.Formatting;
 import com.epam.deltix.gflog.core.util.MutableBuffer;
 import com.epam.deltix.gflog.core.util.Util;
 
+import java.util.Arrays;
+
 
 final class LogLocalEntry implements LogEntry, LogEntryTemplate {
 
     private static final long LENGTH_OFFSET;
-    private static final long LOG_NAME_OFFSET;
-    private static final long LOG_LEVEL_OFFSET;
-    private static final long TIMESTAMP_OFFSET;
-    private static final long APPENDER_MASK_OFFSET;
-    private static final long THREAD_NAME_LENGTH_OFFSET;
-    private static final long THREAD_NAME_DATA_OFFSET;
+    private static final long THREAD_NAME_FIELD_OFFSET;
+    private static final int HEADER_LENGTH = LogRecordEncoder.ROOT_BLOCK_SIZE;
 
     static {
         LENGTH_OFFSET = Util.align(Util.ARRAY_BYTE_BASE_OFFSET, Util.SIZE_OF_LONG) + LogRecordEncoder.LENGTH_OFFSET;
-        LOG_NAME_OFFSET = LENGTH_OFFSET + LogRecordEncoder.LOG_NAME_OFFSET;
-        TIMESTAMP_OFFSET = LENGTH_OFFSET + LogRecordEncoder.TIMESTAMP_OFFSET;
-        APPENDER_MASK_OFFSET = LENGTH_OFFSET + LogRecordEncoder.APPENDER_MASK_OFFSET;
-        LOG_LEVEL_OFFSET = LENGTH_OFFSET + LogRecordEncoder.LOG_LEVEL_OFFSET;
-        THREAD_NAME_LENGTH_OFFSET = LENGTH_OFFSET + LogRecordEncoder.THREAD_NAME_LENGTH_OFFSET;
-        THREAD_NAME_DATA_OFFSET = LENGTH_OFFSET + LogRecordEncoder.ROOT_BLOCK_SIZE;
+
+        long offset;
+
+        try {
+            offset = Util.UNSAFE.objectFieldOffset(Thread.class.getDeclaredField("name"));
+        } catch (final Throwable e) {
+            offset = -1;
+        }
+
+        THREAD_NAME_FIELD_OFFSET = offset;
     }
 
     private final LogService service;
     private final LogLimitedEntry entry;
-    private final int offset;
+    private final int messageLimit;
     private final boolean exceptional;
+    private final boolean utf8;
+    private final boolean zeroCopy;
+    private final TemplateIndex templates;
+    private final boolean pooled;
+
+    private Thread thread;
+    private Object threadNameField;
+    private String threadName;
+    private ThreadIndex.Slot threadSlot;
+
+    private int logName;
+    private int logLevel;
+
+    private long address = LENGTH_OFFSET;
+    private int offset;
+
+    private byte[] ownArray;
+    private int ownCapacity;
+
+    private int claimOffset = -1;
+    private int claimLength;
 
     private String template;
     private int templateIndex;
+    private LogTemplateImpl compiled;
+    private byte[][] compiledChunks;
+
+    private TemplateIndex.Template deferred;
+    private String lastTemplate;
+    private TemplateIndex.Template lastDeferred;
 
     private Throwable exception;
     private int exceptionPosition;
 
     private boolean committed = true;
+    private int smallMessages;
+
+    private LogShard shard;
 
     LogLocalEntry(final LogService service,
                   final Thread thread,
@@ -48,16 +81,158 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
                   final int initialCapacity,
                   final int maxCapacity,
                   final boolean utf8,
-                  final boolean exceptional) {
+                  final boolean exceptional,
+                  final boolean zeroCopy,
+                  final TemplateIndex templates,
+                  final boolean pooled) {
 
         this.service = service;
-        this.entry = createEntry(thread, truncationSuffix, initialCapacity, maxCapacity, utf8);
+        this.entry = createEntry(truncationSuffix, initialCapacity, maxCapacity, utf8);
         this.offset = entry.length();
+        this.messageLimit = maxCapacity;
         this.exceptional = exceptional;
+        this.utf8 = utf8;
+        this.zeroCopy = zeroCopy;
+        this.templates = templates;
+        this.pooled = pooled;
+
+        entry.memory = service.entryMemory;
+        entry.owner = pooled ? null : thread;
+
+        bind(thread);
+    }
+
+    LogService service() {
+        return service;
+    }
+
+    LogShard shard() {
+        return shard;
+    }
+
+    int logName() {
+        return logName;
+    }
+
+    int logLevel() {
+        return logLevel;
+    }
+
+    void shard(final LogShard shard) {
+        this.shard = shard;
+    }
+
+    boolean pooled() {
+        return pooled;
+    }
+
+    void freeMemory() {
+        entry.memory.free(entry);
+    }
+
+    /**
+     * Rebinds the pooled entry to the borrowing thread.
+     */
+    void bind(final Thread thread) {
+        if (thread != this.thread) {
+            this.thread = thread;
+            this.threadNameField = null;
+        }
+    }
+
+    /**
+     * Re-interns the thread name if it has changed or its slot has been reused.
+     * Watches the name field first to not allocate on JDK 8.
+     */
+    private void checkThreadName() {
+        final ThreadIndex.Slot slot = threadSlot;
+        final boolean used = slot != null && slot.use();
+
+        if (THREAD_NAME_FIELD_OFFSET >= 0) {
+            final Object field = Util.UNSAFE.getObjectVolatile(thread, THREAD_NAME_FIELD_OFFSET);
+
+            if (field == threadNameField && used) {
+                return;
+            }
+
+            threadNameField = field;
+        }
+
+        final String name = thread.getName();
+
+        if (!name.equals(threadName) || !used) {
+            threadName = name;
+            threadSlot = service.threadIndex.register(name);
+        }
     }
 
     int length() {
-        return entry.length() - (int) (LENGTH_OFFSET - Util.ARRAY_BYTE_BASE_OFFSET);
+        return entry.length() - (int) (address - Util.ARRAY_BYTE_BASE_OFFSET);
+    }
+
+    int maxLength() {
+        return HEADER_LENGTH + messageLimit + LogLimitedEntry.MAX_DIFFERENCE_BETWEEN_LIMIT_AND_CAPACITY + Util.SIZE_OF_LONG;
+    }
+
+    boolean claimed() {
+        return claimOffset >= 0;
+    }
+
+    /**
+     * Aborts the entry if its thread has terminated before committing, so the space it has claimed is given back.
+     * Not applicable to the pooled entries, because they are rebound to the other threads.
+     *
+     * @return true if the thread has terminated.
+     */
+    boolean abortIfTerminated() {
+        if (pooled || thread.isAlive()) {
+            return false;
+        }
+
+        if (!committed) {
+            warnNotCommitted();
+            abort();
+        }
+
+        return true;
+    }
+
+    int claimOffset() {
+        return claimOffset;
+    }
+
+    int claimLength() {
+        return claimLength;
+    }
+
+    int claimDirty() {
+        return entry.capacity - (int) (address - Util.ARRAY_BYTE_BASE_OFFSET);
+    }
+
+    void wrap(final LogBuffer buffer, final int offset, final int length) {
+        final byte[] array = buffer.array();
+        final int start = buffer.arrayIndex(offset);
+        final int end = start + HEADER_LENGTH;
+
+        ownArray = entry.array;
+        ownCapacity = entry.capacity;
+
+        entry.wrap(array, end, end + messageLimit, end, true);
+
+        this.address = Util.ARRAY_BYTE_BASE_OFFSET + start;
+        this.offset = end;
+        this.claimOffset = offset;
+        this.claimLength = length;
+    }
+
+    void unwrap() {
+        final int end = (int) (LENGTH_OFFSET - Util.ARRAY_BYTE_BASE_OFFSET) + HEADER_LENGTH;
+        entry.wrap(ownArray, end, end + messageLimit, ownCapacity, false);
+
+        ownArray = null;
+        address = LENGTH_OFFSET;
+        offset = end;
+        claimOffset = -1;
     }
 
     // region Append
@@ -603,7 +778,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogLocalEntry with(final char value) {
         if (verifyNotCommitted()) {
-            doAppend(value);
+            if (deferred == null) {
+                doAppend(value);
+            } else {
+                doDefer(value);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -616,7 +795,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogLocalEntry with(final CharSequence value) {
         if (verifyNotCommitted()) {
-            doAppend(value);
+            if (deferred == null) {
+                doAppend(value);
+            } else {
+                doDefer(value);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -629,7 +812,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogLocalEntry with(final CharSequence value, final int start, final int end) {
         if (verifyNotCommitted()) {
-            doAppend(value, start, end);
+            if (deferred == null) {
+                doAppend(value, start, end);
+            } else {
+                doDefer(value, start, end);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -642,7 +829,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogLocalEntry with(final String value) {
         if (verifyNotCommitted()) {
-            doAppend(value);
+            if (deferred == null) {
+                doAppend(value);
+            } else {
+                doDefer(value);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -655,7 +846,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogLocalEntry with(final String value, final int start, final int end) {
         if (verifyNotCommitted()) {
-            doAppend(value, start, end);
+            if (deferred == null) {
+                doAppend(value, start, end);
+            } else {
+                doDefer(value, start, end);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -668,7 +863,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogLocalEntry with(final boolean value) {
         if (verifyNotCommitted()) {
-            doAppend(value);
+            if (deferred == null) {
+                doAppend(value);
+            } else {
+                doDefer(value);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -681,7 +880,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogLocalEntry with(final int value) {
         if (verifyNotCommitted()) {
-            doAppend(value);
+            if (deferred == null) {
+                doAppend(value);
+            } else {
+                doDefer(value);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -694,7 +897,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogLocalEntry with(final long value) {
         if (verifyNotCommitted()) {
-            doAppend(value);
+            if (deferred == null) {
+                doAppend(value);
+            } else {
+                doDefer(value);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -707,7 +914,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogLocalEntry with(final double value) {
         if (verifyNotCommitted()) {
-            doAppend(value);
+            if (deferred == null) {
+                doAppend(value);
+            } else {
+                doDefer(value);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -720,7 +931,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogLocalEntry with(final double value, final int precision) {
         if (verifyNotCommitted()) {
-            doAppend(value, precision);
+            if (deferred == null) {
+                doAppend(value, precision);
+            } else {
+                doDefer(value, precision);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -733,7 +948,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogLocalEntry with(final Loggable object) {
         if (verifyNotCommitted()) {
-            doAppend(object);
+            if (deferred == null) {
+                doAppend(object);
+            } else {
+                doDefer(object);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -746,7 +965,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogLocalEntry with(final Object object) {
         if (verifyNotCommitted()) {
-            doAppend(object);
+            if (deferred == null) {
+                doAppend(object);
+            } else {
+                doDefer(object);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -759,7 +982,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogLocalEntry with(final Throwable exception) {
         if (verifyNotCommitted()) {
-            doAppend(exception);
+            if (deferred == null) {
+                doAppend(exception);
+            } else {
+                doDefer(exception);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -772,7 +999,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogLocalEntry withDecimal64(final long decimal) {
         if (verifyNotCommitted()) {
-            doAppendDecimal64(decimal);
+            if (deferred == null) {
+                doAppendDecimal64(decimal);
+            } else {
+                doDeferDecimal64(decimal);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -785,7 +1016,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogLocalEntry withTimestamp(final long timestamp) {
         if (verifyNotCommitted()) {
-            doAppendTimestamp(timestamp);
+            if (deferred == null) {
+                doAppendTimestamp(timestamp);
+            } else {
+                doDeferTimestamp(timestamp);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -798,7 +1033,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogEntryTemplate withTimestampNs(long timestampNs) {
         if (verifyNotCommitted()) {
-            doAppendTimestampNs(timestampNs);
+            if (deferred == null) {
+                doAppendTimestampNs(timestampNs);
+            } else {
+                doDeferTimestampNs(timestampNs);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -811,7 +1050,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogLocalEntry withDate(final long timestamp) {
         if (verifyNotCommitted()) {
-            doAppendDate(timestamp);
+            if (deferred == null) {
+                doAppendDate(timestamp);
+            } else {
+                doDeferDate(timestamp);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -824,7 +1067,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogEntryTemplate withDateNs(long timestampNs) {
         if (verifyNotCommitted()) {
-            doAppendDateNs(timestampNs);
+            if (deferred == null) {
+                doAppendDateNs(timestampNs);
+            } else {
+                doDeferDateNs(timestampNs);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -837,7 +1084,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogLocalEntry withTime(final long timestamp) {
         if (verifyNotCommitted()) {
-            doAppendTime(timestamp);
+            if (deferred == null) {
+                doAppendTime(timestamp);
+            } else {
+                doDeferTime(timestamp);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -850,7 +1101,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogEntryTemplate withTimeNs(long timestampNs) {
         if (verifyNotCommitted()) {
-            doAppendTimeNs(timestampNs);
+            if (deferred == null) {
+                doAppendTimeNs(timestampNs);
+            } else {
+                doDeferTimeNs(timestampNs);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -863,7 +1118,11 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     @Override
     public LogLocalEntry withAlphanumeric(final long alphanumeric) {
         if (verifyNotCommitted()) {
-            doAppendAlphanumeric(alphanumeric);
+            if (deferred == null) {
+                doAppendAlphanumeric(alphanumeric);
+            } else {
+                doDeferAlphanumeric(alphanumeric);
+            }
 
             if (doAppendTemplate()) {
                 doCommit();
@@ -874,6 +1133,20 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
     }
 
     private boolean doAppendTemplate() {
+        if (deferred != null) {
+            return ++templateIndex == deferred.placeholders();
+        }
+
+        if (compiled != null) {
+            final int chunk = templateIndex++;
+
+            if (!entry.appendBytes(compiledChunks[chunk])) {
+                entry.append(template, compiled.start(chunk), compiled.end(chunk));
+            }
+
+            return templateIndex == compiledChunks.length;
+        }
+
         final int length = template.length();
         final int index = findPlaceholder(template, templateIndex, length);
 
@@ -885,11 +1158,291 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
 
     // endregion With
 
+    // region Defer
+
+    private void doDefer(final char value) {
+        try {
+            entry.appendArgument(LogRecordEncoder.ARGUMENT_CHAR, value);
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDefer(final CharSequence value) {
+        try {
+            final int position = entry.beginTextArgument();
+
+            if (position >= 0) {
+                try {
+                    entry.append(value);
+                } finally {
+                    entry.endTextArgument(position);
+                }
+            }
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDefer(final CharSequence value, final int start, final int end) {
+        try {
+            final int position = entry.beginTextArgument();
+
+            if (position >= 0) {
+                try {
+                    entry.append(value, start, end);
+                } finally {
+                    entry.endTextArgument(position);
+                }
+            }
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDefer(final String value) {
+        try {
+            final int position = entry.beginTextArgument();
+
+            if (position >= 0) {
+                try {
+                    entry.append(value);
+                } finally {
+                    entry.endTextArgument(position);
+                }
+            }
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDefer(final String value, final int start, final int end) {
+        try {
+            final int position = entry.beginTextArgument();
+
+            if (position >= 0) {
+                try {
+                    entry.append(value, start, end);
+                } finally {
+                    entry.endTextArgument(position);
+                }
+            }
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDefer(final boolean value) {
+        try {
+            entry.appendArgument(LogRecordEncoder.ARGUMENT_BOOLEAN, value ? 1 : 0);
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDefer(final int value) {
+        try {
+            entry.appendArgument(LogRecordEncoder.ARGUMENT_LONG, value);
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDefer(final long value) {
+        try {
+            entry.appendArgument(LogRecordEncoder.ARGUMENT_LONG, value);
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDefer(final double value) {
+        try {
+            entry.appendArgument(LogRecordEncoder.ARGUMENT_DOUBLE, Double.doubleToRawLongBits(value));
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDefer(final double value, final int precision) {
+        try {
+            Formatting.verifyDoublePrecision(precision);
+            entry.appendArgument(LogRecordEncoder.ARGUMENT_DOUBLE_PRECISION, Double.doubleToRawLongBits(value), precision);
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDefer(final Loggable object) {
+        try {
+            final int position = entry.beginTextArgument();
+
+            if (position >= 0) {
+                try {
+                    entry.append(object);
+                } finally {
+                    entry.endTextArgument(position);
+                }
+            }
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDefer(final Object object) {
+        try {
+            final int position = entry.beginTextArgument();
+
+            if (position >= 0) {
+                try {
+                    entry.append(object);
+                } finally {
+                    entry.endTextArgument(position);
+                }
+            }
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDefer(final Throwable throwable) {
+        if (!exceptional || throwable == null || exception != null) {
+            doDeferText(throwable);
+            return;
+        }
+
+        try {
+            entry.appendArgument(LogRecordEncoder.ARGUMENT_EXCEPTION);
+
+            if (!entry.truncated()) {
+                exception = throwable;
+            }
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDeferText(final Throwable throwable) {
+        try {
+            final int position = entry.beginTextArgument();
+
+            if (position >= 0) {
+                try {
+                    entry.append(throwable);
+                } finally {
+                    entry.endTextArgument(position);
+                }
+            }
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDeferDecimal64(final long decimal) {
+        try {
+            entry.appendArgument(LogRecordEncoder.ARGUMENT_DECIMAL64, decimal);
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDeferTimestamp(final long timestamp) {
+        try {
+            if (timestamp != Long.MIN_VALUE) {
+                Formatting.verifyTimestamp(timestamp);
+            }
+
+            entry.appendArgument(LogRecordEncoder.ARGUMENT_TIMESTAMP, timestamp);
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDeferTimestampNs(final long timestampNs) {
+        try {
+            if (timestampNs != Long.MIN_VALUE) {
+                Formatting.verifyTimestampNs(timestampNs);
+            }
+
+            entry.appendArgument(LogRecordEncoder.ARGUMENT_TIMESTAMP_NS, timestampNs);
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDeferDate(final long timestamp) {
+        try {
+            if (timestamp != Long.MIN_VALUE) {
+                Formatting.verifyTimestamp(timestamp);
+            }
+
+            entry.appendArgument(LogRecordEncoder.ARGUMENT_DATE, timestamp);
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDeferDateNs(final long timestampNs) {
+        try {
+            if (timestampNs != Long.MIN_VALUE) {
+                Formatting.verifyTimestampNs(timestampNs);
+            }
+
+            entry.appendArgument(LogRecordEncoder.ARGUMENT_DATE_NS, timestampNs);
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDeferTime(final long timestamp) {
+        try {
+            if (timestamp != Long.MIN_VALUE) {
+                Formatting.verifyTimestamp(timestamp);
+            }
+
+            entry.appendArgument(LogRecordEncoder.ARGUMENT_TIME, timestamp);
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDeferTimeNs(final long timestampNs) {
+        try {
+            if (timestampNs != Long.MIN_VALUE) {
+                Formatting.verifyTimestampNs(timestampNs);
+            }
+
+            entry.appendArgument(LogRecordEncoder.ARGUMENT_TIME_NS, timestampNs);
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    private void doDeferAlphanumeric(final long alphanumeric) {
+        try {
+            entry.appendArgument(LogRecordEncoder.ARGUMENT_ALPHANUMERIC, alphanumeric);
+        } catch (final Throwable e) {
+            warnAppendError(e);
+        }
+    }
+
+    // endregion
+
     @Override
     public void abort() {
         if (verifyNotCommitted()) {
             committed = true;
             exception = null;
+
+            try {
+                if (claimed()) {
+                    service.abort(this);
+                }
+            } finally {
+                if (pooled) {
+                    service.release(this);
+                }
+            }
         }
     }
 
@@ -902,14 +1455,47 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
 
     void onClaim(final int logName, final int logLevel, final long appenderMask) {
         reuse();
+        deferred = null;
+        compiled = null;
+
+        this.logName = logName;
+        this.logLevel = logLevel & ~LogRecordEncoder.DEFERRED_FLAG;
+
+        checkThreadName();
+
+        if (zeroCopy) {
+            service.reserve(this);
+        }
+
+        if (!entry.claimed) {
+            limitMemory();
+        }
 
         final byte[] array = entry.array();
-        Util.UNSAFE.putInt(array, LOG_NAME_OFFSET, logName);
-        Util.UNSAFE.putLong(array, APPENDER_MASK_OFFSET, appenderMask);
-        Util.UNSAFE.putByte(array, LOG_LEVEL_OFFSET, (byte) logLevel);
+        Util.UNSAFE.putInt(array, address + LogRecordEncoder.LOG_NAME_OFFSET, logName);
+        Util.UNSAFE.putLong(array, address + LogRecordEncoder.APPENDER_MASK_OFFSET, appenderMask);
+        Util.UNSAFE.putByte(array, address + LogRecordEncoder.LOG_LEVEL_OFFSET, (byte) logLevel);
+        Util.UNSAFE.putInt(array, address + LogRecordEncoder.THREAD_INDEX_OFFSET, threadSlot.index);
     }
 
     void onClaim(final int logName, final int logLevel, final long appenderMask, final String template) {
+        final TemplateIndex.Template deferred = defer(template);
+
+        if (deferred != null) {
+            onClaim(logName, logLevel | LogRecordEncoder.DEFERRED_FLAG, appenderMask);
+
+            this.deferred = deferred;
+            this.templateIndex = 0;
+
+            entry.appendTemplate(deferred.index());
+
+            if (deferred.placeholders() == 0) {
+                doCommit();
+            }
+
+            return;
+        }
+
         onClaim(logName, logLevel, appenderMask);
 
         this.template = template;
@@ -920,46 +1506,111 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
         }
     }
 
+    void onClaim(final int logName, final int logLevel, final long appenderMask, final LogTemplate template) {
+        if (templates != null || !(template instanceof LogTemplateImpl)) {
+            onClaim(logName, logLevel, appenderMask, template.getTemplate());
+            return;
+        }
+
+        onClaim(logName, logLevel, appenderMask);
+
+        this.template = template.getTemplate();
+        this.templateIndex = 0;
+        this.compiled = (LogTemplateImpl) template;
+        this.compiledChunks = compiled.chunks(utf8);
+
+        if (doAppendTemplate()) {
+            doCommit();
+        }
+    }
+
     void onCommit(final long timestamp) {
-        Util.UNSAFE.putLong(entry.array(), TIMESTAMP_OFFSET, timestamp);
+        Util.UNSAFE.putLong(entry.array(), address + LogRecordEncoder.TIMESTAMP_OFFSET, timestamp);
     }
 
-    void copyTo(final long address) {
+    void copyTo(final Object base, final long address) {
         Util.UNSAFE.copyMemory(
                 entry.array(),
                 LENGTH_OFFSET,
-                null,
+                base,
                 address,
                 Util.align(length(), Util.SIZE_OF_LONG)
         );
     }
 
+    void copyTo(final int position, final Object base, final long address, final int length) {
+        Util.UNSAFE.copyMemory(entry.array(), LENGTH_OFFSET + position, base, address, length);
+    }
+
     void wrapTo(final MutableBuffer wrapper) {
         final int offset = (int) (LENGTH_OFFSET - Util.ARRAY_BYTE_BASE_OFFSET);
         wrapper.wrap(entry.array(), offset, entry.length() - offset);
     }
 
+    private TemplateIndex.Template defer(final String template) {
+        if (templates == null || template == null) {
+            return null;
+        }
+
+        if (template != lastTemplate) {
+            lastDeferred = templates.register(template);
+            lastTemplate = template;
+        }
+
+        return lastDeferred;
+    }
+
     private void reuse() {
         if (!committed) {
             warnNotCommitted();
             doCommit();
         }
 
+        if (entry.allocated > 0 && !entry.claimed) {
+            shrinkIfIdle();
+        }
+
         entry.reset(offset);
         committed = false;
     }
 
+    private void shrinkIfIdle() {
+        final int threshold = entry.memory.shrinkThreshold();
+
+        if (entry.length() > entry.initialCapacity) {
+            smallMessages = 0;
+        } else if (threshold > 0 && ++smallMessages >= threshold) {
+            smallMessages = 0;
+            entry.shrink();
+        }
+    }
+
+    /**
+     * Lets the message grow the entry only as far as the memory budget allows.
+     */
+    private void limitMemory() {
+        final int available = entry.memory.available();
+        final int limit = (available >= messageLimit) ? messageLimit : Math.min(messageLimit, entry.capacity - offset + available);
+        entry.limit = offset + limit;
+    }
+
     private void doCommit() {
         final Throwable throwable = exception;
 
-        if (throwable == null) {
-            service.commit(this);
-        } else {
-            exception = null;
-            service.commit(this, throwable, exceptionPosition);
-        }
+        try {
+            if (throwable == null) {
+                service.commit(this);
+            } else {
+                exception = null;
+                service.commit(this, throwable, exceptionPosition);
+            }
+        } finally {
+            committed = true;
 
-        committed = true;
+            if (pooled) {
+                service.release(this);
+            }
+        }
     }
 
     private boolean verifyNotCommitted() {
@@ -973,7 +1624,7 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
 
     private void warnNotCommitted() {
         if (LogDebug.isWarnEnabled()) {
-            final String message = entry.substring(offset, entry.length());
+            final String message = (deferred == null) ? entry.substring(offset, entry.length()) : deferred.text();
             final IllegalStateException e = new IllegalStateException("log entry was not committed. Message: " + message);
             LogDebug.warn(e);
         }
@@ -992,30 +1643,53 @@ final class LogLocalEntry implements LogEntry, LogEntryTemplate {
         }
     }
 
-    private static LogLimitedEntry createEntry(final Thread thread,
-                                               final String truncationSuffix,
+    private static LogLimitedEntry createEntry(final String truncationSuffix,
                                                final int initialCapacity,
                                                final int maxCapacity,
                                                final boolean utf8) {
 
-        final String threadName = thread.getName();
-        final byte threadNameLength = (byte) Util.limitUtf8Index(threadName, 0, threadName.length(), Byte.MAX_VALUE);
-        final int offset = (int) (THREAD_NAME_DATA_OFFSET + threadNameLength - Util.ARRAY_BYTE_BASE_OFFSET);
+        final int offset = (int) (LENGTH_OFFSET + HEADER_LENGTH - Util.ARRAY_BYTE_BASE_OFFSET);
 
         final LogLimitedEntry entry = utf8 ?
                 new LogUtf8Entry(truncationSuffix, initialCapacity + offset, maxCapacity + offset) :
                 new LogAsciiEntry(truncationSuffix, initialCapacity + offset, maxCapacity + offset);
 
         Util.UNSAFE.putInt(entry.array, LENGTH_OFFSET, 0);
-        Util.UNSAFE.putByte(entry.array, THREAD_NAME_LENGTH_OFFSET, threadNameLength);
-
-        Formatting.formatUtf8String(threadName, 0, threadNameLength, entry.array, (int) (THREAD_NAME_DATA_OFFSET - Util.ARRAY_BYTE_BASE_OFFSET));
         entry.reset(offset);
 
         return entry;
     }
 
-    private static int findPlaceholder(final String template, final int start, final int end) {
+    /**
+     * @return the start and end of each text chunk around the placeholders: [start0, end0, start1, end1, ...].
+     */
+    static int[] splitTemplate(final String template) {
+        final int length = template.length();
+        int[] bounds = new int[8];
+        int size = 0;
+        int start = 0;
+
+        while (true) {
+            final int end = findPlaceholder(template, start, length);
+
+            if (size + 2 > bounds.length) {
+                bounds = Arrays.copyOf(bounds, bounds.length << 1);
+            }
+
+            bounds[size++] = start;
+            bounds[size++] = end;
+
+            if (end == length) {
+                break;
+            }
+
+            start = end + 2;
+        }
+
+        return Arrays.copyOf(bounds, size);
+    }
+
+    static int findPlaceholder(final String template, final int start, final int end) {
         for (int index = start, limit = end - 1; index < limit; index++) {
             if (template.charAt(index) == '%' && template.charAt(index + 1) == 's') {
                 return index;
@@ -3,17 +3,36 @@ package com.epam.deltix.gflog.core.service;
 import com.epam.deltix.gflog.api.LogDebug;
 import com.epam.deltix.gflog.core.LogRecord;
 import com.epam.deltix.gflog.core.appender.Appender;
+import com.epam.deltix.gflog.core.appender.BatchAppender;
 import com.epam.deltix.gflog.core.util.Util;
 
 
 class LogProcessor implements AutoCloseable {
 
     protected final Appender[] appenders;
+    protected final int[] batchCounts;
+    protected final long batchable;
 
     protected long enabled = ~0;
+    protected long batching;
 
+    /**
+     * @param appenders the appenders indexed as in the appender mask, null if processed elsewhere.
+     */
     LogProcessor(final Appender[] appenders) {
+        long batchable = 0;
+
+        for (int i = 0; i < appenders.length; i++) {
+            if (appenders[i] == null) {
+                enabled &= ~(1L << i);
+            } else if (appenders[i] instanceof BatchAppender) {
+                batchable |= 1L << i;
+            }
+        }
+
         this.appenders = appenders;
+        this.batchCounts = new int[appenders.length];
+        this.batchable = batchable;
     }
 
     void open() {
@@ -23,6 +42,10 @@ class LogProcessor implements AutoCloseable {
         for (index = 0; index < appenders.length; index++) {
             final Appender appender = appenders[index];
 
+            if (appender == null) {
+                continue;
+            }
+
             try {
                 appender.open();
             } catch (final Throwable e) {
@@ -36,6 +59,10 @@ class LogProcessor implements AutoCloseable {
             for (int i = 0; i < index; i++) {
                 final Appender appender = appenders[i];
 
+                if (appender == null) {
+                    continue;
+                }
+
                 try {
                     appender.close();
                 } catch (final Throwable e) {
@@ -50,6 +77,10 @@ class LogProcessor implements AutoCloseable {
     @Override
     public void close() {
         for (final Appender appender : appenders) {
+            if (appender == null) {
+                continue;
+            }
+
             try {
                 appender.close();
             } catch (final Throwable e) {
@@ -59,6 +90,10 @@ class LogProcessor implements AutoCloseable {
     }
 
     final void process(final LogRecord record) {
+        if (record == null) {
+            return; // an incomplete fragmented record
+        }
+
         final Appender[] appenders = this.appenders;
         final long mask = record.getAppenderMask() & enabled;
 
@@ -67,6 +102,11 @@ class LogProcessor implements AutoCloseable {
                 final Appender appender = appenders[i];
 
                 try {
+                    if (((batchable >>> i) & 1) == 1 && batchCounts[i]++ == 0) {
+                        batching |= 1L << i;
+                        ((BatchAppender) appender).onBatchStart();
+                    }
+
                     appender.append(record);
                 } catch (final Throwable e) {
                     enabled &= ~(1L << i);
@@ -76,6 +116,41 @@ class LogProcessor implements AutoCloseable {
         }
     }
 
+    /**
+     * Ends the batches started by the records processed since the last call.
+     */
+    final int endBatch() {
+        long mask = batching;
+
+        if (mask == 0) {
+            return 0;
+        }
+
+        batching = 0;
+        int work = 0;
+
+        while (mask != 0) {
+            final int i = Long.numberOfTrailingZeros(mask);
+            final int count = batchCounts[i];
+
+            mask &= mask - 1;
+            batchCounts[i] = 0;
+
+            if (((enabled >>> i) & 1) == 1) {
+                final Appender appender = appenders[i];
+
+                try {
+                    work += ((BatchAppender) appender).onBatchEnd(count);
+                } catch (final Throwable e) {
+                    enabled &= ~(1L << i);
+                    LogDebug.warn("appender: " + appender.getName() + " threw exception during ending batch", e);
+                }
+            }
+        }
+
+        return work;
+    }
+
     final int flush() {
         final Appender[] appenders = this.appenders;
         final long mask = enabled;
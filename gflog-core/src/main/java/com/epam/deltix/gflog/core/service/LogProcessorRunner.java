@@ -7,22 +7,31 @@ import com.epam.deltix.gflog.core.util.Util;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
 
 
 final class LogProcessorRunner implements Runnable, AutoCloseable {
 
     private static final int CLOSE_TIMEOUT = 5000;
     private static final int CLOSE_ATTEMPTS = 6;
+    private static final int SWEEP_PERIOD = 1024;
 
     private final Thread thread;
     private final AsyncLogProcessor processor;
     private final IdleStrategy strategy;
+    private final Backpressure backpressure;
+    private final Runnable sweeper;
 
     private final CountDownLatch barrier = new CountDownLatch(1);
 
     private Throwable exception;
 
-    LogProcessorRunner(final AsyncLogProcessor processor, final ThreadFactory factory, final IdleStrategy strategy) {
+    LogProcessorRunner(final AsyncLogProcessor processor,
+                       final ThreadFactory factory,
+                       final IdleStrategy strategy,
+                       final Backpressure backpressure,
+                       final Runnable sweeper) {
+
         final Thread thread = factory.newThread(this);
         thread.setDaemon(true);
 
@@ -32,6 +41,8 @@ final class LogProcessorRunner implements Runnable, AutoCloseable {
         this.thread = thread;
         this.processor = processor;
         this.strategy = strategy;
+        this.backpressure = backpressure;
+        this.sweeper = sweeper;
     }
 
     public void open() {
@@ -77,6 +88,7 @@ final class LogProcessorRunner implements Runnable, AutoCloseable {
 
     private void signalToClose() {
         processor.deactivate();
+        LockSupport.unpark(thread);
     }
 
     private boolean awaitClose() {
@@ -116,10 +128,25 @@ final class LogProcessorRunner implements Runnable, AutoCloseable {
         processor.close();
     }
 
+    /**
+     * Runs the sweeper once per sweep period of idle iterations.
+     */
     private void doWork() {
+        int idles = 0;
+
         while (processor.active()) {
             try {
                 final int work = processor.work();
+
+                if (work > 0 && backpressure != null) {
+                    backpressure.signal();
+                }
+
+                if (work == 0 && sweeper != null && ++idles == SWEEP_PERIOD) {
+                    idles = 0;
+                    sweeper.run();
+                }
+
                 strategy.idle(work);
             } catch (final Throwable e) {
                 LogDebug.warn(e);
@@ -6,73 +6,137 @@ import com.epam.deltix.gflog.core.LogRecordBean;
 import com.epam.deltix.gflog.core.util.Buffer;
 import com.epam.deltix.gflog.core.util.UnsafeBuffer;
 
+import static com.epam.deltix.gflog.core.util.Util.SIZE_OF_BYTE;
+import static com.epam.deltix.gflog.core.util.Util.SIZE_OF_INT;
+import static com.epam.deltix.gflog.core.util.Util.SIZE_OF_LONG;
+
 
 final class LogRecordDecoder {
 
+    private static final String LOST_EXCEPTION = "<exception is not available>";
+
     private final LogRecordBean record = new LogRecordBean();
 
-    private final UnsafeBuffer threadName = new UnsafeBuffer();
     private final UnsafeBuffer message = new UnsafeBuffer();
+    private final UnsafeBuffer fragments = new UnsafeBuffer(new byte[0]);
 
     private final LogLimitedEntry entry;
     private final LogIndex logIndex;
+    private final LogIndex threadIndex;
     private final ExceptionIndex exceptionIndex;
+    private final TemplateIndex templateIndex;
+    private final ExceptionCache exceptionCache;
+
+    private int fragmentsLength = -1;
+    private int fragmentsReceived;
+
+    LogRecordDecoder(final LogLimitedEntry entry,
+                     final LogIndex logIndex,
+                     final LogIndex threadIndex,
+                     final ExceptionIndex exceptionIndex,
+                     final TemplateIndex templateIndex) {
 
-    LogRecordDecoder(final LogLimitedEntry entry, final LogIndex logIndex, final ExceptionIndex exceptionIndex) {
-        record.setThreadName(threadName);
         record.setMessage(message);
 
         this.entry = entry;
         this.logIndex = logIndex;
+        this.threadIndex = threadIndex;
         this.exceptionIndex = exceptionIndex;
+        this.templateIndex = templateIndex;
+        this.exceptionCache = (entry == null) ? null : entry.exceptionCache;
+    }
+
+    public LogRecord decode(final Buffer buffer, final int offset, final int length) {
+        return decode(buffer, offset, length, exceptionIndex);
     }
 
-    public LogRecord decode(final Buffer buffer, int offset, int length) {
-        if (hasException(buffer, offset)) {
-            return decodeException(buffer, offset, length);
+    /**
+     * Returns null for a fragment which does not complete the record.
+     */
+    public LogRecord decode(final Buffer buffer, final int offset, final int length, final ExceptionIndex exceptionIndex) {
+        final byte level = buffer.getByte(offset + LogRecordEncoder.LOG_LEVEL_OFFSET);
+
+        if (level == LogRecordEncoder.FRAGMENT_LEVEL) {
+            return decodeFragment(buffer, offset, length, exceptionIndex);
         }
 
-        final long timestamp = buffer.getLong(offset + LogRecordEncoder.TIMESTAMP_OFFSET);
-        final long appenderMask = buffer.getLong(offset + LogRecordEncoder.APPENDER_MASK_OFFSET);
-        final Buffer logName = logIndex.get(buffer.getInt(offset + LogRecordEncoder.LOG_NAME_OFFSET));
-        final LogLevel logLevel = LogLevel.valueOf(buffer.getByte(offset + LogRecordEncoder.LOG_LEVEL_OFFSET));
+        return decode(buffer, offset, length, exceptionIndex, offset);
+    }
 
-        record.setTimestamp(timestamp);
-        record.setAppenderMask(appenderMask);
-        record.setLogName(logName);
-        record.setLogLevel(logLevel);
+    private LogRecord decodeFragment(final Buffer buffer, final int offset, final int length, final ExceptionIndex exceptionIndex) {
+        final int recordLength = buffer.getInt(offset + LogRecordEncoder.FRAGMENT_RECORD_LENGTH_OFFSET);
+        final int position = buffer.getInt(offset + LogRecordEncoder.FRAGMENT_POSITION_OFFSET);
+        final int size = Math.min(length - LogRecordEncoder.FRAGMENT_HEADER_SIZE, recordLength - position); // the last can be padded
 
-        final byte threadNameLength = buffer.getByte(offset + LogRecordEncoder.THREAD_NAME_LENGTH_OFFSET);
-        offset = wrap(buffer, offset + LogRecordEncoder.ROOT_BLOCK_SIZE, threadNameLength, threadName);
+        if (position == 0) {
+            if (fragments.capacity() < recordLength) {
+                fragments.wrap(new byte[recordLength]);
+            }
 
-        length -= LogRecordEncoder.ROOT_BLOCK_SIZE + threadNameLength;
-        message.wrap(buffer, offset, length);
+            fragmentsLength = recordLength;
+            fragmentsReceived = 0;
+        } else if (position != fragmentsReceived || recordLength != fragmentsLength) {
+            fragmentsLength = -1; // the chain is broken, skips the rest
 
-        return record;
+            if (position + size == recordLength && exceptionIndex != null) {
+                exceptionIndex.remove(offset);
+            }
+
+            return null;
+        }
+
+        fragments.putBytes(position, buffer, offset + LogRecordEncoder.FRAGMENT_HEADER_SIZE, size);
+        fragmentsReceived += size;
+
+        if (fragmentsReceived < recordLength) {
+            return null;
+        }
+
+        fragmentsLength = -1;
+        return decode(fragments, 0, recordLength, exceptionIndex, offset); // the exception is kept at the last fragment
     }
 
-    private LogRecord decodeException(final Buffer buffer, int offset, int length) {
-        final Throwable exception = exceptionIndex.remove(offset);
-        final int exceptionPosition = buffer.getInt(offset + length - LogRecordEncoder.EXCEPTION_POSITION_OFFSET);
+    private LogRecord decode(final Buffer buffer, int offset, int length, final ExceptionIndex exceptionIndex, final int recordOffset) {
+        final byte level = buffer.getByte(offset + LogRecordEncoder.LOG_LEVEL_OFFSET);
+        final boolean exceptional = level < 0;
+        final int logLevel = exceptional ? ~level : level;
 
-        length = buffer.getInt(offset + length - LogRecordEncoder.EXCEPTION_REAL_LENGTH_OFFSET);
+        Throwable exception = null;
+        int exceptionPosition = 0;
+
+        if (exceptional) {
+            exception = (exceptionIndex == null) ? null : exceptionIndex.remove(recordOffset);
+            exceptionPosition = buffer.getInt(offset + length - LogRecordEncoder.EXCEPTION_POSITION_OFFSET);
+            length = buffer.getInt(offset + length - LogRecordEncoder.EXCEPTION_REAL_LENGTH_OFFSET);
+        }
 
         final long timestamp = buffer.getLong(offset + LogRecordEncoder.TIMESTAMP_OFFSET);
         final long appenderMask = buffer.getLong(offset + LogRecordEncoder.APPENDER_MASK_OFFSET);
         final Buffer logName = logIndex.get(buffer.getInt(offset + LogRecordEncoder.LOG_NAME_OFFSET));
-        final LogLevel logLevel = LogLevel.valueOf(~buffer.getByte(offset + LogRecordEncoder.LOG_LEVEL_OFFSET));
+        final Buffer threadName = threadIndex.get(buffer.getInt(offset + LogRecordEncoder.THREAD_INDEX_OFFSET));
 
         record.setTimestamp(timestamp);
         record.setAppenderMask(appenderMask);
         record.setLogName(logName);
-        record.setLogLevel(logLevel);
+        record.setThreadName(threadName);
+        record.setLogLevel(LogLevel.valueOf(logLevel & ~LogRecordEncoder.DEFERRED_FLAG));
 
-        final byte threadNameLength = buffer.getByte(offset + LogRecordEncoder.THREAD_NAME_LENGTH_OFFSET);
-        offset = wrap(buffer, offset + LogRecordEncoder.ROOT_BLOCK_SIZE, threadNameLength, threadName);
-        length -= LogRecordEncoder.ROOT_BLOCK_SIZE + threadNameLength;
+        if (exceptional && exceptionCache != null) {
+            exceptionCache.timestamp(timestamp);
+        }
 
-        formatException(exception, exceptionPosition, buffer, offset, length);
-        message.wrap(entry.array(), 0, entry.length());
+        offset += LogRecordEncoder.ROOT_BLOCK_SIZE;
+        length -= LogRecordEncoder.ROOT_BLOCK_SIZE;
+
+        if ((logLevel & LogRecordEncoder.DEFERRED_FLAG) != 0) {
+            formatTemplate(exception, buffer, offset, length);
+            message.wrap(entry.array(), 0, entry.length());
+        } else if (exceptional) {
+            formatException(exception, exceptionPosition, buffer, offset, length);
+            message.wrap(entry.array(), 0, entry.length());
+        } else {
+            message.wrap(buffer, offset, length);
+        }
 
         return record;
     }
@@ -85,18 +149,121 @@ final class LogRecordDecoder {
 
         entry.reset(0);
         entry.appendUtf8Bytes(buffer, offset, exceptionPosition);
-        entry.append(exception);
+        appendException(exception);
         entry.appendUtf8Bytes(buffer, offset + exceptionPosition, length - exceptionPosition);
     }
 
-    private static boolean hasException(final Buffer buffer, int offset) {
-        final byte logLevel = buffer.getByte(offset + LogRecordEncoder.LOG_LEVEL_OFFSET);
-        return logLevel < 0;
+    private void formatTemplate(final Throwable exception, final Buffer buffer, int offset, final int length) {
+        final int end = offset + length;
+        final TemplateIndex.Template template = templateIndex.get(buffer.getInt(offset));
+        final String text = template.text();
+        final int placeholders = template.placeholders();
+
+        offset += LogRecordEncoder.TEMPLATE_INDEX_SIZE;
+
+        entry.reset(0);
+        entry.append(text, template.start(0), template.end(0));
+
+        for (int placeholder = 1; placeholder <= placeholders && offset < end; placeholder++) {
+            final byte type = buffer.getByte(offset);
+
+            if (type == LogRecordEncoder.ARGUMENT_TRUNCATED) {
+                entry.appendTruncationSuffix();
+                break;
+            }
+
+            offset = formatArgument(type, exception, buffer, offset + LogRecordEncoder.ARGUMENT_TYPE_SIZE);
+
+            if (type == LogRecordEncoder.ARGUMENT_TEXT_TRUNCATED) {
+                break;
+            }
+
+            entry.append(text, template.start(placeholder), template.end(placeholder));
+        }
     }
 
-    private static int wrap(final Buffer buffer, final int offset, final int length, final UnsafeBuffer flyweight) {
-        flyweight.wrap(buffer, offset, length);
-        return offset + length;
+    private int formatArgument(final byte type, final Throwable exception, final Buffer buffer, final int offset) {
+        switch (type) {
+            case LogRecordEncoder.ARGUMENT_TEXT:
+            case LogRecordEncoder.ARGUMENT_TEXT_TRUNCATED:
+                final int size = buffer.getInt(offset);
+                entry.appendUtf8Bytes(buffer, offset + SIZE_OF_INT, size);
+                return offset + SIZE_OF_INT + size;
+
+            case LogRecordEncoder.ARGUMENT_EXCEPTION:
+                appendException(exception);
+                return offset;
+
+            case LogRecordEncoder.ARGUMENT_DOUBLE_PRECISION:
+                final double value = Double.longBitsToDouble(buffer.getLong(offset));
+                entry.append(value, buffer.getByte(offset + SIZE_OF_LONG));
+                return offset + SIZE_OF_LONG + SIZE_OF_BYTE;
+        }
+
+        final long value = buffer.getLong(offset);
+
+        switch (type) {
+            case LogRecordEncoder.ARGUMENT_BOOLEAN:
+                entry.append(value != 0);
+                break;
+
+            case LogRecordEncoder.ARGUMENT_CHAR:
+                entry.append((char) value);
+                break;
+
+            case LogRecordEncoder.ARGUMENT_LONG:
+                entry.append(value);
+                break;
+
+            case LogRecordEncoder.ARGUMENT_DOUBLE:
+                entry.append(Double.longBitsToDouble(value));
+                break;
+
+            case LogRecordEncoder.ARGUMENT_DECIMAL64:
+                entry.appendDecimal64(value);
+                break;
+
+            case LogRecordEncoder.ARGUMENT_TIMESTAMP:
+                entry.appendTimestamp(value);
+                break;
+
+            case LogRecordEncoder.ARGUMENT_TIMESTAMP_NS:
+                entry.appendTimestampNs(value);
+                break;
+
+            case LogRecordEncoder.ARGUMENT_DATE:
+                entry.appendDate(value);
+                break;
+
+            case LogRecordEncoder.ARGUMENT_DATE_NS:
+                entry.appendDateNs(value);
+                break;
+
+            case LogRecordEncoder.ARGUMENT_TIME:
+                entry.appendTime(value);
+                break;
+
+            case LogRecordEncoder.ARGUMENT_TIME_NS:
+                entry.appendTimeNs(value);
+                break;
+
+            case LogRecordEncoder.ARGUMENT_ALPHANUMERIC:
+                entry.appendAlphanumeric(value);
+                break;
+
+            default:
+                throw new IllegalStateException("unknown template argument type: " + type);
+        }
+
+        return offset + SIZE_OF_LONG;
+    }
+
+    private void appendException(final Throwable exception) {
+        if (exception == null) {
+            entry.append(LOST_EXCEPTION);
+        } else {
+            entry.append(exception);
+        }
     }
 
 }
@@ -1,7 +1,5 @@
 package com.epam.deltix.gflog.core.service;
 
-import com.epam.deltix.gflog.core.util.Buffer;
-
 import static com.epam.deltix.gflog.core.util.Util.ARRAY_BYTE_BASE_OFFSET;
 import static com.epam.deltix.gflog.core.util.Util.UNSAFE;
 
@@ -13,39 +11,67 @@ final class LogRecordEncoder {
     static final int TIMESTAMP_OFFSET = 8;
     static final int APPENDER_MASK_OFFSET = 16;
     static final int LOG_LEVEL_OFFSET = 24;
-    static final int THREAD_NAME_LENGTH_OFFSET = 25;
+    static final int THREAD_INDEX_OFFSET = 25;
 
     static final int EXCEPTION_POSITION_OFFSET = 8;
     static final int EXCEPTION_REAL_LENGTH_OFFSET = 4;
 
-    static final int ROOT_BLOCK_SIZE = 26;
-    static final int MIN_SIZE = ROOT_BLOCK_SIZE + Byte.MAX_VALUE;
+    static final int ROOT_BLOCK_SIZE = 29;
+    static final int MIN_SIZE = ROOT_BLOCK_SIZE;
     static final int ALIGNMENT = 8;
 
-    static int size(final Buffer threadName, final int messageLength) {
-        return ROOT_BLOCK_SIZE + threadName.capacity() + messageLength;
+    static final int FRAGMENT_RECORD_LENGTH_OFFSET = 4;
+    static final int FRAGMENT_POSITION_OFFSET = 8;
+    static final int FRAGMENT_HEADER_SIZE = 32;
+    static final byte FRAGMENT_LEVEL = 0x20;
+
+    static final int DEFERRED_FLAG = 0x40;
+    static final int TEMPLATE_INDEX_SIZE = 4;
+
+    static final byte ARGUMENT_TRUNCATED = 0;
+    static final byte ARGUMENT_TEXT = 1;
+    static final byte ARGUMENT_TEXT_TRUNCATED = 2;
+    static final byte ARGUMENT_EXCEPTION = 3;
+    static final byte ARGUMENT_BOOLEAN = 4;
+    static final byte ARGUMENT_CHAR = 5;
+    static final byte ARGUMENT_LONG = 6;
+    static final byte ARGUMENT_DOUBLE = 7;
+    static final byte ARGUMENT_DOUBLE_PRECISION = 8;
+    static final byte ARGUMENT_DECIMAL64 = 9;
+    static final byte ARGUMENT_TIMESTAMP = 10;
+    static final byte ARGUMENT_TIMESTAMP_NS = 11;
+    static final byte ARGUMENT_DATE = 12;
+    static final byte ARGUMENT_DATE_NS = 13;
+    static final byte ARGUMENT_TIME = 14;
+    static final byte ARGUMENT_TIME_NS = 15;
+    static final byte ARGUMENT_ALPHANUMERIC = 16;
+
+    static final int ARGUMENT_TYPE_SIZE = 1;
+    static final int ARGUMENT_VALUE_SIZE = ARGUMENT_TYPE_SIZE + 8;
+    static final int ARGUMENT_PRECISION_SIZE = ARGUMENT_VALUE_SIZE + 1;
+    static final int ARGUMENT_TEXT_HEADER_SIZE = ARGUMENT_TYPE_SIZE + 4;
+
+    static int size(final int messageLength) {
+        return ROOT_BLOCK_SIZE + messageLength;
     }
 
     static void encode(final long timestamp,
                        final long appenderMask,
                        final int logName,
                        final int logLevel,
-                       final Buffer threadName,
+                       final int threadIndex,
                        final byte[] messageBuffer,
                        final int messageLength,
                        final long address) {
 
-        final int threadNameLength = threadName.capacity();
-        final long threadNameAddress = address + ROOT_BLOCK_SIZE;
-        final long messageAddress = threadNameAddress + threadNameLength;
+        final long messageAddress = address + ROOT_BLOCK_SIZE;
 
         UNSAFE.putInt(address + LOG_NAME_OFFSET, logName);
         UNSAFE.putLong(address + TIMESTAMP_OFFSET, timestamp);
         UNSAFE.putLong(address + APPENDER_MASK_OFFSET, appenderMask);
         UNSAFE.putByte(address + LOG_LEVEL_OFFSET, (byte) logLevel);
-        UNSAFE.putByte(address + THREAD_NAME_LENGTH_OFFSET, (byte) threadNameLength);
+        UNSAFE.putInt(address + THREAD_INDEX_OFFSET, threadIndex);
 
-        UNSAFE.copyMemory(threadName.byteArray(), threadName.address(), null, threadNameAddress, threadNameLength);
         UNSAFE.copyMemory(messageBuffer, ARRAY_BYTE_BASE_OFFSET, null, messageAddress, messageLength);
     }
 
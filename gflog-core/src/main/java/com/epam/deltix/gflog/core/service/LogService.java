@@ -1,10 +1,14 @@
 package com.epam.deltix.gflog.core.service;
 
 import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.api.LogTemplate;
+import com.epam.deltix.gflog.core.LogEntryHolder;
 import com.epam.deltix.gflog.core.LogInfo;
 import com.epam.deltix.gflog.core.Logger;
 import com.epam.deltix.gflog.core.appender.Appender;
 import com.epam.deltix.gflog.core.clock.Clock;
+import com.epam.deltix.gflog.core.metric.NoOpCounter;
+import com.epam.deltix.gflog.core.util.Util;
 
 import static java.util.Arrays.sort;
 import static java.util.Comparator.comparing;
@@ -15,6 +19,7 @@ public abstract class LogService implements AutoCloseable {
     protected static final LogInfo NO_LOG_INFO = new LogInfo("", LogLevel.FATAL, new long[LogLevel.values().length]);
 
     protected final LogIndex logIndex = new LogIndex();
+    protected final ThreadIndex threadIndex = new ThreadIndex();
 
     protected final String entryTruncationSuffix;
     protected final int entryInitialCapacity;
@@ -23,6 +28,8 @@ public abstract class LogService implements AutoCloseable {
     protected final boolean entryExceptional;
 
     protected final ThreadLocal<LogLocalEntry> logEntry;
+    protected LogEntryPool entryPool;
+    protected LogEntryMemory entryMemory = new LogEntryMemory(0, 0, NoOpCounter.INSTANCE, NoOpCounter.INSTANCE);
     protected final Clock clock;
 
     protected final Appender[] appenders;
@@ -41,13 +48,21 @@ public abstract class LogService implements AutoCloseable {
         this.entryMaxCapacity = entryMaxCapacity;
         this.entryUtf8 = entryUtf8;
         this.entryExceptional = entryExceptional;
-        this.logEntry = ThreadLocal.withInitial(this::newLogLocalEntry);
+        this.logEntry = ThreadLocal.withInitial(() -> newLogLocalEntry(false));
         this.clock = clock;
         this.logs = createLogInfos(loggers, appenders);
         this.appenders = appenders;
     }
 
-    private LogLocalEntry newLogLocalEntry() {
+    void entryPool(final int capacity) {
+        entryPool = (capacity > 0) ? new LogEntryPool(capacity) : null;
+    }
+
+    void entryMemory(final LogEntryMemory memory) {
+        entryMemory = memory;
+    }
+
+    LogLocalEntry newLogLocalEntry(final boolean pooled) {
         return new LogLocalEntry(
                 this,
                 Thread.currentThread(),
@@ -55,7 +70,10 @@ public abstract class LogService implements AutoCloseable {
                 entryInitialCapacity,
                 entryMaxCapacity,
                 entryUtf8,
-                entryExceptional
+                entryExceptional,
+                false,
+                null,
+                pooled
         );
     }
 
@@ -65,21 +83,75 @@ public abstract class LogService implements AutoCloseable {
     public abstract void close();
 
     public LogLocalEntry claim(final int logName, final int logLevel, final long appenderMask) {
-        final LogLocalEntry entry = logEntry.get();
+        final LogLocalEntry entry = entry();
         entry.onClaim(logName, logLevel, appenderMask);
         return entry;
     }
 
     public LogLocalEntry claim(final int logName, final int logLevel, final long appenderMask, final String template) {
-        final LogLocalEntry entry = logEntry.get();
+        final LogLocalEntry entry = entry();
+        entry.onClaim(logName, logLevel, appenderMask, template);
+        return entry;
+    }
+
+    public LogLocalEntry claim(final int logName, final int logLevel, final long appenderMask, final LogTemplate template) {
+        final LogLocalEntry entry = entry();
         entry.onClaim(logName, logLevel, appenderMask, template);
         return entry;
     }
 
+    void release(final LogLocalEntry entry) {
+        if (!entryPool.release(Thread.currentThread(), entry)) {
+            entry.freeMemory();
+            discard(entry);
+        }
+    }
+
+    void discard(final LogLocalEntry entry) {
+    }
+
+    private LogLocalEntry entry() {
+        final Thread thread = Thread.currentThread();
+
+        if (thread instanceof LogEntryHolder) {
+            final LogEntryHolder holder = (LogEntryHolder) thread;
+            final Object held = holder.getLogEntry();
+
+            if (held instanceof LogLocalEntry && ((LogLocalEntry) held).service() == this) {
+                return (LogLocalEntry) held;
+            }
+
+            final LogLocalEntry entry = logEntry.get();
+            holder.setLogEntry(entry);
+            return entry;
+        }
+
+        final LogEntryPool pool = entryPool;
+
+        if (pool != null && Util.isVirtual(thread)) {
+            LogLocalEntry entry = pool.borrow(thread);
+
+            if (entry == null) {
+                entry = newLogLocalEntry(true);
+            }
+
+            entry.bind(thread);
+            return entry;
+        }
+
+        return logEntry.get();
+    }
+
     abstract void commit(final LogLocalEntry entry);
 
     abstract void commit(final LogLocalEntry entry, final Throwable exception, final int exceptionPosition);
 
+    void reserve(final LogLocalEntry entry) {
+    }
+
+    void abort(final LogLocalEntry entry) {
+    }
+
     public LogInfo register(final String logName, final int index) {
         logIndex.put(logName, index);
 
@@ -106,7 +178,7 @@ public abstract class LogService implements AutoCloseable {
             final LogLevel level = logger.getLevel();
             final long[] appenderMask = buildAppenderMask(logger, appenders);
 
-            infos[i] = new LogInfo(name, level, appenderMask);
+            infos[i] = new LogInfo(name, level, appenderMask, logger.getOverflowStrategy());
         }
 
         sort(infos, comparing(LogInfo::getName));
@@ -4,6 +4,8 @@ import com.epam.deltix.gflog.core.Logger;
 import com.epam.deltix.gflog.core.appender.Appender;
 import com.epam.deltix.gflog.core.clock.Clock;
 import com.epam.deltix.gflog.core.clock.ClockFactory;
+import com.epam.deltix.gflog.core.metric.Counter;
+import com.epam.deltix.gflog.core.metric.NoOpCounter;
 import com.epam.deltix.gflog.core.util.PropertyUtil;
 
 import java.util.Collection;
@@ -23,11 +25,21 @@ public abstract class LogServiceFactory {
     protected static final int ENTRY_MAX_CAPACITY = PropertyUtil.getMemory("gflog.entry.max.capacity", 64 * 1024);
     protected static final int ENTRY_CAPACITY_LIMIT = 512 * 1024 * 1024;
 
+    protected static final int ENTRY_POOL_CAPACITY = PropertyUtil.getInteger("gflog.entry.pool.capacity", 0);
+
+    protected static final long ENTRY_MEMORY_BUDGET = PropertyUtil.getMemory("gflog.entry.memory.budget", 0L);
+    protected static final int ENTRY_SHRINK_THRESHOLD = PropertyUtil.getInteger("gflog.entry.shrink.threshold", 1024);
+
     protected Clock clock;
     protected String entryTruncationSuffix;
     protected String entryEncoding;
     protected int entryInitialCapacity;
     protected int entryMaxCapacity;
+    protected int entryPoolCapacity = ENTRY_POOL_CAPACITY;
+    protected long entryMemoryBudget = ENTRY_MEMORY_BUDGET;
+    protected int entryShrinkThreshold = ENTRY_SHRINK_THRESHOLD;
+    protected Counter entryMemoryCounter;
+    protected Counter entryPeakMemoryCounter;
 
     public void setClock(final Clock clock) {
         this.clock = clock;
@@ -69,6 +81,60 @@ public abstract class LogServiceFactory {
         return entryMaxCapacity;
     }
 
+    public void setEntryPoolCapacity(final int entryPoolCapacity) {
+        this.entryPoolCapacity = entryPoolCapacity;
+    }
+
+    public int getEntryPoolCapacity() {
+        return entryPoolCapacity;
+    }
+
+    /**
+     * @param entryMemoryBudget the memory all entries can hold over their initial capacity, 0 - unlimited.
+     *                          Messages claimed after the budget is spent are truncated at the entry capacity.
+     */
+    public void setEntryMemoryBudget(final long entryMemoryBudget) {
+        this.entryMemoryBudget = entryMemoryBudget;
+    }
+
+    public long getEntryMemoryBudget() {
+        return entryMemoryBudget;
+    }
+
+    /**
+     * @param entryShrinkThreshold the number of consecutive messages fitting the initial capacity
+     *                             after which a grown entry shrinks back to it, 0 - never.
+     */
+    public void setEntryShrinkThreshold(final int entryShrinkThreshold) {
+        this.entryShrinkThreshold = entryShrinkThreshold;
+    }
+
+    public int getEntryShrinkThreshold() {
+        return entryShrinkThreshold;
+    }
+
+    /**
+     * @param entryMemoryCounter receives the signed changes of the memory the entries hold over their initial capacity.
+     */
+    public void setEntryMemoryCounter(final Counter entryMemoryCounter) {
+        this.entryMemoryCounter = entryMemoryCounter;
+    }
+
+    public Counter getEntryMemoryCounter() {
+        return entryMemoryCounter;
+    }
+
+    /**
+     * @param entryPeakMemoryCounter receives the increases of the peak memory the entries hold over their initial capacity.
+     */
+    public void setEntryPeakMemoryCounter(final Counter entryPeakMemoryCounter) {
+        this.entryPeakMemoryCounter = entryPeakMemoryCounter;
+    }
+
+    public Counter getEntryPeakMemoryCounter() {
+        return entryPeakMemoryCounter;
+    }
+
     public LogService create(final Collection<Logger> loggers, final Collection<Appender> appenders) {
         conclude();
 
@@ -76,7 +142,7 @@ public abstract class LogServiceFactory {
         final Appender[] appendersArray = appenders.toArray(new Appender[0]);
         final boolean entryUtf8 = ENCODING_UTF_8.equalsIgnoreCase(entryEncoding);
 
-        return createService(
+        final LogService service = createService(
                 loggersArray,
                 appendersArray,
                 clock,
@@ -85,6 +151,10 @@ public abstract class LogServiceFactory {
                 entryMaxCapacity,
                 entryUtf8
         );
+
+        service.entryPool(entryPoolCapacity);
+        service.entryMemory(new LogEntryMemory(entryMemoryBudget, entryShrinkThreshold, entryMemoryCounter, entryPeakMemoryCounter));
+        return service;
     }
 
     protected void conclude() {
@@ -113,6 +183,26 @@ public abstract class LogServiceFactory {
         }
 
         entryMaxCapacity = Math.min(entryMaxCapacity, ENTRY_CAPACITY_LIMIT);
+
+        if (entryPoolCapacity < 0) {
+            entryPoolCapacity = 0;
+        }
+
+        if (entryMemoryBudget < 0) {
+            entryMemoryBudget = 0;
+        }
+
+        if (entryShrinkThreshold < 0) {
+            entryShrinkThreshold = 0;
+        }
+
+        if (entryMemoryCounter == null) {
+            entryMemoryCounter = NoOpCounter.INSTANCE;
+        }
+
+        if (entryPeakMemoryCounter == null) {
+            entryPeakMemoryCounter = NoOpCounter.INSTANCE;
+        }
     }
 
     protected abstract LogService createService(final Logger[] loggers,
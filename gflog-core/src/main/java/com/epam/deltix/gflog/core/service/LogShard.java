@@ -0,0 +1,29 @@
+package com.epam.deltix.gflog.core.service;
+
+
+final class LogShard {
+
+    final LogBuffer buffer;
+    final ExceptionIndex exceptionIndex;
+    final Thread owner;
+
+    int nextOffset = -1;
+    long nextTimestamp;
+
+    private volatile boolean retired;
+
+    LogShard(final LogBuffer buffer, final ExceptionIndex exceptionIndex, final Thread owner) {
+        this.buffer = buffer;
+        this.exceptionIndex = exceptionIndex;
+        this.owner = owner;
+    }
+
+    void retire() {
+        retired = true;
+    }
+
+    boolean isRetired() {
+        return (retired || owner != null && !owner.isAlive()) && buffer.isEmpty();
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.epam.deltix.gflog.core.service;
+
+import java.util.Arrays;
+
+
+final class LogShardRegistry {
+
+    private static final LogShard[] EMPTY = new LogShard[0];
+
+    private final int shardCapacity;
+    private final int exceptionIndexCapacity;
+    private final boolean heap;
+    private final boolean stamped;
+
+    private volatile LogShard[] shards = EMPTY;
+    private boolean closed;
+
+    LogShardRegistry(final int shardCapacity, final int exceptionIndexCapacity, final boolean heap, final boolean stamped) {
+        this.shardCapacity = shardCapacity;
+        this.exceptionIndexCapacity = exceptionIndexCapacity;
+        this.heap = heap;
+        this.stamped = stamped;
+    }
+
+    int shardCapacity() {
+        return shardCapacity;
+    }
+
+    LogShard[] shards() {
+        return shards;
+    }
+
+    synchronized LogShard register(final Thread owner) {
+        final LogBuffer buffer = new LogBuffer(shardCapacity, true, heap, stamped);
+        final ExceptionIndex index = (exceptionIndexCapacity > 0) ?
+                new ExceptionIndex(exceptionIndexCapacity, shardCapacity) :
+                null;
+
+        final LogShard shard = new LogShard(buffer, index, owner);
+
+        if (closed) {
+            buffer.unblock();
+        } else {
+            final LogShard[] shards = this.shards;
+            final LogShard[] newShards = Arrays.copyOf(shards, shards.length + 1);
+
+            newShards[shards.length] = shard;
+            this.shards = newShards;
+        }
+
+        return shard;
+    }
+
+    void retire() {
+        for (final LogShard shard : shards) {
+            if (shard.isRetired()) {
+                doRetire();
+                break;
+            }
+        }
+    }
+
+    private synchronized void doRetire() {
+        final LogShard[] shards = this.shards;
+        final LogShard[] newShards = new LogShard[shards.length];
+
+        int count = 0;
+
+        for (final LogShard shard : shards) {
+            if (!shard.isRetired()) {
+                newShards[count++] = shard;
+            }
+        }
+
+        if (count < shards.length) {
+            this.shards = Arrays.copyOf(newShards, count);
+        }
+    }
+
+    synchronized void close() {
+        closed = true;
+
+        for (final LogShard shard : shards) {
+            shard.buffer.unblock();
+        }
+    }
+
+}
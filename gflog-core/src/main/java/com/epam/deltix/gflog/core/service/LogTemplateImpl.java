@@ -0,0 +1,55 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.api.LogTemplate;
+import com.epam.deltix.gflog.core.util.Formatting;
+
+import java.util.Arrays;
+
+
+public final class LogTemplateImpl extends LogTemplate {
+
+    private final int[] bounds;
+    private final byte[][] asciiChunks;
+    private final byte[][] utf8Chunks;
+
+    public LogTemplateImpl(final String template) {
+        super(template);
+
+        final int[] bounds = LogLocalEntry.splitTemplate(template);
+        final int chunks = bounds.length >> 1;
+
+        final byte[][] asciiChunks = new byte[chunks][];
+        final byte[][] utf8Chunks = new byte[chunks][];
+
+        for (int i = 0; i < chunks; i++) {
+            final int start = bounds[i << 1];
+            final int end = bounds[(i << 1) + 1];
+
+            final byte[] ascii = new byte[end - start];
+            Formatting.formatAsciiString(template, start, end, ascii, 0);
+
+            final byte[] utf8 = new byte[(end - start) << 2];
+            final int utf8Length = Formatting.formatUtf8String(template, start, end, utf8, 0);
+
+            asciiChunks[i] = ascii;
+            utf8Chunks[i] = Arrays.copyOf(utf8, utf8Length);
+        }
+
+        this.bounds = bounds;
+        this.asciiChunks = asciiChunks;
+        this.utf8Chunks = utf8Chunks;
+    }
+
+    byte[][] chunks(final boolean utf8) {
+        return utf8 ? utf8Chunks : asciiChunks;
+    }
+
+    int start(final int chunk) {
+        return bounds[chunk << 1];
+    }
+
+    int end(final int chunk) {
+        return bounds[(chunk << 1) + 1];
+    }
+
+}
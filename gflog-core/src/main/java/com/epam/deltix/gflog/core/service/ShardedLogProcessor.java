@@ -0,0 +1,116 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.core.LogRecord;
+import com.epam.deltix.gflog.core.appender.Appender;
+import com.epam.deltix.gflog.core.util.Util;
+
+
+final class ShardedLogProcessor extends AsyncLogProcessor {
+
+    private static final int RETIRE_PERIOD = 1024;
+
+    private final LogShardRegistry registry;
+    private final LogRecordDecoder decoder;
+    private final int maxReadLength;
+
+    private int readLength = LogBuffer.MIN_READ_LENGTH;
+    private int idles;
+
+    ShardedLogProcessor(final LogShardRegistry registry,
+                        final LogShard priority,
+                        final LogRecordDecoder decoder,
+                        final Appender[] appenders) {
+        super(appenders, priority, decoder);
+
+        this.registry = registry;
+        this.decoder = decoder;
+        this.maxReadLength = Math.max(registry.shardCapacity() >> 3, LogBuffer.MIN_READ_LENGTH);
+    }
+
+    @Override
+    public void close() {
+        registry.close();
+        super.close();
+    }
+
+    @Override
+    int doWork() {
+        final LogShard[] shards = registry.shards();
+        final int limit = readLength;
+        int work = 0;
+
+        try {
+            while (work < limit) {
+                final LogShard shard = next(shards);
+
+                if (shard == null) {
+                    break;
+                }
+
+                final LogBuffer buffer = shard.buffer;
+                final int offset = shard.nextOffset;
+                final int length = buffer.length(offset);
+
+                shard.nextOffset = -1;
+                buffer.advance(length);
+                work += Util.align(length, LogRecordEncoder.ALIGNMENT);
+
+                final LogRecord record = decoder.decode(buffer.buffer(), offset, length, shard.exceptionIndex);
+                process(record);
+            }
+        } finally {
+            for (final LogShard shard : shards) {
+                shard.buffer.release();
+            }
+        }
+
+        readLength = LogBuffer.readLength(limit, work, limit, maxReadLength);
+
+        if (work == 0) {
+            work = flush();
+
+            if (++idles == RETIRE_PERIOD) {
+                idles = 0;
+                registry.retire();
+            }
+        }
+
+        return work;
+    }
+
+    @Override
+    boolean isEmpty() {
+        for (final LogShard shard : registry.shards()) {
+            if (!shard.buffer.isEmpty()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static LogShard next(final LogShard[] shards) {
+        LogShard next = null;
+
+        for (final LogShard shard : shards) {
+            if (shard.nextOffset < 0) {
+                final LogBuffer buffer = shard.buffer;
+                final int offset = buffer.peek();
+
+                if (offset < 0) {
+                    continue;
+                }
+
+                shard.nextOffset = offset;
+                shard.nextTimestamp = buffer.buffer().getLong(offset + LogRecordEncoder.TIMESTAMP_OFFSET);
+            }
+
+            if (next == null || shard.nextTimestamp < next.nextTimestamp) {
+                next = shard;
+            }
+        }
+
+        return next;
+    }
+
+}
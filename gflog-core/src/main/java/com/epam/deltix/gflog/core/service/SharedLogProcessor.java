@@ -0,0 +1,68 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.core.LogRecord;
+import com.epam.deltix.gflog.core.appender.Appender;
+import com.epam.deltix.gflog.core.util.Buffer;
+
+
+final class SharedLogProcessor extends AsyncLogProcessor implements LogBuffer.RecordHandler {
+
+    private final LogBuffer buffer;
+    private final LogRecordDecoder decoder;
+
+    private final LogBufferFile file;
+    private final LogLimitedEntry recoveryEntry;
+
+    SharedLogProcessor(final LogBuffer buffer,
+                       final LogShard priority,
+                       final LogRecordDecoder decoder,
+                       final LogRecordDecoder priorityDecoder,
+                       final Appender[] appenders,
+                       final LogBufferFile file,
+                       final LogLimitedEntry recoveryEntry) {
+        super(appenders, priority, priorityDecoder);
+
+        this.buffer = buffer;
+        this.decoder = decoder;
+        this.file = file;
+        this.recoveryEntry = recoveryEntry;
+    }
+
+    @Override
+    void open() {
+        super.open();
+
+        if (file != null) {
+            file.replay(this, recoveryEntry);
+        }
+    }
+
+    @Override
+    public void close() {
+        buffer.unblock();
+        super.close();
+    }
+
+    @Override
+    int doWork() {
+        int work = buffer.read(this);
+
+        if (work == 0) {
+            work = flush();
+        }
+
+        return work;
+    }
+
+    @Override
+    boolean isEmpty() {
+        return buffer.isEmpty();
+    }
+
+    @Override
+    public void onRecord(final Buffer buffer, final int offset, final int length) {
+        final LogRecord record = decoder.decode(buffer, offset, length);
+        process(record);
+    }
+
+}
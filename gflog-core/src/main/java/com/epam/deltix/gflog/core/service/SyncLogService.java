@@ -25,7 +25,7 @@ final class SyncLogService extends LogService {
                    final boolean entryUtf8) {
         super(loggers, appenders, clock, entryTruncationSuffix, entryInitialCapacity, entryMaxCapacity, entryUtf8, false);
 
-        this.decoder = new LogRecordDecoder(null, logIndex, null);
+        this.decoder = new LogRecordDecoder(null, logIndex, threadIndex.names(), null, null);
         this.processor = new LogProcessor(appenders);
     }
 
@@ -53,6 +53,7 @@ final class SyncLogService extends LogService {
             final LogRecord record = decoder.decode(buffer, 0, buffer.capacity());
 
             processor.process(record);
+            processor.endBatch();
             processor.flush();
         }
     }
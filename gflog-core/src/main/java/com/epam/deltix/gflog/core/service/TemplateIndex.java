@@ -0,0 +1,89 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.core.util.Util;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+final class TemplateIndex {
+
+    static final int MAX_CAPACITY = 16384;
+
+    private final ConcurrentHashMap<String, Template> lookup = new ConcurrentHashMap<>();
+    private Template[] map = new Template[256];
+    private int size;
+
+    /**
+     * @return the registered template or null if the index is full.
+     */
+    Template register(final String template) {
+        final Template entry = lookup.get(template);
+        return (entry == null) ? doRegister(template) : entry;
+    }
+
+    Template get(final int index) {
+        return map[index];
+    }
+
+    private synchronized Template doRegister(final String template) {
+        Template entry = lookup.get(template);
+
+        if (entry == null && size < MAX_CAPACITY) {
+            Template[] map = this.map;
+            final int index = size;
+
+            if (index >= map.length) {
+                map = Arrays.copyOf(map, index << 1);
+                Util.UNSAFE.storeFence();
+                this.map = map;
+            }
+
+            entry = new Template(index, template);
+            map[index] = entry;
+            size = index + 1;
+
+            lookup.put(template, entry);
+        }
+
+        return entry;
+    }
+
+    static final class Template {
+
+        private final int index;
+        private final String text;
+        private final int[] bounds;
+
+        private Template(final int index, final String text) {
+            this.index = index;
+            this.text = text;
+            this.bounds = LogLocalEntry.splitTemplate(text);
+        }
+
+        int index() {
+            return index;
+        }
+
+        String text() {
+            return text;
+        }
+
+        int placeholders() {
+            return (bounds.length >> 1) - 1;
+        }
+
+        /**
+         * @return the start of the text preceding the placeholder or the tail if the placeholder equals placeholders().
+         */
+        int start(final int placeholder) {
+            return bounds[placeholder << 1];
+        }
+
+        int end(final int placeholder) {
+            return bounds[(placeholder << 1) + 1];
+        }
+
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.core.util.PropertyUtil;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjIntConsumer;
+
+
+/**
+ * Interns the thread names, so the records carry the index instead of the name.
+ * The index is bounded: once it is full, the slot of a name not used for the grace period is reused (CLOCK),
+ * so the records still in flight keep their name. If no slot can be reused, the name falls back to the overflow
+ * name until the next attempt after the grace period.
+ */
+final class ThreadIndex {
+
+    static final int CAPACITY = PropertyUtil.getInteger("gflog.thread.index.capacity", 4 * 1024);
+    static final long GRACE_PERIOD = PropertyUtil.getDuration("gflog.thread.index.grace.period", TimeUnit.NANOSECONDS, TimeUnit.SECONDS.toNanos(10));
+    static final String OVERFLOW_NAME = "<overflow>";
+
+    private final ConcurrentHashMap<String, Slot> indices = new ConcurrentHashMap<>();
+    private final LogIndex names = new LogIndex();
+
+    private final int capacity;
+    private final long gracePeriod;
+    private final Slot[] slots;
+
+    private ObjIntConsumer<String> listener;
+    private Slot overflow;
+    private int size;
+    private int hand;
+
+    ThreadIndex() {
+        this(CAPACITY, GRACE_PERIOD);
+    }
+
+    ThreadIndex(final int capacity, final long gracePeriod) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity: " + capacity + " <= 0");
+        }
+
+        if (gracePeriod < 0) {
+            throw new IllegalArgumentException("grace period: " + gracePeriod + " < 0");
+        }
+
+        this.capacity = capacity;
+        this.gracePeriod = gracePeriod;
+        this.slots = new Slot[capacity];
+        this.names.put(OVERFLOW_NAME, capacity);
+    }
+
+    synchronized void listener(final ObjIntConsumer<String> listener) {
+        this.listener = listener;
+
+        if (listener != null) {
+            listener.accept(OVERFLOW_NAME, capacity);
+
+            for (int i = 0; i < size; i++) {
+                listener.accept(slots[i].name, i);
+            }
+        }
+    }
+
+    Slot register(final String name) {
+        final Slot slot = indices.get(name);
+
+        if (slot == null) {
+            return registerSlow(name);
+        }
+
+        slot.referenced = true;
+        return slot;
+    }
+
+    private synchronized Slot registerSlow(final String name) {
+        Slot slot = indices.get(name);
+
+        if (slot != null) {
+            return slot;
+        }
+
+        final long now = System.nanoTime();
+        final int index = (size < capacity) ? size++ : evict(now);
+
+        if (index < 0) {
+            slot = overflow;
+
+            if (slot == null || now - slot.expiry >= 0) {
+                slot = new Slot(OVERFLOW_NAME, capacity, now + gracePeriod);
+                overflow = slot;
+            }
+
+            return slot;
+        }
+
+        slot = new Slot(name, index, Long.MAX_VALUE);
+        slots[index] = slot;
+        names.put(name, index);
+        indices.put(name, slot);
+
+        if (listener != null) {
+            listener.accept(name, index);
+        }
+
+        return slot;
+    }
+
+    /**
+     * Finds a slot not referenced since the hand has passed it at least the grace period ago.
+     */
+    private int evict(final long now) {
+        for (int i = 0, limit = capacity << 1; i < limit; i++) {
+            final Slot slot = slots[hand];
+            hand = (hand + 1 == capacity) ? 0 : hand + 1;
+
+            if (slot.referenced) {
+                slot.referenced = false;
+                slot.released = now;
+            } else if (now - slot.released >= gracePeriod) {
+                slot.evicted = true;
+                indices.remove(slot.name);
+                return slot.index;
+            }
+        }
+
+        return -1;
+    }
+
+    int size() {
+        return indices.size();
+    }
+
+    LogIndex names() {
+        return names;
+    }
+
+    static final class Slot {
+
+        final String name;
+        final int index;
+        final long expiry;
+
+        volatile boolean evicted;
+        boolean referenced = true;
+        long released;
+
+        Slot(final String name, final int index, final long expiry) {
+            this.name = name;
+            this.index = index;
+            this.expiry = expiry;
+        }
+
+        /**
+         * Marks the slot as used.
+         *
+         * @return true if the slot still holds the name, false if the name should be registered again.
+         */
+        boolean use() {
+            if (!referenced) {
+                referenced = true;
+            }
+
+            return !evicted && (expiry == Long.MAX_VALUE || System.nanoTime() - expiry < 0);
+        }
+
+    }
+
+}
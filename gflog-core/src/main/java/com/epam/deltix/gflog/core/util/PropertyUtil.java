@@ -44,6 +44,20 @@ public final class PropertyUtil {
         return defaultValue;
     }
 
+    public static double getDouble(final String name, double defaultValue) {
+        final String value = getString(name, null);
+
+        if (value != null) {
+            try {
+                defaultValue = Double.parseDouble(value);
+            } catch (final Throwable e) {
+                LogDebug.warn(String.format("double property \"%s\" with invalid value \"%s\"", name, value));
+            }
+        }
+
+        return defaultValue;
+    }
+
     public static int getMemory(final String name, int defaultValue) {
         final String value = getString(name, null);
 
@@ -5,8 +5,10 @@ import sun.misc.Unsafe;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.AccessController;
 import java.security.PrivilegedExceptionAction;
@@ -62,6 +64,8 @@ public final class Util {
     public static final String LINE_SEPARATOR = System.lineSeparator();
 
     private static final MethodHandle ON_SPIN_WAIT_METHOD_HANDLE;
+    private static final MethodHandle IS_VIRTUAL_METHOD_HANDLE;
+    private static final MethodHandle UNMAP_METHOD_HANDLE;
 
     static {
         MethodHandle methodHandle = null;
@@ -75,6 +79,43 @@ public final class Util {
         ON_SPIN_WAIT_METHOD_HANDLE = methodHandle;
     }
 
+    static {
+        MethodHandle methodHandle = null;
+
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            methodHandle = lookup.findVirtual(Thread.class, "isVirtual", methodType(boolean.class));
+        } catch (final Exception ignore) {
+        }
+
+        IS_VIRTUAL_METHOD_HANDLE = methodHandle;
+    }
+
+    static {
+        MethodHandle methodHandle = null;
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        try { // JDK 9+
+            methodHandle = lookup.findVirtual(UNSAFE.getClass(), "invokeCleaner", methodType(void.class, ByteBuffer.class))
+                    .bindTo(UNSAFE);
+        } catch (final Exception ignore) {
+        }
+
+        if (methodHandle == null) {
+            try { // JDK 8
+                final Class<?> directBuffer = Class.forName("sun.nio.ch.DirectBuffer");
+                final Method cleaner = directBuffer.getMethod("cleaner");
+                final Method clean = cleaner.getReturnType().getMethod("clean");
+
+                methodHandle = MethodHandles.filterReturnValue(lookup.unreflect(cleaner), lookup.unreflect(clean))
+                        .asType(methodType(void.class, ByteBuffer.class));
+            } catch (final Exception ignore) {
+            }
+        }
+
+        UNMAP_METHOD_HANDLE = methodHandle;
+    }
+
     private Util() {
     }
 
@@ -321,6 +362,36 @@ public final class Util {
         }
     }
 
+    public static boolean isVirtual(final Thread thread) {
+        if (IS_VIRTUAL_METHOD_HANDLE != null) {
+            try {
+                return (boolean) IS_VIRTUAL_METHOD_HANDLE.invokeExact(thread);
+            } catch (final Throwable ignore) {
+                // ignore
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Unmaps the mapped buffer right away instead of waiting for GC. The buffer must not be accessed afterwards.
+     *
+     * @return false if unmapping is not supported.
+     */
+    public static boolean unmap(final MappedByteBuffer buffer) {
+        if (UNMAP_METHOD_HANDLE != null) {
+            try {
+                UNMAP_METHOD_HANDLE.invokeExact((ByteBuffer) buffer);
+                return true;
+            } catch (final Throwable ignore) {
+                // ignore
+            }
+        }
+
+        return false;
+    }
+
     /**
      * Allocate a new direct {@link ByteBuffer} that is aligned on a given alignment boundary.
      *
@@ -0,0 +1,126 @@
+package com.epam.deltix.gflog.core;
+
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.appender.Appender;
+import com.epam.deltix.gflog.core.service.LogService;
+import com.epam.deltix.gflog.core.service.SyncLogServiceFactory;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class LogDomainsTest {
+
+    @Test
+    public void testLoggersAreAssignedByLongestPrefix() {
+        final Appender common = new NoOpAppender("common");
+        final Appender vendor = new NoOpAppender("vendor");
+        final Appender trading = new NoOpAppender("trading");
+
+        final LogConfig config = new LogConfig();
+        config.addAppender(common);
+        config.addAppender(vendor);
+        config.addAppender(trading);
+        config.addLogger(new Logger("", LogLevel.INFO, common));
+        config.addLogger(new Logger("com.vendor", LogLevel.WARN, vendor));
+        config.addLogger(new Logger("com.vendor.trading", LogLevel.DEBUG, trading));
+        config.setService(new SyncLogServiceFactory());
+        config.addDomain("com.vendor", new SyncLogServiceFactory());
+        config.addDomain("com.vendor.trading", new SyncLogServiceFactory());
+        config.conclude();
+
+        final LogDomains domains = LogDomains.create(config);
+
+        final LogService commonService = domains.service("com.app.Main");
+        final LogService vendorService = domains.service("com.vendor.Client");
+        final LogService tradingService = domains.service("com.vendor.trading.Engine");
+
+        Assert.assertNotSame(commonService, vendorService);
+        Assert.assertNotSame(vendorService, tradingService);
+
+        assertLogInfo(commonService.register("com.app.Main", 0), LogLevel.INFO);
+        assertLogInfo(vendorService.register("com.vendor.Client", 1), LogLevel.WARN);
+        assertLogInfo(tradingService.register("com.vendor.trading.Engine", 2), LogLevel.DEBUG);
+        assertLogInfo(commonService.register("org.unused.Main", 3), LogLevel.INFO);
+    }
+
+    @Test
+    public void testDomainWithoutOwnLoggerIsRejected() {
+        final Appender common = new NoOpAppender("common");
+
+        final LogConfig config = new LogConfig();
+        config.addAppender(common);
+        config.addLogger(new Logger("", LogLevel.INFO, common));
+        config.addDomain("com.trading", new SyncLogServiceFactory());
+        config.conclude();
+
+        try {
+            LogDomains.create(config);
+            Assert.fail("domain without logger is accepted");
+        } catch (final IllegalArgumentException e) {
+            Assert.assertTrue(e.getMessage(), e.getMessage().contains("com.trading"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDomainWithDeeperLoggersOnlyIsRejected() {
+        final Appender common = new NoOpAppender("common");
+        final Appender orders = new NoOpAppender("orders");
+
+        final LogConfig config = new LogConfig();
+        config.addAppender(common);
+        config.addAppender(orders);
+        config.addLogger(new Logger("", LogLevel.INFO, common));
+        config.addLogger(new Logger("com", LogLevel.DEBUG, common));
+        config.addLogger(new Logger("com.trading.orders", LogLevel.INFO, orders));
+        config.addDomain("com.trading", new SyncLogServiceFactory());
+        config.conclude();
+
+        LogDomains.create(config); // com.trading.Engine would be dropped instead of inheriting logger: com
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAppenderCannotBeSharedByDomains() {
+        final Appender appender = new NoOpAppender("shared");
+
+        final LogConfig config = new LogConfig();
+        config.addAppender(appender);
+        config.addLogger(new Logger("", LogLevel.INFO, appender));
+        config.addLogger(new Logger("com.vendor", LogLevel.INFO, appender));
+        config.addDomain("com.vendor", new SyncLogServiceFactory());
+        config.conclude();
+
+        LogDomains.create(config);
+    }
+
+    private static void assertLogInfo(final LogInfo info, final LogLevel level) {
+        Assert.assertEquals(level, info.getLevel());
+        Assert.assertEquals(1, info.getAppenderMask()[LogLevel.FATAL.ordinal()]);
+    }
+
+    private static final class NoOpAppender extends Appender {
+
+        NoOpAppender(final String name) {
+            super(name, LogLevel.TRACE);
+        }
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public int append(final LogRecord record) {
+            return 0;
+        }
+
+        @Override
+        public int flush() {
+            return 0;
+        }
+
+    }
+
+}
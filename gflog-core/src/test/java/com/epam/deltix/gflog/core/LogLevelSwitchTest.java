@@ -0,0 +1,39 @@
+package com.epam.deltix.gflog.core;
+
+import com.epam.deltix.gflog.api.LogLevel;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class LogLevelSwitchTest {
+
+    private static final int ALL = (1 << LogLevel.values().length) - 1;
+
+    @After
+    public void destroy() {
+        LogLevelSwitch.set(ALL);
+    }
+
+    @Test
+    public void testLevelsFollowMask() {
+        LogLevelSwitch.set(0b111100);
+        verify(false, false, true, true, true, true);
+
+        LogLevelSwitch.enable(0b000010);
+        verify(false, true, true, true, true, true);
+
+        LogLevelSwitch.set(0);
+        verify(false, false, false, false, false, false);
+
+        LogLevelSwitch.set(ALL);
+        verify(true, true, true, true, true, true);
+    }
+
+    private static void verify(final boolean... expected) {
+        for (int level = 0; level < expected.length; level++) {
+            Assert.assertEquals(LogLevel.valueOf(level).name(), expected[level], LogLevelSwitch.get(level));
+        }
+    }
+
+}
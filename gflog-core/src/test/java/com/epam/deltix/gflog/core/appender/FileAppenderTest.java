@@ -0,0 +1,189 @@
+package com.epam.deltix.gflog.core.appender;
+
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.LogRecordBean;
+import com.epam.deltix.gflog.core.layout.GelfLayout;
+import com.epam.deltix.gflog.core.layout.Layout;
+import com.epam.deltix.gflog.core.layout.TemplateLayout;
+import com.epam.deltix.gflog.core.util.UnsafeBuffer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+
+
+public class FileAppenderTest {
+
+    private final File directory;
+
+    public FileAppenderTest() throws Exception {
+        directory = Files.createTempDirectory("gflog-file").toFile();
+    }
+
+    @After
+    public void destroy() {
+        final File[] files = directory.listFiles();
+
+        if (files != null) {
+            for (final File file : files) {
+                file.delete();
+            }
+        }
+
+        directory.delete();
+    }
+
+    @Test
+    public void shouldFormatTemplateInParallelInOrder() throws Exception {
+        final Layout layout = new TemplateLayout("%d %p '%c' [%t]: %m%n", ZoneId.of("UTC"));
+        Assert.assertEquals(write("sequential", layout, 0), write("parallel", layout, 3));
+    }
+
+    @Test
+    public void shouldFormatGelfInParallelInOrder() throws Exception {
+        final Layout layout = new GelfLayout("my-host", Collections.emptyMap(), 1000);
+        Assert.assertEquals(write("sequential", layout, 0), write("parallel", layout, 3));
+    }
+
+    @Test
+    public void shouldWriteThroughMappedWindows() throws Exception {
+        final Layout layout = new TemplateLayout("%d %p '%c' [%t]: %m%n", ZoneId.of("UTC"));
+        final String expected = write("buffered", layout, 0);
+
+        Assert.assertEquals(expected, write("mapped", layout, 0, 4096));
+        Assert.assertEquals(expected.length(), new File(directory, "mapped.log").length());
+    }
+
+    @Test
+    public void shouldUnmapWindowsOnRemap() throws Exception {
+        final Layout layout = new TemplateLayout("%p '%c' [%t]: %m%n", ZoneId.of("UTC"));
+        final File file = new File(directory, "remapped.log");
+        final int[] remaps = {0};
+
+        final FileAppender appender = new FileAppender("remapped", LogLevel.TRACE, 4096, 4096, layout, false, file.getPath(), 0, 4096) {
+            @Override
+            protected void unmap() {
+                Assert.assertNotNull(mapping);
+                super.unmap();
+                Assert.assertNull(mapping);
+                remaps[0]++;
+            }
+        };
+
+        final LogRecordBean record = new LogRecordBean();
+        record.setLogName(new UnsafeBuffer("my-log".getBytes(StandardCharsets.UTF_8)));
+        record.setThreadName(new UnsafeBuffer("my-thread".getBytes(StandardCharsets.UTF_8)));
+        record.setLogLevel(LogLevel.INFO);
+
+        final StringBuilder expected = new StringBuilder();
+        appender.open();
+
+        for (int i = 0; i < 100000; i++) {
+            final String message = "Message #" + i;
+            expected.append("INFO 'my-log' [my-thread]: ").append(message).append(System.lineSeparator());
+
+            record.setMessage(new UnsafeBuffer(message.getBytes(StandardCharsets.UTF_8)));
+            appender.append(record);
+        }
+
+        appender.close();
+
+        Assert.assertTrue(remaps[0] > expected.length() / 4096);
+        Assert.assertEquals(expected.toString(), new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldRollMappedFiles() throws Exception {
+        final Layout layout = new TemplateLayout("%m%n", ZoneId.of("UTC"));
+        final DailyRollingFileAppender appender = new DailyRollingFileAppender("rolling", LogLevel.TRACE, 4096, 4096,
+                layout, true, new File(directory, "rolling.log").getPath(), "-yyyy-MM-dd", ZoneId.of("UTC"), 0, 1000, 4096);
+
+        final LogRecordBean record = new LogRecordBean();
+        record.setLogName(new UnsafeBuffer("my-log".getBytes(StandardCharsets.UTF_8)));
+        record.setThreadName(new UnsafeBuffer("my-thread".getBytes(StandardCharsets.UTF_8)));
+        record.setLogLevel(LogLevel.INFO);
+
+        final StringBuilder expected = new StringBuilder();
+        appender.open();
+
+        for (int i = 0; i < 1000; i++) {
+            final String message = "Message #" + i;
+            expected.append(message).append(System.lineSeparator());
+
+            record.setTimestamp(System.currentTimeMillis() * 1_000_000L);
+            record.setMessage(new UnsafeBuffer(message.getBytes(StandardCharsets.UTF_8)));
+            appender.append(record);
+        }
+
+        appender.close();
+
+        final File[] files = directory.listFiles();
+        Assert.assertNotNull(files);
+        Assert.assertTrue(files.length > 1);
+
+        Arrays.sort(files, Comparator.comparingLong(file -> {
+            final String name = file.getName();
+            return Long.parseLong(name.substring(name.lastIndexOf('.', name.length() - 5) + 1, name.length() - 4));
+        }));
+
+        final StringBuilder actual = new StringBuilder();
+
+        for (final File file : files) {
+            actual.append(new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        }
+
+        Assert.assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectMappingWithFormatThreads() {
+        final Layout layout = new TemplateLayout("%m%n", ZoneId.of("UTC"));
+        new FileAppender("file", LogLevel.TRACE, 4096, 4096, layout, false, "unused", 2, 4096);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectLayoutWithoutCopy() {
+        final Layout layout = new TemplateLayout("%m%n", ZoneId.of("UTC")) {
+        };
+
+        new FileAppender("file", LogLevel.TRACE, 4096, 4096, layout, false, "unused", 2);
+    }
+
+    private String write(final String name, final Layout layout, final int formatThreads) throws Exception {
+        return write(name, layout, formatThreads, 0);
+    }
+
+    private String write(final String name, final Layout layout, final int formatThreads, final int mapCapacity) throws Exception {
+        final File file = new File(directory, name + ".log");
+        final FileAppender appender = new FileAppender(name, LogLevel.TRACE, 4096, 1024, layout, false, file.getPath(), formatThreads, mapCapacity);
+
+        final LogRecordBean record = new LogRecordBean();
+        record.setLogName(new UnsafeBuffer("my-log".getBytes(StandardCharsets.UTF_8)));
+        record.setThreadName(new UnsafeBuffer("my-thread".getBytes(StandardCharsets.UTF_8)));
+
+        appender.open();
+
+        for (int i = 0; i < 10000; i++) {
+            record.setTimestamp(1_000_000_000L * i);
+            record.setLogLevel(LogLevel.values()[i % LogLevel.values().length]);
+            record.setMessage(new UnsafeBuffer(("Message #" + i).getBytes(StandardCharsets.UTF_8)));
+
+            appender.append(record);
+
+            if (i % 100 == 0) {
+                appender.flush();
+            }
+        }
+
+        appender.close();
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+}
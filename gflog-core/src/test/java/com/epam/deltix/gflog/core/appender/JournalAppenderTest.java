@@ -0,0 +1,138 @@
+package com.epam.deltix.gflog.core.appender;
+
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.LogRecord;
+import com.epam.deltix.gflog.core.LogRecordBean;
+import com.epam.deltix.gflog.core.journal.Journal;
+import com.epam.deltix.gflog.core.journal.JournalReader;
+import com.epam.deltix.gflog.core.util.Util;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+
+public class JournalAppenderTest {
+
+    private final File directory;
+    private final Path file;
+
+    public JournalAppenderTest() throws Exception {
+        directory = Files.createTempDirectory("gflog-journal").toFile();
+        file = new File(directory, "app.journal").toPath();
+    }
+
+    @After
+    public void destroy() {
+        final File[] files = directory.listFiles();
+
+        if (files != null) {
+            for (final File file : files) {
+                file.delete();
+            }
+        }
+
+        directory.delete();
+    }
+
+    @Test
+    public void shouldRollSegmentsAndReadRecordsBack() throws Exception {
+        write(1000, 4 * 1024, 0);
+
+        final TreeMap<Long, Path> segments = Journal.segments(file);
+        Assert.assertTrue(segments.size() > 1);
+
+        final List<String> messages = new ArrayList<>();
+
+        for (final Path segment : segments.values()) {
+            try (JournalReader reader = new JournalReader(segment)) {
+                for (LogRecord record = reader.next(); record != null; record = reader.next()) {
+                    Assert.assertEquals("my-log", Util.toUtf8String(record.getLogName()));
+                    Assert.assertEquals("my-thread", Util.toUtf8String(record.getThreadName()));
+                    Assert.assertEquals(LogLevel.values()[messages.size() % LogLevel.values().length], record.getLogLevel());
+                    Assert.assertEquals(1_000_000_000L + messages.size(), record.getTimestamp());
+
+                    messages.add(Util.toUtf8String(record.getMessage()));
+                }
+
+                Assert.assertFalse(reader.corrupted());
+            }
+        }
+
+        Assert.assertEquals(1000, messages.size());
+
+        for (int i = 0; i < messages.size(); i++) {
+            Assert.assertEquals("Message #" + i, messages.get(i));
+        }
+    }
+
+    @Test
+    public void shouldKeepMaxFiles() throws Exception {
+        write(1000, 4 * 1024, 3);
+        Assert.assertEquals(3, Journal.segments(file).size());
+
+        write(10, 4 * 1024, 3);
+        final TreeMap<Long, Path> segments = Journal.segments(file);
+
+        Assert.assertEquals(3, segments.size());
+        Assert.assertTrue(segments.firstKey() > 3);
+    }
+
+    @Test
+    public void shouldStopAtCorruptedFrame() throws Exception {
+        write(10, 0, 0);
+
+        final Path segment = Journal.segments(file).firstEntry().getValue();
+
+        try (RandomAccessFile raf = new RandomAccessFile(segment.toFile(), "rw")) {
+            raf.seek(raf.length() - 1);
+            raf.write('?');
+        }
+
+        try (JournalReader reader = new JournalReader(segment)) {
+            int records = 0;
+
+            while (reader.next() != null) {
+                records++;
+            }
+
+            Assert.assertEquals(9, records);
+            Assert.assertTrue(reader.corrupted());
+        }
+    }
+
+    private void write(final int records, final long maxFileSize, final int maxFiles) throws Exception {
+        final JournalAppenderFactory factory = new JournalAppenderFactory();
+        factory.setFile(file.toString());
+        factory.setMaxFileSize(maxFileSize);
+        factory.setMaxFiles(maxFiles);
+        factory.setBufferCapacity(64 * 1024);
+
+        final LogRecordBean record = new LogRecordBean();
+        record.setLogName(Util.fromUtf8String("my-log"));
+        record.setThreadName(Util.fromUtf8String("my-thread"));
+
+        final Appender appender = factory.create();
+        appender.open();
+
+        try {
+            for (int i = 0; i < records; i++) {
+                record.setLogLevel(LogLevel.values()[i % LogLevel.values().length]);
+                record.setTimestamp(1_000_000_000L + i);
+                record.setMessage(Util.fromUtf8String("Message #" + i));
+
+                appender.append(record);
+            }
+        } finally {
+            appender.close();
+        }
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.epam.deltix.gflog.core.clock;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+
+public class CachedClockTest {
+
+    @Test
+    public void testTimeIsRefreshed() throws Exception {
+        final CachedClock clock = new CachedClock(EpochClock.INSTANCE, TimeUnit.MILLISECONDS.toNanos(1));
+        final long start = clock.nanoTime();
+        final long deadline = System.currentTimeMillis() + 5000;
+
+        while (clock.nanoTime() == start) {
+            Assert.assertTrue("time is not refreshed", System.currentTimeMillis() < deadline);
+            Thread.sleep(1);
+        }
+
+        Assert.assertTrue(clock.nanoTime() > start);
+    }
+
+    @Test
+    public void testFactoryCreatesCachedClock() {
+        final ClockFactory factory = new ClockFactory();
+        factory.setResolution(ClockFactory.Resolution.CACHED);
+
+        final Clock clock = factory.create();
+        Assert.assertTrue(clock instanceof CachedClock);
+
+        final long time = TimeUnit.NANOSECONDS.toMillis(clock.nanoTime());
+        Assert.assertTrue(Math.abs(System.currentTimeMillis() - time) < 1000);
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.epam.deltix.gflog.core.clock;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+
+public class CalibratedClockTest {
+
+    @Test
+    public void testTimeIsCloseToWallTime() {
+        final CalibratedClock clock = new CalibratedClock(TimeUnit.MILLISECONDS.toNanos(1), TimeUnit.MILLISECONDS.toNanos(1));
+
+        for (int i = 0; i < 1000; i++) {
+            final long before = System.currentTimeMillis();
+            final long time = TimeUnit.NANOSECONDS.toMillis(clock.nanoTime());
+            final long after = System.currentTimeMillis();
+
+            Assert.assertTrue(before + " <= " + time, before - 5 <= time);
+            Assert.assertTrue(time + " <= " + after, time <= after + 5);
+        }
+    }
+
+    @Test
+    public void testTimeIsMonotonic() throws Exception {
+        final CalibratedClock clock = new CalibratedClock(1000, TimeUnit.MILLISECONDS.toNanos(10));
+        final Thread[] threads = new Thread[4];
+        final Throwable[] errors = new Throwable[threads.length];
+
+        for (int i = 0; i < threads.length; i++) {
+            final int index = i;
+
+            threads[i] = new Thread(() -> {
+                try {
+                    long last = clock.nanoTime();
+
+                    for (int j = 0; j < 1000000; j++) {
+                        final long time = clock.nanoTime();
+                        Assert.assertTrue(last + " <= " + time, last <= time);
+                        last = time;
+                    }
+                } catch (final Throwable e) {
+                    errors[index] = e;
+                }
+            });
+
+            threads[i].start();
+        }
+
+        for (int i = 0; i < threads.length; i++) {
+            threads[i].join();
+
+            if (errors[i] != null) {
+                throw new AssertionError(errors[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testTimeDoesNotGoBackwardsWhenWallClockIsSetBack() {
+        final AtomicLong offset = new AtomicLong();
+        final long maxDrift = TimeUnit.MILLISECONDS.toNanos(1);
+        final CalibratedClock clock = new CalibratedClock(1000, maxDrift,
+                () -> TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) + offset.get());
+
+        long last = clock.nanoTime();
+
+        for (int i = 0; i < 3000000; i++) {
+            if (i == 1000000) {
+                offset.set(-TimeUnit.HOURS.toNanos(1));
+            } else if (i == 2000000) {
+                offset.set(TimeUnit.HOURS.toNanos(1));
+            }
+
+            final long time = clock.nanoTime();
+            Assert.assertTrue(last + " <= " + time, last <= time);
+            last = time;
+        }
+
+        final long wall = TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()) + offset.get();
+        Assert.assertTrue("stepped forward: " + (wall - last), Math.abs(wall - last) < TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test(timeout = 10000)
+    public void testStalledCalibrationReusesAnchor() {
+        final CalibratedClock clock = new CalibratedClock(1000, CalibratedClock.MIN_MAX_DRIFT, () -> {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1)); // every sample is wider than the max drift
+            return TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+        });
+
+        long last = clock.nanoTime();
+
+        for (int i = 0; i < 100; i++) {
+            final long time = clock.nanoTime();
+            Assert.assertTrue(last + " <= " + time, last <= time);
+            last = time;
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNonPositivePeriodIsRejected() {
+        new CalibratedClock(0, CalibratedClock.MIN_MAX_DRIFT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTinyMaxDriftIsRejected() {
+        new CalibratedClock(1000, 100);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.epam.deltix.gflog.core.idle;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class WakeupIdleStrategyTest {
+
+    private static final long MESSAGES = 200_000;
+
+    @Test
+    public void testSignalIsNotLostWithUnboundedPark() throws Exception {
+        final WakeupIdleStrategy strategy = new WakeupIdleStrategy(0, 0, Long.MAX_VALUE);
+        final AtomicLong published = new AtomicLong();
+        final AtomicLong consumed = new AtomicLong();
+
+        final Thread consumer = new Thread(() -> {
+            long seen = 0;
+
+            while (seen < MESSAGES) {
+                final long available = published.get();
+                final int work = (int) (available - seen);
+
+                seen = available;
+                consumed.lazySet(seen);
+                strategy.idle(work);
+            }
+        });
+
+        consumer.setDaemon(true);
+        consumer.start();
+
+        for (long i = 1; i <= MESSAGES; i++) {
+            published.lazySet(i); // a release store like the log buffer commit
+            strategy.signal();
+
+            if ((i & 0xFF) == 0) {
+                final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+                while (consumed.get() < i) {
+                    Assert.assertTrue("lost wakeup at: " + i, System.nanoTime() < deadline);
+                    Thread.yield();
+                }
+            }
+        }
+
+        consumer.join(TimeUnit.SECONDS.toMillis(10));
+        Assert.assertFalse("lost wakeup", consumer.isAlive());
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.api.LogLevel;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+
+@RunWith(Parameterized.class)
+public class AppenderGroupLogServiceTest extends LogServiceTest {
+
+    @Parameterized.Parameters(name = "producers={0}, encoding={1}, priority={2}")
+    public static Collection<?> parameters() {
+        final int[] producers = {1, 2, 4};
+        final String[] encodings = {"ASCII", "UTF-8"};
+        final boolean[] priorities = {false, true};
+
+        final ArrayList<Object[]> parameters = new ArrayList<>();
+
+        for (final int producer : producers) {
+            for (final String encoding : encodings) {
+                for (final boolean priority : priorities) {
+                    final Object[] oneCase = {producer, encoding, priority};
+                    parameters.add(oneCase);
+                }
+            }
+        }
+
+        return parameters;
+    }
+
+    public AppenderGroupLogServiceTest(final int producers, final String encoding, final boolean priority) {
+        super(producers, encoding, newFactory(priority));
+    }
+
+    private static AsyncLogServiceFactory newFactory(final boolean priority) {
+        final AsyncLogServiceFactory factory = new AsyncLogServiceFactory();
+        factory.addAppenderGroup(new AppenderGroup("verifier-group", "verifier")); // the primary thread has no appenders
+
+        if (priority) {
+            factory.setPriorityLevel(LogLevel.INFO); // all records go through the priority lane
+        }
+
+        return factory;
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.epam.deltix.gflog.core.service;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+
+
+@RunWith(Parameterized.class)
+public class BackpressureLogServiceTest extends LogServiceTest {
+
+    @Parameterized.Parameters(name = "producers={0}, strategy={1}, timeout={2}")
+    public static Collection<?> parameters() {
+        final int[] producers = {1, 4};
+        final BackpressureStrategy[] strategies = BackpressureStrategy.values();
+        final Duration[] timeouts = {Duration.ZERO, Duration.ofSeconds(30)};
+
+        final ArrayList<Object[]> parameters = new ArrayList<>();
+
+        for (final int producer : producers) {
+            for (final BackpressureStrategy strategy : strategies) {
+                for (final Duration timeout : timeouts) {
+                    final Object[] oneCase = {producer, strategy, timeout};
+                    parameters.add(oneCase);
+                }
+            }
+        }
+
+        return parameters;
+    }
+
+    public BackpressureLogServiceTest(final int producers, final BackpressureStrategy strategy, final Duration timeout) {
+        super(producers, "UTF-8", newFactory(strategy, timeout));
+    }
+
+    private static AsyncLogServiceFactory newFactory(final BackpressureStrategy strategy, final Duration timeout) {
+        final AsyncLogServiceFactory factory = new AsyncLogServiceFactory();
+        factory.setBufferCapacity(LogBuffer.MIN_CAPACITY);
+        factory.setBackpressureStrategy(strategy);
+        factory.setOverflowTimeout(timeout);
+        return factory;
+    }
+
+}
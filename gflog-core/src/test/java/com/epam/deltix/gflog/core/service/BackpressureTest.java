@@ -0,0 +1,274 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.LogInfo;
+import com.epam.deltix.gflog.core.LogRecord;
+import com.epam.deltix.gflog.core.Logger;
+import com.epam.deltix.gflog.core.appender.Appender;
+import com.epam.deltix.gflog.core.metric.Counter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+public class BackpressureTest {
+
+    private final AtomicLong failedOffers = new AtomicLong();
+    private final AtomicLong blockedTime = new AtomicLong();
+    private final Appender appender = new NoOpAppender();
+    private final AsyncLogServiceFactory factory = new AsyncLogServiceFactory();
+
+    private LogService service;
+
+    public BackpressureTest() {
+        factory.setBufferCapacity(LogBuffer.MIN_CAPACITY);
+        factory.setFailedOffersCounter(failedOffers::incrementAndGet);
+        factory.setBlockedTimeCounter(new Counter() {
+            @Override
+            public void increment() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void add(final long amount) {
+                blockedTime.addAndGet(amount);
+            }
+        });
+    }
+
+    @After
+    public void destroy() {
+        service.close();
+    }
+
+    @Test
+    public void shouldDiscardAfterTimeout() {
+        factory.setOverflowTimeout(Duration.ofMillis(1));
+        factory.setBackpressureStrategy(BackpressureStrategy.PARK);
+
+        final long appenderMask = createService(new Logger(LogLevel.INFO, appender));
+        fill(LogLevel.INFO, appenderMask);
+
+        Assert.assertTrue(blockedTime.get() >= TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Test
+    public void shouldParkInterruptedProducer() {
+        verifyInterruptedProducer(BackpressureStrategy.PARK);
+    }
+
+    @Test
+    public void shouldBlockInterruptedProducer() {
+        verifyInterruptedProducer(BackpressureStrategy.BLOCK);
+    }
+
+    @Test
+    public void shouldKeepReservedSpaceForImportantRecords() {
+        factory.setOverflowStrategy(OverflowStrategy.DISCARD);
+        factory.setReservedLevel(LogLevel.WARN);
+        factory.setReservedFraction(0.5);
+
+        final long[] appenderMask = new long[LogLevel.values().length];
+        Arrays.fill(appenderMask, createService(new Logger(LogLevel.INFO, appender)));
+
+        final int infos = fill(LogLevel.INFO, appenderMask[LogLevel.INFO.ordinal()]);
+        final int warns = fill(LogLevel.WARN, appenderMask[LogLevel.WARN.ordinal()]);
+
+        Assert.assertTrue(infos + " vs " + warns, warns > infos / 2);
+        Assert.assertEquals(2, failedOffers.get());
+    }
+
+    @Test(timeout = 60_000)
+    public void shouldKeepReservedSpaceFromWaitingRecords() throws Exception {
+        factory.setOverflowStrategy(OverflowStrategy.DISCARD);
+        factory.setReservedLevel(LogLevel.WARN);
+        factory.setReservedFraction(0.5);
+
+        final CountDownLatch gate = new CountDownLatch(1);
+        final Appender gated = new GatedAppender(gate);
+        final Logger chatty = new Logger("chatty", LogLevel.INFO, gated);
+        chatty.setOverflowStrategy(OverflowStrategy.WAIT);
+
+        service = factory.create(
+                Arrays.asList(new Logger(LogLevel.INFO, gated), chatty),
+                Collections.singletonList(gated)
+        );
+
+        final long auditMask = service.register("audit", 0).getAppenderMask()[LogLevel.WARN.ordinal()];
+        final long chattyMask = service.register("chatty", 1).getAppenderMask()[LogLevel.INFO.ordinal()];
+        final AtomicLong chattyRecords = new AtomicLong();
+
+        service.open();
+
+        final Thread producer = new Thread(() -> {
+            for (int i = 0; i < LogBuffer.MIN_CAPACITY; i++) {
+                log(1, LogLevel.INFO, chattyMask);
+                chattyRecords.incrementAndGet();
+            }
+        });
+
+        producer.start();
+
+        try {
+            long records;
+
+            do { // the consumer is stuck in the appender, so the producer blocks once the buffer is full
+                records = chattyRecords.get();
+                Thread.sleep(200);
+            } while (records != chattyRecords.get());
+
+            final int warns = fill(0, LogLevel.WARN, auditMask);
+            Assert.assertTrue(warns + " warns vs " + records + " infos", warns > 0);
+        } finally {
+            gate.countDown();
+            producer.join();
+        }
+    }
+
+    @Test
+    public void shouldApplyLoggerOverflowStrategy() {
+        factory.setOverflowStrategy(OverflowStrategy.DISCARD);
+        factory.setOverflowTimeout(Duration.ofMillis(1));
+
+        final Logger logger = new Logger("audit", LogLevel.INFO, appender);
+        logger.setOverflowStrategy(OverflowStrategy.WAIT);
+
+        service = factory.create(
+                Arrays.asList(new Logger(LogLevel.INFO, appender), logger),
+                Collections.singletonList(appender)
+        );
+
+        final long chattyMask = service.register("chatty", 0).getAppenderMask()[LogLevel.INFO.ordinal()];
+        final long auditMask = service.register("audit", 1).getAppenderMask()[LogLevel.INFO.ordinal()];
+
+        fill(0, LogLevel.INFO, chattyMask);
+        Assert.assertEquals(0, blockedTime.get());
+
+        log(1, LogLevel.INFO, auditMask);
+        Assert.assertTrue(blockedTime.get() >= TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private void verifyInterruptedProducer(final BackpressureStrategy strategy) {
+        factory.setOverflowStrategy(OverflowStrategy.WAIT);
+        factory.setOverflowTimeout(Duration.ofMillis(100));
+        factory.setBackpressureStrategy(strategy);
+
+        final long appenderMask = createService(new Logger(LogLevel.INFO, appender));
+        fill(LogLevel.INFO, appenderMask);
+
+        final long failed = failedOffers.get();
+        Thread.currentThread().interrupt();
+
+        try {
+            log(0, LogLevel.INFO, appenderMask);
+            Assert.assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+
+        // spinning would fail millions of offers in the timeout, parking for at least 1 us - a fraction of them
+        Assert.assertTrue("failed offers: " + (failedOffers.get() - failed), failedOffers.get() - failed < 10_000);
+    }
+
+    private long createService(final Logger logger) {
+        service = factory.create(Collections.singletonList(logger), Collections.singletonList(appender));
+
+        final LogInfo info = service.register("my-log", 0);
+        return info.getAppenderMask()[LogLevel.INFO.ordinal()];
+    }
+
+    /**
+     * The service is never opened, so nothing consumes the buffer.
+     */
+    private int fill(final LogLevel level, final long appenderMask) {
+        return fill(0, level, appenderMask);
+    }
+
+    private int fill(final int log, final LogLevel level, final long appenderMask) {
+        final long failed = failedOffers.get();
+        int records = 0;
+
+        while (failedOffers.get() == failed) {
+            log(log, level, appenderMask);
+            records++;
+        }
+
+        return records - 1;
+    }
+
+    private void log(final int log, final LogLevel level, final long appenderMask) {
+        service.claim(log, level.ordinal(), appenderMask)
+                .append("Message #")
+                .append(failedOffers.get())
+                .commit();
+    }
+
+    private static final class GatedAppender extends Appender {
+
+        private final CountDownLatch gate;
+
+        GatedAppender(final CountDownLatch gate) {
+            super("gated", LogLevel.INFO);
+            this.gate = gate;
+        }
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public int append(final LogRecord record) {
+            try {
+                gate.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            return 1;
+        }
+
+        @Override
+        public int flush() {
+            return 0;
+        }
+
+    }
+
+    private static final class NoOpAppender extends Appender {
+
+        NoOpAppender() {
+            super("noop", LogLevel.INFO);
+        }
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public int append(final LogRecord record) {
+            return 1;
+        }
+
+        @Override
+        public int flush() {
+            return 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.epam.deltix.gflog.core.service;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+
+@RunWith(Parameterized.class)
+public class DeferredLogServiceTest extends LogServiceTest {
+
+    @Parameterized.Parameters(name = "producers={0}, encoding={1}, zeroCopy={2}")
+    public static Collection<?> parameters() {
+        final int[] producers = {1, 2, 4};
+        final String[] encodings = {"ASCII", "UTF-8"};
+        final boolean[] zeroCopies = {false, true};
+
+        final ArrayList<Object[]> parameters = new ArrayList<>();
+
+        for (final int producer : producers) {
+            for (final String encoding : encodings) {
+                for (final boolean zeroCopy : zeroCopies) {
+                    final Object[] oneCase = {producer, encoding, zeroCopy};
+                    parameters.add(oneCase);
+                }
+            }
+        }
+
+        return parameters;
+    }
+
+    public DeferredLogServiceTest(final int producers, final String encoding, final boolean zeroCopy) {
+        super(producers, encoding, newFactory(zeroCopy));
+    }
+
+    private static AsyncLogServiceFactory newFactory(final boolean zeroCopy) {
+        final AsyncLogServiceFactory factory = new AsyncLogServiceFactory();
+        factory.setEntryDeferred(true);
+        factory.setEntryZeroCopy(zeroCopy);
+        return factory;
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.epam.deltix.gflog.core.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class ExceptionCacheTest {
+
+    @Test
+    public void testCachedStackIsSameAsFormatted() {
+        final LogUtf8Entry expected = new LogUtf8Entry(">>", 16, 64 * 1024);
+        final LogUtf8Entry actual = new LogUtf8Entry(">>", 16, 64 * 1024);
+        actual.exceptionCache = new ExceptionCache(16, 0);
+
+        for (int i = 0; i < 10; i++) {
+            final Exception exception = newException(i, 10);
+
+            expected.clear();
+            expected.append(exception);
+
+            actual.clear();
+            actual.append(exception);
+
+            Assert.assertEquals(expected.substring(), actual.substring());
+        }
+    }
+
+    @Test
+    public void testCachedStackIsTruncated() {
+        final Exception exception = newException(0, 50);
+        final ExceptionCache cache = new ExceptionCache(16, 0);
+
+        final LogUtf8Entry full = new LogUtf8Entry(">>", 16, 64 * 1024);
+        full.exceptionCache = cache;
+        full.append(exception);
+
+        final LogUtf8Entry expected = new LogUtf8Entry(">>", 16, 512);
+        expected.append(exception);
+
+        final LogUtf8Entry actual = new LogUtf8Entry(">>", 16, 512);
+        actual.exceptionCache = cache;
+        actual.append(exception);
+
+        Assert.assertEquals(expected.substring(), actual.substring());
+    }
+
+    @Test
+    public void testRepeatedStackIsReferencedWithinWindow() {
+        final LogUtf8Entry entry = new LogUtf8Entry(">>", 16, 64 * 1024);
+        final ExceptionCache cache = new ExceptionCache(16, 1000);
+        entry.exceptionCache = cache;
+
+        final long[] timestamps = {0, 500, 1500};
+        final String[] messages = new String[timestamps.length];
+
+        for (int i = 0; i < timestamps.length; i++) {
+            entry.clear();
+            cache.timestamp(timestamps[i]);
+            entry.append(newException(i, 3));
+            messages[i] = entry.substring();
+        }
+
+        Assert.assertTrue(messages[0], messages[0].contains("(stack #1)"));
+        Assert.assertTrue(messages[0], messages[0].contains("\tat "));
+
+        Assert.assertTrue(messages[1], messages[1].contains("my-exception: #1"));
+        Assert.assertTrue(messages[1], messages[1].contains("(same stack as #1)"));
+        Assert.assertFalse(messages[1], messages[1].contains("\tat "));
+
+        Assert.assertTrue(messages[2], messages[2].contains("(stack #1)"));
+        Assert.assertTrue(messages[2], messages[2].contains("\tat "));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedStackIsEvicted() {
+        final LogUtf8Entry entry = new LogUtf8Entry(">>", 16, 64 * 1024);
+        entry.exceptionCache = new ExceptionCache(1, Long.MAX_VALUE);
+
+        final int[] depths = {1, 2, 1};
+        String message = null;
+
+        for (int i = 0; i < depths.length; i++) {
+            entry.clear();
+            entry.append(newException(i, depths[i]));
+            message = entry.substring();
+        }
+
+        Assert.assertTrue(message, message.contains("(stack #3)"));
+    }
+
+    private static Exception newException(final int sequence, final int depth) {
+        if (depth <= 0) {
+            return new Exception("my-exception: #" + sequence);
+        }
+
+        return newException(sequence, depth - 1);
+    }
+
+}
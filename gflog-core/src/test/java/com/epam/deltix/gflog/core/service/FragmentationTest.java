@@ -0,0 +1,199 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.api.LogEntry;
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.LogInfo;
+import com.epam.deltix.gflog.core.LogRecord;
+import com.epam.deltix.gflog.core.Logger;
+import com.epam.deltix.gflog.core.appender.Appender;
+import com.epam.deltix.gflog.core.util.Util;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+public class FragmentationTest {
+
+    private static final int PRODUCERS = 3;
+    private static final int MESSAGES = 50;
+
+    @Test
+    public void shouldReassembleOversizedRecords() throws Exception {
+        final AsyncLogServiceFactory factory = new AsyncLogServiceFactory();
+        factory.setEntryFragmentation(true);
+        test(factory);
+    }
+
+    @Test
+    public void shouldReassembleOversizedRecordsInPriorityLane() throws Exception {
+        final AsyncLogServiceFactory factory = new AsyncLogServiceFactory();
+        factory.setEntryFragmentation(true);
+        factory.setPriorityLevel(LogLevel.WARN);
+        test(factory);
+    }
+
+    @Test
+    public void shouldKeepExceptionsOfChainsWrappingBuffer() throws Exception {
+        final RecordingAppender appender = new RecordingAppender();
+        final Logger logger = new Logger(LogLevel.INFO, appender);
+        final AsyncLogServiceFactory factory = new AsyncLogServiceFactory();
+
+        factory.setEntryFragmentation(true);
+        factory.setBufferCapacity(64 * 1024);
+        factory.setEntryMaxCapacity(1024 * 1024);
+
+        final LogService service = factory.create(Collections.singletonList(logger), Collections.singletonList(appender));
+        final LogInfo info = service.register("my-log", 0);
+        final long appenderMask = info.getAppenderMask()[LogLevel.INFO.ordinal()];
+
+        service.open();
+
+        final Thread large = new Thread(() -> {
+            for (int i = 0; i < MESSAGES; i++) {
+                service.claim(0, LogLevel.INFO.ordinal(), appenderMask)
+                        .append(message(0, i)).append(' ').append(new Exception("large-" + i))
+                        .commit();
+            }
+        });
+
+        final Thread small = new Thread(() -> {
+            for (int i = 0; i < 20 * MESSAGES; i++) {
+                service.claim(0, LogLevel.INFO.ordinal(), appenderMask)
+                        .append("small:").append(i).append(' ').append(new Exception("small-" + i))
+                        .commit();
+            }
+        });
+
+        large.start();
+        small.start();
+        large.join();
+        small.join();
+
+        service.close();
+
+        Assert.assertEquals(21 * MESSAGES, appender.records.size());
+
+        for (final String record : appender.records) {
+            final String[] parts = record.split("[: ]", 3);
+            final String expected = "java.lang.Exception: " + (parts[0].equals("small") ? "small-" : "large-") + parts[1];
+
+            Assert.assertTrue(record.substring(0, 16), record.contains(expected + System.lineSeparator()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectFragmentationWithZeroCopy() {
+        final AsyncLogServiceFactory factory = new AsyncLogServiceFactory();
+        factory.setEntryFragmentation(true);
+        factory.setEntryZeroCopy(true);
+        factory.create(Collections.emptyList(), Collections.emptyList());
+    }
+
+    private static void test(final AsyncLogServiceFactory factory) throws Exception {
+        final RecordingAppender appender = new RecordingAppender();
+        final Logger logger = new Logger(LogLevel.INFO, appender);
+
+        factory.setBufferCapacity(64 * 1024);
+        factory.setEntryMaxCapacity(1024 * 1024);
+
+        final LogService service = factory.create(Collections.singletonList(logger), Collections.singletonList(appender));
+        final LogInfo info = service.register("my-log", 0);
+        final Thread[] producers = new Thread[PRODUCERS];
+
+        service.open();
+
+        for (int i = 0; i < producers.length; i++) {
+            final int producer = i;
+
+            producers[i] = new Thread(() -> {
+                for (int sequence = 0; sequence < MESSAGES; sequence++) {
+                    final int level = (sequence % 2 == 0) ? LogLevel.INFO.ordinal() : LogLevel.WARN.ordinal();
+                    final long appenderMask = info.getAppenderMask()[level];
+                    final LogEntry entry = service.claim(0, level, appenderMask).append(message(producer, sequence));
+
+                    if (sequence % 3 == 0) {
+                        entry.append(new Exception("my-exception"));
+                    }
+
+                    entry.commit();
+                }
+            });
+
+            producers[i].start();
+        }
+
+        for (final Thread producer : producers) {
+            producer.join();
+        }
+
+        service.close();
+
+        final boolean[][] received = new boolean[PRODUCERS][MESSAGES];
+
+        Assert.assertEquals(PRODUCERS * MESSAGES, appender.records.size());
+
+        for (final String record : appender.records) {
+            final String[] parts = record.split(":", 3);
+            final int producer = Integer.parseInt(parts[0]);
+            final int sequence = Integer.parseInt(parts[1]);
+            final String message = message(producer, sequence);
+
+            Assert.assertFalse(received[producer][sequence]);
+            Assert.assertTrue(record.startsWith(message));
+
+            if (sequence % 3 == 0) {
+                Assert.assertTrue(record.substring(message.length()).trim().startsWith("java.lang.Exception: my-exception"));
+            } else {
+                Assert.assertEquals(message, record);
+            }
+
+            received[producer][sequence] = true;
+        }
+    }
+
+    private static String message(final int producer, final int sequence) {
+        final StringBuilder builder = new StringBuilder();
+        final int length = 1000 + (sequence * 7919 + producer * 104729) % (256 * 1024);
+
+        builder.append(producer).append(':').append(sequence).append(':');
+
+        while (builder.length() < length) {
+            builder.append((char) ('a' + builder.length() % 26));
+        }
+
+        return builder.toString();
+    }
+
+    private static final class RecordingAppender extends Appender {
+
+        private final List<String> records = new ArrayList<>();
+
+        RecordingAppender() {
+            super("recorder", LogLevel.INFO);
+        }
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public int append(final LogRecord record) {
+            records.add(Util.toUtf8String(record.getMessage()));
+            return 1;
+        }
+
+        @Override
+        public int flush() {
+            return 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.LogRecord;
+import com.epam.deltix.gflog.core.LogRecordBean;
+import com.epam.deltix.gflog.core.appender.Appender;
+import com.epam.deltix.gflog.core.appender.BatchAppender;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+public class LogBatchTest {
+
+    private static final int LENGTH = 1024;
+
+    @Test
+    public void testBatchIsStartedAndEndedOncePerPass() {
+        final BatchCollector batched = new BatchCollector("batched");
+        final BatchCollector idle = new BatchCollector("idle");
+        final LogProcessor processor = new LogProcessor(new Appender[]{batched, idle});
+
+        final LogRecordBean record = new LogRecordBean();
+        record.setLogLevel(LogLevel.INFO);
+        record.setAppenderMask(1);
+
+        for (int i = 0; i < 3; i++) {
+            processor.process(record);
+        }
+
+        processor.endBatch();
+        processor.endBatch();
+
+        processor.process(record);
+        processor.endBatch();
+
+        Assert.assertEquals("[start, 1, 2, 3, end 3, start, 1, end 1]", batched.events.toString());
+        Assert.assertTrue(idle.events.isEmpty());
+    }
+
+    @Test
+    public void testReadLengthAdaptsToBacklog() {
+        final LogBuffer buffer = new LogBuffer(8 * 1024 * 1024);
+        final LogBuffer.RecordHandler handler = (b, offset, length) -> {
+        };
+
+        fill(buffer, 4 * 1024 * 1024);
+
+        Assert.assertEquals(LogBuffer.MIN_READ_LENGTH, buffer.read(handler));
+        Assert.assertEquals(2 * LogBuffer.MIN_READ_LENGTH, buffer.read(handler));
+        Assert.assertEquals(4 * LogBuffer.MIN_READ_LENGTH, buffer.read(handler));
+
+        while (buffer.read(handler) > 0) {
+            // drain
+        }
+
+        for (int i = 0; i < 8; i++) {
+            Assert.assertEquals(0, buffer.read(handler));
+        }
+
+        fill(buffer, 4 * LogBuffer.MIN_READ_LENGTH);
+        Assert.assertEquals(LogBuffer.MIN_READ_LENGTH, buffer.read(handler));
+    }
+
+    private static void fill(final LogBuffer buffer, final int length) {
+        for (int i = 0; i < length; i += LENGTH) {
+            final int offset = buffer.tryClaim(LENGTH);
+            Assert.assertTrue(offset >= 0);
+            buffer.commit(offset, LENGTH);
+        }
+    }
+
+    private static final class BatchCollector extends Appender implements BatchAppender {
+
+        private final List<String> events = new ArrayList<>();
+        private int appended;
+
+        BatchCollector(final String name) {
+            super(name, LogLevel.TRACE);
+        }
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void onBatchStart() {
+            appended = 0;
+            events.add("start");
+        }
+
+        @Override
+        public int append(final LogRecord record) {
+            events.add(Integer.toString(++appended));
+            return 1;
+        }
+
+        @Override
+        public int onBatchEnd(final int count) {
+            events.add("end " + count);
+            return count;
+        }
+
+        @Override
+        public int flush() {
+            return 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,288 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.LogInfo;
+import com.epam.deltix.gflog.core.LogRecord;
+import com.epam.deltix.gflog.core.Logger;
+import com.epam.deltix.gflog.core.appender.Appender;
+import com.epam.deltix.gflog.core.util.Util;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+
+public class LogBufferFileTest {
+
+    private final File directory;
+    private final String file;
+
+    public LogBufferFileTest() throws Exception {
+        directory = Files.createTempDirectory("gflog-buffer-file").toFile();
+        file = new File(directory, "gflog.buffer").getPath();
+    }
+
+    @After
+    public void destroy() {
+        final File[] files = directory.listFiles();
+
+        if (files != null) {
+            for (final File file : files) {
+                file.delete();
+            }
+        }
+
+        directory.delete();
+    }
+
+    @Test
+    public void shouldReplayUnconsumedRecords() {
+        final RecordingAppender crashed = new RecordingAppender();
+        final LogService service = createService(crashed);
+
+        final LogInfo info = service.register("my-log", 0);
+        final long appenderMask = info.getAppenderMask()[LogLevel.INFO.ordinal()];
+
+        for (int i = 0; i < 10; i++) {
+            service.claim(0, LogLevel.INFO.ordinal(), appenderMask)
+                    .append("Message #")
+                    .append(i)
+                    .commit();
+        }
+
+        service.claim(0, LogLevel.ERROR.ordinal(), appenderMask)
+                .append("Exception: ")
+                .append(new Exception("my-exception"))
+                .commit();
+
+        // the service is never opened and closed, so the records stay in the file as after a crash
+
+        final RecordingAppender recovered = new RecordingAppender();
+        final LogService next = createService(recovered);
+
+        next.open();
+        next.close();
+
+        Assert.assertTrue(crashed.records.isEmpty());
+        Assert.assertEquals(11, recovered.records.size());
+
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("my-log INFO Message #" + i, recovered.records.get(i));
+        }
+
+        Assert.assertEquals("my-log ERROR Exception: <exception is not available>", recovered.records.get(10));
+    }
+
+    @Test
+    public void shouldNotReplayConsumedRecords() {
+        final RecordingAppender first = new RecordingAppender();
+        final LogService service = createService(first);
+
+        final LogInfo info = service.register("my-log", 0);
+        final long appenderMask = info.getAppenderMask()[LogLevel.INFO.ordinal()];
+
+        service.open();
+
+        service.claim(0, LogLevel.INFO.ordinal(), appenderMask)
+                .append("Message")
+                .commit();
+
+        service.close();
+
+        final RecordingAppender second = new RecordingAppender();
+        final LogService next = createService(second);
+
+        next.open();
+        next.close();
+
+        Assert.assertEquals(Collections.singletonList("my-log INFO Message"), first.records);
+        Assert.assertTrue(second.records.isEmpty());
+    }
+
+    @Test
+    public void shouldBoundThreadsFileAndRecoverThreadNames() throws Exception {
+        final RecordingAppender first = new RecordingAppender();
+        final LogService service = createService(first);
+
+        final LogInfo info = service.register("my-log", 0);
+        final long appenderMask = info.getAppenderMask()[LogLevel.INFO.ordinal()];
+
+        final Thread thread = Thread.currentThread();
+        final String name = thread.getName();
+        final int count = ThreadIndex.CAPACITY + 1000;
+
+        service.open();
+
+        try {
+            for (int i = 0; i < count; i++) {
+                thread.setName("task-" + i);
+                service.claim(0, LogLevel.INFO.ordinal(), appenderMask).append("Message").commit();
+            }
+        } finally {
+            thread.setName(name);
+        }
+
+        service.close();
+
+        Assert.assertEquals(count, first.records.size());
+        Assert.assertTrue(Files.size(Paths.get(file + ".threads")) <= (ThreadIndex.CAPACITY + 1) * (2 * Util.SIZE_OF_INT + Byte.MAX_VALUE));
+
+        final RecordingAppender crashed = new RecordingAppender();
+        final LogService crashing = createService(crashed);
+        final long mask = crashing.register("my-log", 0).getAppenderMask()[LogLevel.INFO.ordinal()];
+
+        try {
+            thread.setName("recovered-thread");
+            crashing.claim(0, LogLevel.INFO.ordinal(), mask).append("Message").commit();
+        } finally {
+            thread.setName(name);
+        }
+
+        final RecordingAppender recovered = new RecordingAppender();
+        final LogService next = createService(recovered);
+
+        next.open();
+        next.close();
+
+        Assert.assertEquals(Collections.singletonList("recovered-thread"), recovered.threads);
+    }
+
+    @Test
+    public void shouldSkipRecordsWithTornIndices() throws Exception {
+        final RecordingAppender crashed = new RecordingAppender();
+        final LogService service = createService(crashed);
+
+        final LogInfo info = service.register("my-log", 0);
+        final long appenderMask = info.getAppenderMask()[LogLevel.INFO.ordinal()];
+
+        service.claim(0, LogLevel.INFO.ordinal(), appenderMask).append("Before").commit();
+        service.claim(0, LogLevel.INFO.ordinal(), appenderMask).append("Negative").commit();
+        service.claim(0, LogLevel.INFO.ordinal(), appenderMask).append("Huge").commit();
+        service.claim(0, LogLevel.INFO.ordinal(), appenderMask).append("After").commit();
+
+        tear("Negative", LogRecordEncoder.LOG_NAME_OFFSET, -5);
+        tear("Huge", LogRecordEncoder.THREAD_INDEX_OFFSET, Integer.MAX_VALUE >> 1);
+
+        final RecordingAppender recovered = new RecordingAppender();
+        final LogService next = createService(recovered);
+
+        next.open();
+        next.close();
+
+        Assert.assertEquals(Arrays.asList("my-log INFO Before", "my-log INFO After"), recovered.records);
+    }
+
+    @Test
+    public void shouldRecoverFullBufferWithWaitingProducer() throws Exception {
+        final LogBuffer buffer = new LogBuffer(LogBuffer.MIN_CAPACITY);
+        final int length = 100;
+
+        int committed = 0;
+        int offset;
+
+        while ((offset = buffer.tryClaim(length)) >= 0) {
+            buffer.commit(offset, length);
+            committed++;
+        }
+
+        final Thread producer = new Thread(() -> {
+            try {
+                buffer.claim(length, attempt -> {
+                    throw new IllegalStateException("crashed while waiting");
+                });
+            } catch (final IllegalStateException e) {
+                // the tail stays past the head plus capacity as after a crash
+            }
+        });
+
+        producer.start();
+        producer.join();
+
+        final int[] recovered = {0};
+        buffer.recover((records, recordOffset, recordLength) -> {
+            Assert.assertEquals(length, recordLength);
+            recovered[0]++;
+        });
+
+        Assert.assertEquals(committed, recovered[0]);
+    }
+
+    /**
+     * Overwrites the index of the record with the message in the file as if the record was torn by the crash.
+     */
+    private void tear(final String message, final int field, final int value) throws Exception {
+        final byte[] bytes = Files.readAllBytes(Paths.get(file));
+        final byte[] pattern = message.getBytes(StandardCharsets.US_ASCII);
+
+        for (int i = 0; i + pattern.length <= bytes.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + pattern.length), pattern)) {
+                final ByteBuffer index = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.nativeOrder()).putInt(0, value);
+
+                try (FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.WRITE)) {
+                    channel.write(index, i - LogRecordEncoder.ROOT_BLOCK_SIZE + field);
+                }
+
+                return;
+            }
+        }
+
+        Assert.fail("no record with message: " + message);
+    }
+
+    private LogService createService(final Appender appender) {
+        final Logger logger = new Logger(LogLevel.INFO, appender);
+        final AsyncLogServiceFactory factory = new AsyncLogServiceFactory();
+
+        factory.setBufferFile(file);
+        factory.setBufferCapacity(LogBuffer.MIN_CAPACITY);
+
+        return factory.create(Collections.singletonList(logger), Collections.singletonList(appender));
+    }
+
+    private static final class RecordingAppender extends Appender {
+
+        private final List<String> records = new ArrayList<>();
+        private final List<String> threads = new ArrayList<>();
+
+        RecordingAppender() {
+            super("recorder", LogLevel.INFO);
+        }
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public int append(final LogRecord record) {
+            records.add(Util.toUtf8String(record.getLogName()) + " " +
+                    record.getLogLevel() + " " +
+                    Util.toUtf8String(record.getMessage()));
+            threads.add(Util.toUtf8String(record.getThreadName()));
+
+            return 1;
+        }
+
+        @Override
+        public int flush() {
+            return 0;
+        }
+
+    }
+
+}
@@ -91,7 +91,7 @@ public class LogBufferTest {
         @Override
         public void run() {
             final ThreadLocalRandom random = ThreadLocalRandom.current();
-            final LogBuffer.BackpressureCallback callback = () -> {
+            final LogBuffer.BackpressureCallback callback = attempt -> {
             };
 
             while (active) {
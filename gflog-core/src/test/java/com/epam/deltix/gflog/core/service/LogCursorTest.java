@@ -0,0 +1,65 @@
+package com.epam.deltix.gflog.core.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class LogCursorTest {
+
+    private static final int LENGTH = 1024;
+
+    private final LogBuffer buffer = new LogBuffer(LogBuffer.MIN_CAPACITY);
+    private final LogCursor cursor = buffer.attach();
+
+    @Test
+    public void testBufferIsReleasedBySlowestGroup() {
+        final int records = fill();
+        final int[] counts = new int[2];
+
+        while (buffer.read((buffer, offset, length) -> counts[0]++) > 0) {
+            // drain
+        }
+
+        Assert.assertEquals(records, counts[0]);
+        Assert.assertTrue(buffer.isEmpty());
+        Assert.assertFalse(buffer.isEmpty(cursor));
+        Assert.assertTrue(buffer.tryClaim(LENGTH) < 0);
+
+        while (buffer.read(cursor, (buffer, offset, length) -> counts[1]++) > 0) {
+            // drain
+        }
+
+        Assert.assertEquals(records, counts[1]);
+        Assert.assertTrue(buffer.isEmpty(cursor));
+        Assert.assertTrue(buffer.tryClaim(LENGTH) >= 0);
+    }
+
+    @Test
+    public void testDetachedGroupDoesNotHoldBuffer() {
+        final int records = fill();
+        final int[] count = new int[1];
+
+        while (buffer.read((buffer, offset, length) -> count[0]++) > 0) {
+            // drain
+        }
+
+        Assert.assertEquals(records, count[0]);
+        Assert.assertTrue(buffer.tryClaim(LENGTH) < 0);
+
+        buffer.detach(cursor);
+        Assert.assertTrue(buffer.tryClaim(LENGTH) >= 0);
+    }
+
+    private int fill() {
+        int records = 0;
+        int offset;
+
+        while ((offset = buffer.tryClaim(LENGTH)) >= 0) {
+            buffer.commit(offset, LENGTH);
+            records++;
+        }
+
+        return records;
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.GflogThread;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+public class LogEntryHolderTest {
+
+    @Test
+    public void testEntryIsKeptInThreadField() throws Exception {
+        final LogService first = new SyncLogServiceFactory().create(Collections.emptyList(), Collections.emptyList());
+        final LogService second = new SyncLogServiceFactory().create(Collections.emptyList(), Collections.emptyList());
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+
+        final GflogThread thread = new GflogThread(() -> {
+            try {
+                final GflogThread self = (GflogThread) Thread.currentThread();
+                Assert.assertNull(self.getLogEntry());
+
+                final LogLocalEntry entry = claim(first);
+                Assert.assertSame(entry, self.getLogEntry());
+                Assert.assertSame(entry, claim(first));
+
+                final LogLocalEntry other = claim(second);
+                Assert.assertNotSame(entry, other);
+                Assert.assertSame(other, self.getLogEntry());
+
+                Assert.assertSame(entry, claim(first));
+                Assert.assertSame(other, claim(second));
+            } catch (final Throwable e) {
+                error.set(e);
+            }
+        });
+
+        thread.start();
+        thread.join();
+
+        if (error.get() != null) {
+            throw new AssertionError(error.get());
+        }
+    }
+
+    private static LogLocalEntry claim(final LogService service) {
+        final LogLocalEntry entry = service.claim(0, LogLevel.INFO.ordinal(), 0);
+        entry.abort();
+        return entry;
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.metric.Counter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+public class LogEntryMemoryTest {
+
+    private static final String LARGE = repeat('a', 32 * 1024);
+
+    private final SumCounter used = new SumCounter();
+    private final SumCounter peak = new SumCounter();
+
+    @Test
+    public void testEntryShrinksAfterSmallMessages() {
+        final LogService service = create(0, 4);
+
+        log(service, LARGE);
+        Assert.assertTrue(used.sum() > 0);
+        Assert.assertEquals(used.sum(), peak.sum());
+        Assert.assertEquals(used.sum(), service.entryMemory.used());
+
+        for (int i = 0; i < 3; i++) {
+            log(service, "small");
+            Assert.assertTrue(used.sum() > 0);
+        }
+
+        log(service, "small");
+        log(service, "small");
+
+        Assert.assertEquals(0, used.sum());
+        Assert.assertEquals(0, service.entryMemory.used());
+        Assert.assertTrue(peak.sum() > 0);
+        Assert.assertEquals(peak.sum(), service.entryMemory.peak());
+    }
+
+    @Test
+    public void testBudgetTruncatesMessages() {
+        final LogService service = create(8 * 1024, 0);
+
+        final int length = log(service, LARGE);
+        Assert.assertTrue(length < 16 * 1024);
+        Assert.assertTrue(used.sum() <= 8 * 1024 + 2 * LogLimitedEntry.MAX_DIFFERENCE_BETWEEN_LIMIT_AND_CAPACITY);
+
+        Assert.assertTrue(log(service, LARGE) < 16 * 1024);
+        Assert.assertTrue(used.sum() <= 8 * 1024 + 2 * LogLimitedEntry.MAX_DIFFERENCE_BETWEEN_LIMIT_AND_CAPACITY);
+    }
+
+    @Test
+    public void testDeadThreadEntriesAreReleased() throws Exception {
+        final LogService service = create(0, 0);
+
+        final Thread thread = new Thread(() -> log(service, LARGE));
+        thread.start();
+        thread.join();
+
+        final long grown = used.sum();
+        Assert.assertTrue(grown > 0);
+
+        log(service, LARGE);
+        Assert.assertEquals(grown, used.sum());
+        Assert.assertEquals(grown, peak.sum());
+    }
+
+    @Test
+    public void testDeadThreadEntriesAreNotPinned() throws Exception {
+        final LogService service = create(0, 0);
+        final AtomicReference<WeakReference<LogLocalEntry>> reference = new AtomicReference<>();
+
+        final Thread thread = new Thread(() -> {
+            log(service, LARGE);
+
+            final LogLocalEntry entry = service.claim(0, LogLevel.INFO.ordinal(), 0);
+            entry.abort();
+            reference.set(new WeakReference<>(entry));
+        });
+
+        thread.start();
+        thread.join();
+
+        Assert.assertTrue(used.sum() > 0);
+
+        for (int i = 0; i < 100 && reference.get().get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        Assert.assertNull("entry of dead thread is pinned", reference.get().get());
+
+        for (int i = 0; i < 100 && used.sum() != 0; i++) {
+            service.entryMemory.sweep();
+            Thread.sleep(10);
+        }
+
+        Assert.assertEquals(0, used.sum());
+        Assert.assertEquals(0, service.entryMemory.tracked());
+    }
+
+    @Test
+    public void testNothingIsTrackedWithoutBudgetAndMetrics() {
+        final SyncLogServiceFactory factory = new SyncLogServiceFactory();
+        factory.setEntryInitialCapacity(128);
+        factory.setEntryShrinkThreshold(1);
+
+        final LogService service = factory.create(Collections.emptyList(), Collections.emptyList());
+
+        log(service, LARGE);
+        Assert.assertEquals(0, service.entryMemory.tracked());
+        Assert.assertEquals(0, service.entryMemory.used());
+
+        log(service, "small");
+        log(service, "small");
+        Assert.assertEquals(0, service.entryMemory.tracked());
+    }
+
+    private LogService create(final long budget, final int shrinkThreshold) {
+        final SyncLogServiceFactory factory = new SyncLogServiceFactory();
+        factory.setEntryInitialCapacity(128);
+        factory.setEntryMaxCapacity(64 * 1024);
+        factory.setEntryMemoryBudget(budget);
+        factory.setEntryShrinkThreshold(shrinkThreshold);
+        factory.setEntryMemoryCounter(used);
+        factory.setEntryPeakMemoryCounter(peak);
+
+        return factory.create(Collections.emptyList(), Collections.emptyList());
+    }
+
+    private static int log(final LogService service, final String message) {
+        final LogLocalEntry entry = service.claim(0, LogLevel.INFO.ordinal(), 0);
+        entry.append(message);
+
+        final int length = entry.length();
+        entry.abort();
+
+        return length;
+    }
+
+    private static String repeat(final char c, final int count) {
+        final char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    private static final class SumCounter implements Counter {
+
+        private final AtomicLong sum = new AtomicLong();
+
+        @Override
+        public void increment() {
+            sum.incrementAndGet();
+        }
+
+        @Override
+        public void add(final long amount) {
+            sum.addAndGet(amount);
+        }
+
+        long sum() {
+            return sum.get();
+        }
+
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.epam.deltix.gflog.core.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+
+
+public class LogEntryPoolTest {
+
+    @Test
+    public void testBorrowReturnsReleasedEntry() {
+        final LogService service = newService();
+
+        try {
+            final Thread thread = Thread.currentThread();
+            final LogEntryPool pool = new LogEntryPool(2);
+            final LogLocalEntry first = service.newLogLocalEntry(true);
+            final LogLocalEntry second = service.newLogLocalEntry(true);
+
+            Assert.assertNull(pool.borrow(thread));
+            Assert.assertTrue(pool.release(thread, first));
+            Assert.assertTrue(pool.release(thread, second));
+
+            final LogLocalEntry borrowed = pool.borrow(thread);
+            Assert.assertTrue(borrowed == first || borrowed == second);
+            Assert.assertNotNull(pool.borrow(thread));
+            Assert.assertNull(pool.borrow(thread));
+        } finally {
+            service.close();
+        }
+    }
+
+    @Test
+    public void testReleaseFailsWhenFull() {
+        final LogService service = newService();
+
+        try {
+            final Thread thread = Thread.currentThread();
+            final LogEntryPool pool = new LogEntryPool(1);
+
+            Assert.assertTrue(pool.release(thread, service.newLogLocalEntry(true)));
+            Assert.assertFalse(pool.release(thread, service.newLogLocalEntry(true)));
+        } finally {
+            service.close();
+        }
+    }
+
+    @Test
+    public void testBorrowFromAnotherThread() throws Exception {
+        final LogService service = newService();
+
+        try {
+            final LogEntryPool pool = new LogEntryPool(16);
+            final LogLocalEntry entry = service.newLogLocalEntry(true);
+            Assert.assertTrue(pool.release(Thread.currentThread(), entry));
+
+            final LogLocalEntry[] borrowed = new LogLocalEntry[1];
+            final Thread thread = new Thread(() -> borrowed[0] = pool.borrow(Thread.currentThread()));
+            thread.start();
+            thread.join();
+
+            Assert.assertSame(entry, borrowed[0]);
+        } finally {
+            service.close();
+        }
+    }
+
+    private static LogService newService() {
+        final AsyncLogServiceFactory factory = new AsyncLogServiceFactory();
+        factory.setEntryPoolCapacity(2);
+        return factory.create(Collections.emptyList(), Collections.emptyList());
+    }
+
+}
@@ -18,7 +18,8 @@ public class LogRecordEncodingTest {
     private static final int CAPACITY = 300;
 
     private final LogIndex index = new LogIndex();
-    private final LogRecordDecoder decoder = new LogRecordDecoder(null, index, null);
+    private final ThreadIndex threads = new ThreadIndex();
+    private final LogRecordDecoder decoder = new LogRecordDecoder(null, index, threads.names(), null, null);
     private final MutableBuffer buffer = UnsafeBuffer.allocateDirect(CAPACITY + OFFSET);
 
     @Test
@@ -40,13 +41,13 @@ public class LogRecordEncodingTest {
         final int logIndex = randomInt(1000);
         index.put(logName, logIndex);
 
-        final UnsafeBuffer thread = Util.fromUtf8String(threadName);
+        final int thread = threads.register(threadName).index;
         final byte[] text = message.getBytes(StandardCharsets.UTF_8);
         final LogLevel level = randomLogLevel();
         final long timestamp = randomLong();
         final long appenders = randomLong();
 
-        final int size = LogRecordEncoder.size(thread, text.length);
+        final int size = LogRecordEncoder.size(text.length);
 
         LogRecordEncoder.encode(
                 timestamp,
@@ -2,6 +2,7 @@ package com.epam.deltix.gflog.core.service;
 
 import com.epam.deltix.gflog.TestUtil;
 import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.api.LogTemplate;
 import com.epam.deltix.gflog.core.LogInfo;
 import com.epam.deltix.gflog.core.LogRecord;
 import com.epam.deltix.gflog.core.Logger;
@@ -20,6 +21,7 @@ public abstract class LogServiceTest {
 
     private static final int MESSAGES = 1000 * 1000;
     private static final int LOGS = 100 * 1000;
+    private static final LogTemplate TEMPLATE = new LogTemplateImpl("Producer: %s. Logger: %s. Sequence: %s. Exception: %s.");
 
     private final LogService service;
     private final Log[] logs;
@@ -90,7 +92,9 @@ public abstract class LogServiceTest {
                     .abort();
         }
 
-        if (TestUtil.randomBoolean()) {
+        final int variant = TestUtil.randomInt(0, 2);
+
+        if (variant == 0) {
             service.claim(logIndex, logLevel, appenderMask)
                     .append("Producer: ")
                     .append(producer)
@@ -104,12 +108,18 @@ public abstract class LogServiceTest {
                     .append("Exception: ")
                     .append(exception)
                     .commit();
-        } else {
+        } else if (variant == 1) {
             service.claim(logIndex, logLevel, appenderMask, "Producer: %s. Logger: %s. Sequence: %s. Exception: %s.")
                     .with(producer)
                     .with(logName)
                     .with(sequence)
                     .with(exception);
+        } else {
+            service.claim(logIndex, logLevel, appenderMask, TEMPLATE)
+                    .with(producer)
+                    .with(logName)
+                    .with(sequence)
+                    .with(exception);
         }
     }
 
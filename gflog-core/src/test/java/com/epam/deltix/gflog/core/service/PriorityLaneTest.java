@@ -0,0 +1,87 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.LogInfo;
+import com.epam.deltix.gflog.core.LogRecord;
+import com.epam.deltix.gflog.core.Logger;
+import com.epam.deltix.gflog.core.appender.Appender;
+import com.epam.deltix.gflog.core.util.Util;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+public class PriorityLaneTest {
+
+    @Test
+    public void shouldDeliverPriorityRecordsFirst() {
+        final RecordingAppender appender = new RecordingAppender();
+        final Logger logger = new Logger(LogLevel.INFO, appender);
+        final AsyncLogServiceFactory factory = new AsyncLogServiceFactory();
+
+        factory.setPriorityLevel(LogLevel.WARN);
+
+        final LogService service = factory.create(Collections.singletonList(logger), Collections.singletonList(appender));
+        final LogInfo info = service.register("my-log", 0);
+        final long appenderMask = info.getAppenderMask()[LogLevel.INFO.ordinal()];
+
+        for (int i = 0; i < 100; i++) {
+            service.claim(0, LogLevel.INFO.ordinal(), appenderMask)
+                    .append("Info #")
+                    .append(i)
+                    .commit();
+        }
+
+        service.claim(0, LogLevel.ERROR.ordinal(), appenderMask)
+                .append("Error")
+                .commit();
+
+        service.claim(0, LogLevel.WARN.ordinal(), appenderMask)
+                .append("Warn")
+                .commit();
+
+        service.open();
+        service.close();
+
+        Assert.assertEquals(102, appender.records.size());
+        Assert.assertEquals("ERROR Error", appender.records.get(0));
+        Assert.assertEquals("WARN Warn", appender.records.get(1));
+
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals("INFO Info #" + i, appender.records.get(i + 2));
+        }
+    }
+
+    private static final class RecordingAppender extends Appender {
+
+        private final List<String> records = new ArrayList<>();
+
+        RecordingAppender() {
+            super("recorder", LogLevel.INFO);
+        }
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public int append(final LogRecord record) {
+            records.add(record.getLogLevel() + " " + Util.toUtf8String(record.getMessage()));
+            return 1;
+        }
+
+        @Override
+        public int flush() {
+            return 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.api.LogLevel;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+
+@RunWith(Parameterized.class)
+public class PriorityLogServiceTest extends LogServiceTest {
+
+    @Parameterized.Parameters(name = "producers={0}, encoding={1}, sharding={2}")
+    public static Collection<?> parameters() {
+        final int[] producers = {1, 2, 4};
+        final String[] encodings = {"ASCII", "UTF-8"};
+        final boolean[] shardings = {false, true};
+
+        final ArrayList<Object[]> parameters = new ArrayList<>();
+
+        for (final int producer : producers) {
+            for (final String encoding : encodings) {
+                for (final boolean sharding : shardings) {
+                    final Object[] oneCase = {producer, encoding, sharding};
+                    parameters.add(oneCase);
+                }
+            }
+        }
+
+        return parameters;
+    }
+
+    public PriorityLogServiceTest(final int producers, final String encoding, final boolean sharding) {
+        super(producers, encoding, newFactory(sharding));
+    }
+
+    private static AsyncLogServiceFactory newFactory(final boolean sharding) {
+        final AsyncLogServiceFactory factory = new AsyncLogServiceFactory();
+        factory.setPriorityLevel(LogLevel.INFO); // all records go through the priority lane
+        factory.setBufferSharding(sharding);
+        return factory;
+    }
+
+}
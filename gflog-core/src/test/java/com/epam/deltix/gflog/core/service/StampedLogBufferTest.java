@@ -0,0 +1,58 @@
+package com.epam.deltix.gflog.core.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+
+public class StampedLogBufferTest {
+
+    private final LogBuffer buffer = new LogBuffer(LogBuffer.MIN_CAPACITY, false, true, true);
+
+    @Test
+    public void testStaleRecordsAreNotReadOnNextLaps() {
+        final int[] lengths = {40, 1000, 8, 333, 4096};
+        final long[] sums = new long[2];
+
+        for (int i = 0; i < 10_000; i++) {
+            final int length = lengths[i % lengths.length];
+            final int offset = buffer.tryClaim(length);
+            Assert.assertTrue(offset >= 0);
+
+            for (int index = 0; index < length; index++) {
+                buffer.buffer().putByte(offset + index, (byte) i);
+            }
+
+            if (i % 7 == 0) {
+                buffer.abort(offset, length);
+            } else {
+                buffer.commit(offset, length);
+                sums[0] += (byte) i;
+            }
+
+            while (buffer.read((buffer, recordOffset, recordLength) -> {
+                Assert.assertEquals(length, recordLength);
+                sums[1] += buffer.getByte(recordOffset + recordLength - 1);
+            }) > 0) {
+                // drain, the wrap padding ends a read
+            }
+
+            Assert.assertTrue(buffer.isEmpty());
+        }
+
+        Assert.assertEquals(sums[0], sums[1]);
+    }
+
+    @Test
+    public void testUncommittedRecordIsNotRead() {
+        final int first = buffer.tryClaim(100);
+        final int second = buffer.tryClaim(100);
+
+        buffer.commit(second, 100);
+        Assert.assertEquals(0, buffer.read((buffer, offset, length) -> Assert.fail()));
+
+        buffer.commit(first, 100);
+        Assert.assertEquals(2 * (LogBuffer.FRAME_LENGTH + 104), buffer.read((buffer, offset, length) -> {
+        }));
+    }
+
+}
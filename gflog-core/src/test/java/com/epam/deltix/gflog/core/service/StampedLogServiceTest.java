@@ -0,0 +1,48 @@
+package com.epam.deltix.gflog.core.service;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+
+@RunWith(Parameterized.class)
+public class StampedLogServiceTest extends LogServiceTest {
+
+    @Parameterized.Parameters(name = "producers={0}, encoding={1}, sharding={2}, zeroCopy={3}")
+    public static Collection<?> parameters() {
+        final int[] producers = {1, 4};
+        final String[] encodings = {"ASCII", "UTF-8"};
+        final boolean[] shardings = {false, true};
+        final boolean[] zeroCopies = {false, true};
+
+        final ArrayList<Object[]> parameters = new ArrayList<>();
+
+        for (final int producer : producers) {
+            for (final String encoding : encodings) {
+                for (final boolean sharding : shardings) {
+                    for (final boolean zeroCopy : zeroCopies) {
+                        final Object[] oneCase = {producer, encoding, sharding, zeroCopy};
+                        parameters.add(oneCase);
+                    }
+                }
+            }
+        }
+
+        return parameters;
+    }
+
+    public StampedLogServiceTest(final int producers, final String encoding, final boolean sharding, final boolean zeroCopy) {
+        super(producers, encoding, newFactory(sharding, zeroCopy));
+    }
+
+    private static AsyncLogServiceFactory newFactory(final boolean sharding, final boolean zeroCopy) {
+        final AsyncLogServiceFactory factory = new AsyncLogServiceFactory();
+        factory.setBufferStamped(true);
+        factory.setBufferSharding(sharding);
+        factory.setEntryZeroCopy(zeroCopy);
+        return factory;
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.LogInfo;
+import com.epam.deltix.gflog.core.LogRecord;
+import com.epam.deltix.gflog.core.Logger;
+import com.epam.deltix.gflog.core.appender.Appender;
+import com.epam.deltix.gflog.core.util.Util;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+public class ThreadIndexTest {
+
+    @Test
+    public void shouldInternThreadNames() {
+        final ThreadIndex index = new ThreadIndex();
+
+        final int first = index.register("first").index;
+        final int second = index.register("second").index;
+
+        Assert.assertNotEquals(first, second);
+        Assert.assertEquals(first, index.register("first").index);
+        Assert.assertEquals("first", Util.toUtf8String(index.names().get(first)));
+        Assert.assertEquals("second", Util.toUtf8String(index.names().get(second)));
+    }
+
+    @Test
+    public void shouldReuseIdleSlotsWhenChurningNames() {
+        final ThreadIndex index = new ThreadIndex(16, 0);
+
+        for (int i = 0; i < 100_000; i++) {
+            final String name = "pool-1-thread-" + i;
+            final ThreadIndex.Slot slot = index.register(name);
+
+            Assert.assertTrue(slot.index < 16);
+            Assert.assertTrue(slot.use());
+            Assert.assertSame(slot, index.register(name));
+            Assert.assertEquals(name, Util.toUtf8String(index.names().get(slot.index)));
+            Assert.assertTrue(index.size() <= 16);
+        }
+    }
+
+    @Test
+    public void shouldFallBackToOverflowNameWithinGracePeriod() {
+        final ThreadIndex index = new ThreadIndex(4, TimeUnit.HOURS.toNanos(1));
+        final ThreadIndex.Slot[] slots = new ThreadIndex.Slot[4];
+
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = index.register("thread-" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            final ThreadIndex.Slot slot = index.register("churn-" + i);
+
+            Assert.assertEquals(4, slot.index);
+            Assert.assertEquals(ThreadIndex.OVERFLOW_NAME, Util.toUtf8String(index.names().get(slot.index)));
+        }
+
+        for (int i = 0; i < slots.length; i++) {
+            Assert.assertTrue(slots[i].use());
+            Assert.assertSame(slots[i], index.register("thread-" + i));
+        }
+
+        Assert.assertEquals(4, index.size());
+    }
+
+    @Test
+    public void shouldRegisterAgainAfterSlotIsReused() {
+        final ThreadIndex index = new ThreadIndex(1, 0);
+        final ThreadIndex.Slot first = index.register("first");
+        final ThreadIndex.Slot second = index.register("second");
+
+        Assert.assertEquals(first.index, second.index);
+        Assert.assertFalse(first.use());
+        Assert.assertTrue(second.use());
+        Assert.assertEquals("second", Util.toUtf8String(index.names().get(second.index)));
+    }
+
+    @Test
+    public void shouldBoundIndexWhenRenamingThreadPerMessage() {
+        final RecordingAppender appender = new RecordingAppender();
+        final Logger logger = new Logger(LogLevel.INFO, appender);
+        final LogService service = new SyncLogServiceFactory().create(Collections.singletonList(logger), Collections.singletonList(appender));
+        final LogInfo info = service.register("my-log", 0);
+        final long appenderMask = info.getAppenderMask()[LogLevel.INFO.ordinal()];
+
+        final Thread thread = Thread.currentThread();
+        final String name = thread.getName();
+        final int count = ThreadIndex.CAPACITY + 1000;
+
+        service.open();
+
+        try {
+            for (int i = 0; i < count; i++) {
+                thread.setName("task-" + i);
+                service.claim(0, LogLevel.INFO.ordinal(), appenderMask).append(i).commit();
+            }
+        } finally {
+            thread.setName(name);
+        }
+
+        service.close();
+
+        Assert.assertEquals(count, appender.records.size());
+        Assert.assertTrue(service.threadIndex.size() <= ThreadIndex.CAPACITY);
+
+        for (int i = 0; i < count; i++) {
+            final String record = appender.records.get(i);
+            Assert.assertTrue(record, record.equals("task-" + i + ": " + i) || record.equals(ThreadIndex.OVERFLOW_NAME + ": " + i));
+        }
+    }
+
+    @Test
+    public void shouldFollowThreadRenameInSyncService() {
+        verifyRename(new SyncLogServiceFactory());
+    }
+
+    @Test
+    public void shouldFollowThreadRenameInAsyncService() {
+        verifyRename(new AsyncLogServiceFactory());
+    }
+
+    @Test
+    public void shouldFollowThreadRenameInZeroCopyService() {
+        final AsyncLogServiceFactory factory = new AsyncLogServiceFactory();
+        factory.setEntryZeroCopy(true);
+        verifyRename(factory);
+    }
+
+    private static void verifyRename(final LogServiceFactory factory) {
+        final RecordingAppender appender = new RecordingAppender();
+        final Logger logger = new Logger(LogLevel.INFO, appender);
+        final LogService service = factory.create(Collections.singletonList(logger), Collections.singletonList(appender));
+        final LogInfo info = service.register("my-log", 0);
+        final long appenderMask = info.getAppenderMask()[LogLevel.INFO.ordinal()];
+
+        final Thread thread = Thread.currentThread();
+        final String name = thread.getName();
+
+        service.open();
+
+        try {
+            service.claim(0, LogLevel.INFO.ordinal(), appenderMask).append("before").commit();
+            thread.setName("renamed");
+            service.claim(0, LogLevel.INFO.ordinal(), appenderMask).append("after").commit();
+        } finally {
+            thread.setName(name);
+        }
+
+        service.claim(0, LogLevel.INFO.ordinal(), appenderMask).append("restored").commit();
+        service.close();
+
+        Assert.assertEquals(Arrays.asList(name + ": before", "renamed: after", name + ": restored"), appender.records);
+    }
+
+    private static final class RecordingAppender extends Appender {
+
+        private final List<String> records = new ArrayList<>();
+
+        RecordingAppender() {
+            super("recorder", LogLevel.INFO);
+        }
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public int append(final LogRecord record) {
+            records.add(Util.toUtf8String(record.getThreadName()) + ": " + Util.toUtf8String(record.getMessage()));
+            return 1;
+        }
+
+        @Override
+        public int flush() {
+            return 0;
+        }
+
+    }
+
+}
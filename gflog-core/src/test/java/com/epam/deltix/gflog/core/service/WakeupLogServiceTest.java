@@ -0,0 +1,53 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.core.idle.IdleStrategy;
+import com.epam.deltix.gflog.core.idle.IdleStrategyFactory;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+
+@RunWith(Parameterized.class)
+public class WakeupLogServiceTest extends LogServiceTest {
+
+    @Parameterized.Parameters(name = "producers={0}, encoding={1}, sharding={2}")
+    public static Collection<?> parameters() {
+        final int[] producers = {1, 2, 4};
+        final String[] encodings = {"ASCII", "UTF-8"};
+        final boolean[] shardings = {false, true};
+
+        final ArrayList<Object[]> parameters = new ArrayList<>();
+
+        for (final int producer : producers) {
+            for (final String encoding : encodings) {
+                for (final boolean sharding : shardings) {
+                    final Object[] oneCase = {producer, encoding, sharding};
+                    parameters.add(oneCase);
+                }
+            }
+        }
+
+        return parameters;
+    }
+
+    public WakeupLogServiceTest(final int producers, final String encoding, final boolean sharding) {
+        super(producers, encoding, newFactory(sharding));
+    }
+
+    private static AsyncLogServiceFactory newFactory(final boolean sharding) {
+        final AsyncLogServiceFactory factory = new AsyncLogServiceFactory();
+        factory.setIdleStrategy(newIdleStrategy());
+        factory.setBufferSharding(sharding);
+        return factory;
+    }
+
+    private static IdleStrategy newIdleStrategy() {
+        final IdleStrategyFactory factory = new IdleStrategyFactory();
+        factory.setWakeup(true);
+        factory.setMaxParkPeriod(0); // parks until signalled, a lost signal hangs the test
+        return factory.create();
+    }
+
+}
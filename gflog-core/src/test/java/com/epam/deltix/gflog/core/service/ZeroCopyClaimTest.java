@@ -0,0 +1,132 @@
+package com.epam.deltix.gflog.core.service;
+
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.LogRecord;
+import com.epam.deltix.gflog.core.Logger;
+import com.epam.deltix.gflog.core.appender.Appender;
+import com.epam.deltix.gflog.core.util.Util;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+public class ZeroCopyClaimTest {
+
+    private static final int MESSAGES = 100_000;
+
+    @Test(timeout = 60_000)
+    public void shouldAbortClaimOfTerminatedThreadInSharedBuffer() throws Exception {
+        verifyTerminatedClaim(false);
+    }
+
+    @Test(timeout = 60_000)
+    public void shouldAbortClaimOfTerminatedThreadInShardedBuffer() throws Exception {
+        verifyTerminatedClaim(true);
+    }
+
+    @Test(timeout = 60_000)
+    public void shouldCommitClaimOnNextClaimOfLiveThread() throws Exception {
+        final RecordingAppender appender = new RecordingAppender();
+        final LogService service = createService(appender, false);
+        final long appenderMask = service.register("my-log", 0).getAppenderMask()[LogLevel.INFO.ordinal()];
+
+        service.open();
+
+        try {
+            service.claim(0, LogLevel.INFO.ordinal(), appenderMask).append("uncommitted");
+            service.claim(0, LogLevel.INFO.ordinal(), appenderMask).append("committed").commit();
+        } finally {
+            service.close();
+        }
+
+        Assert.assertEquals(2, appender.records().size());
+        Assert.assertEquals("uncommitted", appender.records().get(0));
+        Assert.assertEquals("committed", appender.records().get(1));
+    }
+
+    private static void verifyTerminatedClaim(final boolean sharding) throws Exception {
+        final RecordingAppender appender = new RecordingAppender();
+        final LogService service = createService(appender, sharding);
+        final long appenderMask = service.register("my-log", 0).getAppenderMask()[LogLevel.INFO.ordinal()];
+
+        service.open();
+
+        try {
+            final Thread abandoning = new Thread(() ->
+                    service.claim(0, LogLevel.INFO.ordinal(), appenderMask).append("abandoned"));
+
+            abandoning.start();
+            abandoning.join();
+
+            final Thread producer = new Thread(() -> {
+                for (int i = 0; i < MESSAGES; i++) {
+                    service.claim(0, LogLevel.INFO.ordinal(), appenderMask).append(i).commit();
+                }
+            });
+
+            producer.start();
+            producer.join(TimeUnit.SECONDS.toMillis(30));
+
+            Assert.assertFalse("producer is blocked by the abandoned claim", producer.isAlive());
+        } finally {
+            service.close();
+        }
+
+        final List<String> records = appender.records();
+        Assert.assertEquals(MESSAGES, records.size());
+
+        for (int i = 0; i < MESSAGES; i++) {
+            Assert.assertEquals(Integer.toString(i), records.get(i));
+        }
+    }
+
+    private static LogService createService(final Appender appender, final boolean sharding) {
+        final Logger logger = new Logger(LogLevel.INFO, appender);
+        final AsyncLogServiceFactory factory = new AsyncLogServiceFactory();
+
+        factory.setEntryZeroCopy(true);
+        factory.setBufferSharding(sharding);
+        factory.setBufferCapacity(LogBuffer.MIN_CAPACITY);
+        factory.setOverflowStrategy(OverflowStrategy.WAIT);
+
+        return factory.create(Collections.singletonList(logger), Collections.singletonList(appender));
+    }
+
+    private static final class RecordingAppender extends Appender {
+
+        private final List<String> records = new ArrayList<>();
+
+        RecordingAppender() {
+            super("recorder", LogLevel.INFO);
+        }
+
+        synchronized List<String> records() {
+            return new ArrayList<>(records);
+        }
+
+        @Override
+        public void open() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public synchronized int append(final LogRecord record) {
+            records.add(Util.toUtf8String(record.getMessage()));
+            return 1;
+        }
+
+        @Override
+        public int flush() {
+            return 0;
+        }
+
+    }
+
+}
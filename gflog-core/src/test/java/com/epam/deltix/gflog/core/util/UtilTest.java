@@ -3,11 +3,30 @@ package com.epam.deltix.gflog.core.util;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 
 public class UtilTest {
 
+    @Test
+    public void testUnmap() throws Exception {
+        final Path file = Files.createTempFile("gflog-unmap", ".tmp");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_WRITE, 0, 4096);
+            mapping.put(0, (byte) 1);
+
+            Assert.assertTrue(Util.unmap(mapping));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
     @Test
     public void testUtf8Conversion() {
         verifyUtf8Conversion("1234567890", 11, "1234567890");
@@ -0,0 +1,222 @@
+package com.epam.deltix.gflog.tools;
+
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.LogConfig;
+import com.epam.deltix.gflog.core.LogConfigFactory;
+import com.epam.deltix.gflog.core.LogRecord;
+import com.epam.deltix.gflog.core.appender.Appender;
+import com.epam.deltix.gflog.core.appender.NioAppender;
+import com.epam.deltix.gflog.core.journal.Journal;
+import com.epam.deltix.gflog.core.journal.JournalReader;
+import com.epam.deltix.gflog.core.layout.Layout;
+import com.epam.deltix.gflog.core.layout.TemplateLayoutFactory;
+import com.epam.deltix.gflog.core.util.UnsafeBuffer;
+import com.epam.deltix.gflog.core.util.Util;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+
+public final class JournalDecoder {
+
+    private static final String USAGE = "Usage: JournalDecoder [options] <journal file or segment>...\n" +
+            "Options:\n" +
+            "  -template <template>  template layout to format records with\n" +
+            "  -zone <zone id>       zone id for the template layout\n" +
+            "  -config <file>        gflog config to take a layout from\n" +
+            "  -appender <name>      appender in the config whose layout is used\n" +
+            "  -from <instant>       skips records before the instant, e.g. 2020-01-01T00:00:00Z\n" +
+            "  -to <instant>         skips records at or after the instant\n" +
+            "  -level <level>        skips records below the level\n" +
+            "  -logger <prefix>      skips records of loggers without the prefix\n" +
+            "  -output <file>        writes to the file instead of stdout";
+
+    private final Layout layout;
+    private final long from;
+    private final long to;
+    private final LogLevel level;
+    private final String logger;
+
+    private UnsafeBuffer buffer = UnsafeBuffer.allocateHeap(64 * 1024);
+    private byte[] array = new byte[64 * 1024];
+
+    public JournalDecoder(final Layout layout, final long from, final long to, final LogLevel level, final String logger) {
+        this.layout = layout;
+        this.from = from;
+        this.to = to;
+        this.level = level;
+        this.logger = logger;
+    }
+
+    public long decode(final Path segment, final OutputStream output) throws Exception {
+        long records = 0;
+
+        try (JournalReader reader = new JournalReader(segment)) {
+            for (LogRecord record = reader.next(); record != null; record = reader.next()) {
+                if (matches(record)) {
+                    write(record, output);
+                    records++;
+                }
+            }
+
+            if (reader.corrupted()) {
+                System.err.println("stopped at a corrupted or torn frame in segment: " + segment);
+            }
+        }
+
+        return records;
+    }
+
+    private boolean matches(final LogRecord record) {
+        final long timestamp = record.getTimestamp();
+
+        if (timestamp < from || timestamp >= to || record.getLogLevel().ordinal() < level.ordinal()) {
+            return false;
+        }
+
+        return logger == null || Util.toUtf8String(record.getLogName()).startsWith(logger);
+    }
+
+    private void write(final LogRecord record, final OutputStream output) throws Exception {
+        final int size = layout.size(record);
+
+        if (size > buffer.capacity()) {
+            buffer = UnsafeBuffer.allocateHeap(Integer.highestOneBit(size) << 1);
+            array = new byte[buffer.capacity()];
+        }
+
+        final int length = layout.format(record, buffer, 0);
+        buffer.getBytes(0, array, 0, length);
+        output.write(array, 0, length);
+    }
+
+    public static void main(final String[] args) throws Exception {
+        String template = null;
+        String zone = null;
+        String config = null;
+        String appender = null;
+        String output = null;
+        String logger = null;
+
+        long from = Long.MIN_VALUE;
+        long to = Long.MAX_VALUE;
+        LogLevel level = LogLevel.TRACE;
+
+        final List<String> files = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            final String arg = args[i];
+
+            if (!arg.startsWith("-")) {
+                files.add(arg);
+                continue;
+            }
+
+            if (i + 1 >= args.length) {
+                exit("missing value for option: " + arg);
+            }
+
+            final String value = args[++i];
+
+            switch (arg) {
+                case "-template":
+                    template = value;
+                    break;
+                case "-zone":
+                    zone = value;
+                    break;
+                case "-config":
+                    config = value;
+                    break;
+                case "-appender":
+                    appender = value;
+                    break;
+                case "-from":
+                    from = nanos(Instant.parse(value));
+                    break;
+                case "-to":
+                    to = nanos(Instant.parse(value));
+                    break;
+                case "-level":
+                    level = LogLevel.valueOf(value.toUpperCase());
+                    break;
+                case "-logger":
+                    logger = value;
+                    break;
+                case "-output":
+                    output = value;
+                    break;
+                default:
+                    exit("unknown option: " + arg);
+            }
+        }
+
+        if (files.isEmpty()) {
+            exit("no journal files");
+        }
+
+        final Layout layout = (config == null) ? templateLayout(template, zone) : configLayout(config, appender);
+        final JournalDecoder decoder = new JournalDecoder(layout, from, to, level, logger);
+
+        try (OutputStream stream = new BufferedOutputStream((output == null) ? System.out : new FileOutputStream(output), 1024 * 1024)) {
+            for (final String file : files) {
+                for (final Path segment : segments(Paths.get(file))) {
+                    decoder.decode(segment, stream);
+                }
+            }
+        }
+    }
+
+    private static Collection<Path> segments(final Path file) throws Exception {
+        final Collection<Path> segments = Journal.segments(file).values();
+
+        if (segments.isEmpty() && Files.isRegularFile(file)) {
+            return Collections.singletonList(file);
+        }
+
+        return segments;
+    }
+
+    private static Layout templateLayout(final String template, final String zone) {
+        final TemplateLayoutFactory factory = new TemplateLayoutFactory();
+        factory.setTemplate(template);
+        factory.setZoneId((zone == null) ? null : ZoneId.of(zone));
+        return factory.create();
+    }
+
+    private static Layout configLayout(final String config, final String name) throws Exception {
+        if (name == null) {
+            exit("-appender is required with -config");
+        }
+
+        final LogConfig logConfig = LogConfigFactory.load(Paths.get(config).toFile());
+        final Appender appender = logConfig.getAppender(name);
+
+        if (!(appender instanceof NioAppender)) {
+            exit("appender with a layout is not found: " + name);
+        }
+
+        return ((NioAppender<?>) appender).getLayout();
+    }
+
+    private static long nanos(final Instant instant) {
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    private static void exit(final String error) {
+        System.err.println(error);
+        System.err.println(USAGE);
+        System.exit(1);
+    }
+
+}
@@ -0,0 +1,196 @@
+package com.epam.deltix.gflog.tools;
+
+import com.epam.deltix.gflog.api.LogLevel;
+import com.epam.deltix.gflog.core.LogRecordBean;
+import com.epam.deltix.gflog.core.appender.Appender;
+import com.epam.deltix.gflog.core.appender.JournalAppenderFactory;
+import com.epam.deltix.gflog.core.journal.Journal;
+import com.epam.deltix.gflog.core.layout.TemplateLayoutFactory;
+import com.epam.deltix.gflog.core.util.Util;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+
+public class JournalDecoderTest {
+
+    private static final long START = 1_000_000_000L;
+
+    private final File directory;
+    private final Path file;
+    private final Path output;
+
+    public JournalDecoderTest() throws Exception {
+        directory = Files.createTempDirectory("gflog-journal-decoder").toFile();
+        file = new File(directory, "app.journal").toPath();
+        output = new File(directory, "app.log").toPath();
+    }
+
+    @After
+    public void destroy() {
+        final File[] files = directory.listFiles();
+
+        if (files != null) {
+            for (final File file : files) {
+                file.delete();
+            }
+        }
+
+        directory.delete();
+    }
+
+    @Test
+    public void shouldDecodeSegmentsInIndexOrder() throws Exception {
+        write(1000, 1024);
+
+        final TreeMap<Long, Path> segments = Journal.segments(file);
+        Assert.assertTrue(segments.size() > 10); // app.10.journal sorts before app.2.journal by name
+
+        decode(file.toString());
+
+        Assert.assertEquals(messages(0, 1000), Files.readAllLines(output, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldDecodeSingleSegment() throws Exception {
+        write(1000, 1024);
+
+        final Path segment = Journal.segments(file).get(1L);
+        decode(segment.toString());
+
+        final List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        Assert.assertFalse(lines.isEmpty());
+
+        final int first = Integer.parseInt(lines.get(0).substring("Message #".length()));
+        Assert.assertTrue(first > 0);
+        Assert.assertEquals(messages(first, first + lines.size()), lines);
+    }
+
+    @Test
+    public void shouldFilterByTime() throws Exception {
+        write(1000, 1024);
+
+        decode("-from", instant(100), "-to", instant(200), file.toString());
+
+        Assert.assertEquals(messages(100, 200), Files.readAllLines(output, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldFilterByLevelAndLogger() throws Exception {
+        write(100, 0);
+
+        decode("-level", "error", "-logger", "my-", file.toString());
+
+        final List<String> expected = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            if (level(i).ordinal() >= LogLevel.ERROR.ordinal()) {
+                expected.add("Message #" + i);
+            }
+        }
+
+        Assert.assertEquals(expected, Files.readAllLines(output, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldStopAtTruncatedLastFrame() throws Exception {
+        write(1000, 1024);
+
+        final Path last = Journal.segments(file).lastEntry().getValue();
+
+        try (RandomAccessFile raf = new RandomAccessFile(last.toFile(), "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        decode(file.toString());
+
+        Assert.assertEquals(messages(0, 999), Files.readAllLines(output, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void shouldCountDecodedRecordsOfTornSegment() throws Exception {
+        write(10, 0);
+
+        final Path segment = Journal.segments(file).firstEntry().getValue();
+
+        try (RandomAccessFile raf = new RandomAccessFile(segment.toFile(), "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+
+        final TemplateLayoutFactory layout = new TemplateLayoutFactory();
+        layout.setTemplate("%m%n");
+
+        final JournalDecoder decoder = new JournalDecoder(layout.create(), Long.MIN_VALUE, Long.MAX_VALUE, LogLevel.TRACE, null);
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        Assert.assertEquals(9, decoder.decode(segment, stream));
+        Assert.assertEquals(String.join(System.lineSeparator(), messages(0, 9)) + System.lineSeparator(),
+                new String(stream.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private void decode(final String... args) throws Exception {
+        final String[] options = {"-template", "%m%n", "-output", output.toString()};
+        final String[] all = new String[options.length + args.length];
+
+        System.arraycopy(options, 0, all, 0, options.length);
+        System.arraycopy(args, 0, all, options.length, args.length);
+
+        JournalDecoder.main(all);
+    }
+
+    private void write(final int records, final long maxFileSize) throws Exception {
+        final JournalAppenderFactory factory = new JournalAppenderFactory();
+        factory.setFile(file.toString());
+        factory.setMaxFileSize(maxFileSize);
+        factory.setBufferCapacity(64 * 1024);
+
+        final LogRecordBean record = new LogRecordBean();
+        record.setLogName(Util.fromUtf8String("my-log"));
+        record.setThreadName(Util.fromUtf8String("my-thread"));
+
+        final Appender appender = factory.create();
+        appender.open();
+
+        try {
+            for (int i = 0; i < records; i++) {
+                record.setLogLevel(level(i));
+                record.setTimestamp(START + i);
+                record.setMessage(Util.fromUtf8String("Message #" + i));
+
+                appender.append(record);
+            }
+        } finally {
+            appender.close();
+        }
+    }
+
+    private static LogLevel level(final int record) {
+        return LogLevel.values()[record % LogLevel.values().length];
+    }
+
+    private static String instant(final int record) {
+        return Instant.ofEpochSecond(0, START + record).toString();
+    }
+
+    private static List<String> messages(final int from, final int to) {
+        final List<String> messages = new ArrayList<>();
+
+        for (int i = from; i < to; i++) {
+            messages.add("Message #" + i);
+        }
+
+        return messages;
+    }
+
+}